@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.jquery.benchmarks;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.googlecode.wicket.jquery.core.renderer.TextRenderer;
+import com.googlecode.wicket.jquery.ui.form.autocomplete.AutoCompleteIndex;
+import com.googlecode.wicket.jquery.ui.form.autocomplete.AutoCompleteUtils;
+
+/**
+ * Benchmarks {@link AutoCompleteUtils#contains(String, List)} and {@link AutoCompleteUtils#startsWith(String, List)},
+ * compared to the {@link AutoCompleteIndex} lookups
+ *
+ * @author agent
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class AutoCompleteUtilsBenchmark
+{
+	@Param({ "10", "1000", "100000" })
+	public int size;
+
+	@Param({ "a", "Choice 99" })
+	public String search;
+
+	private List<String> list;
+	private AutoCompleteIndex<String> index;
+
+	@Setup
+	public void setUp()
+	{
+		this.list = Choices.newList(this.size);
+		this.index = new AutoCompleteIndex<String>(this.list, new TextRenderer<String>(), Locale.ENGLISH);
+	}
+
+	@Benchmark
+	public List<String> contains()
+	{
+		return AutoCompleteUtils.contains(this.search, this.list);
+	}
+
+	@Benchmark
+	public List<String> startsWith()
+	{
+		return AutoCompleteUtils.startsWith(this.search, this.list);
+	}
+
+	@Benchmark
+	public List<String> indexContains()
+	{
+		return this.index.contains(this.search);
+	}
+
+	@Benchmark
+	public List<String> indexStartsWith()
+	{
+		return this.index.startsWith(this.search);
+	}
+}
@@ -0,0 +1,46 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.jquery.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the gc profiler enabled, so that allocations per operation (<code>gc.alloc.rate.norm</code>) are reported.<br/>
+ * Usage: <code>java -jar target/benchmarks.jar [JMH options] [benchmark regexp]</code>
+ *
+ * @author agent
+ *
+ */
+public class BenchmarkRunner
+{
+	public static void main(String[] args) throws Exception
+	{
+		CommandLineOptions options = new CommandLineOptions(args);
+
+		new Runner(new OptionsBuilder().parent(options).addProfiler(GCProfiler.class).build()).run();
+	}
+
+	/**
+	 * Utility class
+	 */
+	private BenchmarkRunner()
+	{
+	}
+}
@@ -0,0 +1,53 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.jquery.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Provides benchmark data
+ *
+ * @author agent
+ *
+ */
+public class Choices
+{
+	/**
+	 * Gets a list of distinct choices, containing characters to be escaped
+	 * @param size the size of the list
+	 * @return the list
+	 */
+	public static List<String> newList(int size)
+	{
+		List<String> list = new ArrayList<String>(size);
+
+		for (int i = 0; i < size; i++)
+		{
+			list.add(String.format("Choice %d - \"Item\" <%x>", i, i * 31));
+		}
+
+		return list;
+	}
+
+	/**
+	 * Utility class
+	 */
+	private Choices()
+	{
+	}
+}
@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.jquery.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.googlecode.wicket.jquery.core.JQueryBehavior;
+import com.googlecode.wicket.jquery.core.Options;
+
+/**
+ * Benchmarks {@link Options#toString()} and {@link JQueryBehavior}'s statement, when options are unchanged (cached) and when an option changes before each render
+ *
+ * @author agent
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class OptionsBenchmark
+{
+	private Options options;
+	private JQueryBehavior behavior;
+	private int counter = 0;
+
+	@Setup
+	public void setUp()
+	{
+		this.options = new Options();
+		this.options.set("autoOpen", false);
+		this.options.set("modal", true);
+		this.options.set("width", 400);
+		this.options.set("title", Options.asString("My \"dialog\" title"));
+		this.options.set("close", "function(event, ui) { Wicket.Ajax.get({ u: './page?0-1.IBehaviorListener.0-dialog' }); }");
+		this.options.set("position", new Options("my", Options.asString("center")).freeze());
+
+		this.behavior = new JQueryBehavior("#dialog1", "dialog", this.options);
+	}
+
+	@Benchmark
+	public String optionsToString()
+	{
+		return this.options.toString();
+	}
+
+	@Benchmark
+	public String optionsToStringDirty()
+	{
+		this.options.set("zIndex", ++this.counter);
+
+		return this.options.toString();
+	}
+
+	@Benchmark
+	public String behaviorStatement()
+	{
+		return this.behavior.toString();
+	}
+
+	@Benchmark
+	public String behaviorStatementDirty()
+	{
+		this.behavior.setOption("zIndex", ++this.counter);
+
+		return this.behavior.toString();
+	}
+
+	@Benchmark
+	public String behaviorMethodStatement()
+	{
+		return this.behavior.$("'option'", Options.asString("title"), Options.asString("new title"));
+	}
+}
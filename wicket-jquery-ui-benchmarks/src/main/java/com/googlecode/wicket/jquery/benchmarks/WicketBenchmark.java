@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.jquery.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.wicket.mock.MockApplication;
+import org.apache.wicket.protocol.http.BufferedWebResponse;
+import org.apache.wicket.request.cycle.RequestCycle;
+import org.apache.wicket.util.tester.WicketTester;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Base class for benchmarks requiring a Wicket application, session and request cycle to be attached to the benchmark thread
+ *
+ * @author agent
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public abstract class WicketBenchmark
+{
+	protected WicketTester tester;
+	protected BufferedWebResponse response;
+
+	@Setup(Level.Trial)
+	public void setUpWicket()
+	{
+		this.tester = new WicketTester(new MockApplication());
+		this.response = new BufferedWebResponse(null);
+		this.tester.getRequestCycle().setResponse(this.response);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDownWicket()
+	{
+		this.tester.destroy();
+	}
+
+	/**
+	 * Gets the {@link RequestCycle} attached to the benchmark thread
+	 * @return the {@link RequestCycle}
+	 */
+	protected RequestCycle getRequestCycle()
+	{
+		return this.tester.getRequestCycle();
+	}
+}
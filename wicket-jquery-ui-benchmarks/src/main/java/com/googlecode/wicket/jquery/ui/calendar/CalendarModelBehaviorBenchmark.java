@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.jquery.ui.calendar;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.apache.wicket.request.IRequestHandler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+
+import com.googlecode.wicket.jquery.benchmarks.WicketBenchmark;
+
+/**
+ * Benchmarks the {@link CalendarEvent}<code>s</code> JSON response of the {@link CalendarModelBehavior}
+ *
+ * @author agent
+ *
+ */
+public class CalendarModelBehaviorBenchmark extends WicketBenchmark
+{
+	@Param({ "10", "1000" })
+	public int size;
+
+	private CalendarModelBehavior behavior;
+
+	@Setup
+	public void setUp()
+	{
+		final List<CalendarEvent> events = new ArrayList<CalendarEvent>(this.size);
+		final long time = System.currentTimeMillis();
+
+		for (int i = 0; i < this.size; i++)
+		{
+			CalendarEvent event = new CalendarEvent(i, "Event #" + i, new Date(time + i * 3600000L), new Date(time + i * 3600000L + 1800000L));
+			event.setAllDay(false);
+			event.setClassName("my-event");
+
+			events.add(event);
+		}
+
+		this.behavior = new CalendarModelBehavior(new CalendarModel() {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected List<? extends CalendarEvent> load()
+			{
+				return events;
+			}
+		});
+	}
+
+	@Benchmark
+	public int respond()
+	{
+		IRequestHandler handler = this.behavior.newRequestHandler();
+
+		this.response.reset();
+		handler.respond(this.getRequestCycle());
+
+		return this.response.getText().length();
+	}
+}
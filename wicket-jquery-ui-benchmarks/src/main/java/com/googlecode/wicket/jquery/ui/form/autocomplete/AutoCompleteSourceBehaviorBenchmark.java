@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.jquery.ui.form.autocomplete;
+
+import java.util.List;
+import java.util.Locale;
+
+import org.apache.wicket.request.IRequestHandler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+
+import com.googlecode.wicket.jquery.benchmarks.Choices;
+import com.googlecode.wicket.jquery.benchmarks.WicketBenchmark;
+import com.googlecode.wicket.jquery.core.renderer.TextRenderer;
+
+/**
+ * Benchmarks the JSON response of the {@link AutoCompleteSourceBehavior}
+ *
+ * @author agent
+ *
+ */
+public class AutoCompleteSourceBehaviorBenchmark extends WicketBenchmark
+{
+	@Param({ "10", "1000", "100000" })
+	public int size;
+
+	private AutoCompleteSourceBehavior<String> behavior;
+	private AutoCompleteQuery query;
+
+	@Setup
+	public void setUp()
+	{
+		final List<String> choices = Choices.newList(this.size);
+
+		this.behavior = new AutoCompleteSourceBehavior<String>(new TextRenderer<String>()) {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected List<String> getChoices(String input)
+			{
+				return choices;
+			}
+		};
+
+		this.query = new AutoCompleteQuery("choice", AutoCompleteQuery.MatchMode.CONTAINS, this.size, 0, Locale.ENGLISH);
+	}
+
+	@Benchmark
+	public int respond()
+	{
+		IRequestHandler handler = this.behavior.newRequestHandler(this.query);
+
+		this.response.reset();
+		handler.respond(this.getRequestCycle());
+
+		return this.response.getText().length();
+	}
+}
@@ -0,0 +1,59 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.jquery.ui.kendo.combobox;
+
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+
+import com.googlecode.wicket.jquery.benchmarks.Choices;
+import com.googlecode.wicket.jquery.benchmarks.WicketBenchmark;
+import com.googlecode.wicket.jquery.core.JQueryBehavior;
+
+/**
+ * Benchmarks the inline dataSource built by {@link ComboBox#onConfigure(JQueryBehavior)}
+ *
+ * @author agent
+ *
+ */
+public class ComboBoxBenchmark extends WicketBenchmark
+{
+	@Param({ "10", "1000" })
+	public int size;
+
+	private ComboBox<String> comboBox;
+	private JQueryBehavior behavior;
+
+	@Setup
+	public void setUp()
+	{
+		List<String> choices = Choices.newList(this.size);
+
+		this.comboBox = new ComboBox<String>("combobox", choices);
+		this.behavior = this.comboBox.newWidgetBehavior("#combobox");
+	}
+
+	@Benchmark
+	public Object onConfigure()
+	{
+		this.comboBox.onConfigure(this.behavior);
+
+		return this.behavior.getOption("dataSource");
+	}
+}
@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.jquery.ui.widget.dialog;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.wicket.MarkupContainer;
+import org.apache.wicket.ajax.AjaxRequestTarget;
+import org.apache.wicket.markup.IMarkupResourceStreamProvider;
+import org.apache.wicket.markup.html.WebMarkupContainer;
+import org.apache.wicket.markup.html.WebPage;
+import org.apache.wicket.util.resource.IResourceStream;
+import org.apache.wicket.util.resource.StringResourceStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+
+import com.googlecode.wicket.jquery.benchmarks.WicketBenchmark;
+import com.googlecode.wicket.jquery.core.ajax.IJQueryAjaxAware;
+
+/**
+ * Benchmarks the buttons JSON built by {@link DialogBehavior#onConfigure(org.apache.wicket.Component)}
+ *
+ * @author agent
+ *
+ */
+public class DialogBehaviorBenchmark extends WicketBenchmark
+{
+	@Param({ "2", "10" })
+	public int size;
+
+	private WebMarkupContainer container;
+	private DialogBehavior behavior;
+
+	@Setup
+	public void setUp()
+	{
+		final List<DialogButton> buttons = new ArrayList<DialogButton>();
+
+		for (int i = 0; i < this.size; i++)
+		{
+			buttons.add(new DialogButton("Button #" + i));
+		}
+
+		this.behavior = new DialogBehavior("#dialog") {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected List<DialogButton> getButtons()
+			{
+				return buttons;
+			}
+
+			@Override
+			protected ButtonAjaxBehavior newButtonAjaxBehavior(IJQueryAjaxAware source, DialogButton button)
+			{
+				return new ButtonAjaxBehavior(source, button);
+			}
+
+			@Override
+			public boolean isDefaultCloseEventEnabled()
+			{
+				return false;
+			}
+
+			@Override
+			public void onClick(AjaxRequestTarget target, DialogButton button)
+			{
+			}
+
+			@Override
+			public void onClose(AjaxRequestTarget target, DialogButton button)
+			{
+			}
+		};
+
+		WebPage page = new DialogPage();
+		page.add(this.container = new WebMarkupContainer("dialog"));
+		this.container.add(this.behavior);
+	}
+
+	@Benchmark
+	public Object onConfigure()
+	{
+		this.behavior.onConfigure(this.container);
+
+		return this.behavior.getOption("buttons");
+	}
+
+	/**
+	 * Provides the page the dialog is attached to
+	 */
+	static class DialogPage extends WebPage implements IMarkupResourceStreamProvider
+	{
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		public IResourceStream getMarkupResourceStream(MarkupContainer container, Class<?> containerClass)
+		{
+			return new StringResourceStream("<html><body><div wicket:id='dialog'></div></body></html>");
+		}
+	}
+}
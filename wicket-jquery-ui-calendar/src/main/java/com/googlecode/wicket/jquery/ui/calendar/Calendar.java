@@ -26,6 +26,8 @@ import org.apache.wicket.ajax.AjaxRequestTarget;
 import com.googlecode.wicket.jquery.core.JQueryBehavior;
 import com.googlecode.wicket.jquery.core.JQueryContainer;
 import com.googlecode.wicket.jquery.core.Options;
+import com.googlecode.wicket.jquery.core.json.JsonWriter;
+import com.googlecode.wicket.jquery.core.resource.JQueryFeedResourceReference;
 
 /**
  * Provides calendar widget, based on the jQuery fullcalendar plugin.
@@ -40,7 +42,9 @@ public class Calendar extends JQueryContainer implements ICalendarListener
 
 	private final Options options;
 	private Map<CharSequence, String> gcals; //TODO: move gcals to CalendarBehavior?
-	private CalendarModelBehavior modelBehavior; // events load
+	private CalendarModelBehavior modelBehavior = null; // events load
+	private CalendarFeed feed = null; // events load, instead of the model behavior
+	private String feedKey = null;
 
 	/**
 	 * Constructor
@@ -146,13 +150,53 @@ public class Calendar extends JQueryContainer implements ICalendarListener
 		return false;
 	}
 
+	/**
+	 * Indicates whether the events are loaded through a stateless callback, so the page can remain stateless.<br/>
+	 * If true, the events are requested through a bookmarkable listener url: the page is re-created and the {@link CalendarModel} is loaded from the re-created component.
+	 * The calendar should therefore be created in the page constructor.<br/>
+	 * <b>Note:</b> only the events loading is stateless, the page stays stateful if the calendar is editable, selectable or if drop/resize events are enabled.<br/>
+	 * <b>Note:</b> this method is evaluated when the component is initialized
+	 *
+	 * @return false by default
+	 */
+	protected boolean isStatelessEnabled()
+	{
+		return false;
+	}
+
+	/**
+	 * Gets the url the events are requested from
+	 *
+	 * @return the feed url if a feed is used, the model behavior callback url otherwise
+	 */
+	private CharSequence getEventsUrl()
+	{
+		if (this.feed != null)
+		{
+			JQueryFeedResourceReference.register(this.feedKey, this.feed); // in case the session has dropped it
+
+			return JQueryFeedResourceReference.getCallbackUrl(this.feedKey);
+		}
+
+		return this.modelBehavior.getCallbackUrl();
+	}
+
 	// Events //
 	@Override
 	protected void onInitialize()
 	{
 		super.onInitialize();
 
-		this.add(this.modelBehavior = new CalendarModelBehavior(this.getModel()));
+		this.feed = this.newCalendarFeed();
+
+		if (this.feed != null)
+		{
+			this.feedKey = JQueryFeedResourceReference.register(this.feed);
+		}
+		else
+		{
+			this.add(this.modelBehavior = new CalendarModelBehavior(this.getModel(), this.isStatelessEnabled()));
+		}
 	}
 
 	/**
@@ -191,6 +235,21 @@ public class Calendar extends JQueryContainer implements ICalendarListener
 	}
 
 
+	// Factories //
+	/**
+	 * Gets a new {@link CalendarFeed} that will provide the events instead of the {@link CalendarModel}.<br/>
+	 * The feed is requested through a resource url, which does not lock the page, so calendar navigation does not wait for the other requests of the page.
+	 * The feed should be thread-safe and should not reference this component (see {@link CalendarFeed}).<br/>
+	 * <b>Note:</b> this method is called when the component is initialized
+	 *
+	 * @return null by default
+	 */
+	protected CalendarFeed newCalendarFeed()
+	{
+		return null;
+	}
+
+
 	// IJQueryWidget //
 	/**
 	 * see {@link JQueryContainer#newWidgetBehavior(String)}
@@ -236,18 +295,20 @@ public class Calendar extends JQueryContainer implements ICalendarListener
 
 				// builds sources //
 				StringBuilder sourceBuilder = new StringBuilder();
-				sourceBuilder.append("'").append(Calendar.this.modelBehavior.getCallbackUrl()).append("'");
+				JsonWriter writer = new JsonWriter(sourceBuilder).beginArray();
+				writer.value(Calendar.this.getEventsUrl());
 
 				if (Calendar.this.gcals != null)
 				{
 					for (Entry<CharSequence, String> gcal : Calendar.this.gcals.entrySet())
 					{
-						sourceBuilder.append(", ");
-						sourceBuilder.append("jQuery.fullCalendar.gcalFeed('").append(gcal.getKey()).append("', { className: '").append(gcal.getValue()).append("' })");
+						writer.raw("jQuery.fullCalendar.gcalFeed(" + JsonWriter.quote(gcal.getKey()) + ", { className: " + JsonWriter.quote(gcal.getValue()) + " })");
 					}
 				}
 
-				this.setOption("eventSources", String.format("[%s]", sourceBuilder.toString()));
+				writer.endArray();
+
+				this.setOption("eventSources", sourceBuilder.toString());
 			}
 
 			@Override
@@ -16,7 +16,10 @@
  */
 package com.googlecode.wicket.jquery.ui.calendar;
 
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
 
 import org.apache.wicket.Component;
 import org.apache.wicket.ajax.AbstractDefaultAjaxBehavior;
@@ -36,7 +39,14 @@ import com.googlecode.wicket.jquery.core.JQueryEvent;
 import com.googlecode.wicket.jquery.core.Options;
 import com.googlecode.wicket.jquery.core.ajax.IJQueryAjaxAware;
 import com.googlecode.wicket.jquery.core.ajax.JQueryAjaxBehavior;
-import com.googlecode.wicket.jquery.core.utils.RequestCycleUtils;
+import com.googlecode.wicket.jquery.core.ajax.JQueryAjaxDispatchBehavior;
+import com.googlecode.wicket.jquery.core.event.IJQueryEventFactory;
+import com.googlecode.wicket.jquery.core.event.JQueryEventParameter;
+import com.googlecode.wicket.jquery.core.event.JQueryEventParameter.BooleanParameter;
+import com.googlecode.wicket.jquery.core.event.JQueryEventParameter.DateParameter;
+import com.googlecode.wicket.jquery.core.event.JQueryEventParameter.IntParameter;
+import com.googlecode.wicket.jquery.core.event.JQueryEventParameter.StringParameter;
+import com.googlecode.wicket.jquery.core.resource.JQueryResourceRegistry;
 
 /**
  * Provides the jQuery fullCalendar behavior
@@ -49,12 +59,153 @@ public abstract class CalendarBehavior extends JQueryBehavior implements IJQuery
 	private static final long serialVersionUID = 1L;
 	private static final String METHOD = "fullCalendar";
 
-	private JQueryAjaxBehavior onDayClickBehavior; // day click
-	private JQueryAjaxBehavior onSelectBehavior = null; // date range-select behavior;
+	public static final CssResourceReference FULLCALENDAR_CSS = new CssResourceReference(CalendarBehavior.class, "fullcalendar.css");
+	public static final JavaScriptResourceReference FULLCALENDAR_JS = new JavaScriptResourceReference(CalendarBehavior.class, "fullcalendar.min.js");
+	public static final JavaScriptResourceReference GCAL_JS = new JavaScriptResourceReference(CalendarBehavior.class, "gcal.js");
 
-	private JQueryAjaxBehavior onEventClickBehavior; // event click
-	private JQueryAjaxBehavior onEventDropBehavior = null; // event drop
-	private JQueryAjaxBehavior onEventResizeBehavior = null; // event resize
+	static
+	{
+		JQueryResourceRegistry.register(CalendarBehavior.class, FULLCALENDAR_CSS, FULLCALENDAR_JS, GCAL_JS);
+	}
+
+	// event types //
+	private static final String DAY_CLICK = "dayClick";
+	private static final String SELECT = "select";
+	private static final String EVENT_CLICK = "eventClick";
+	private static final String EVENT_DROP = "eventDrop";
+	private static final String EVENT_RESIZE = "eventResize";
+
+	//http://arshaw.com/fullcalendar/docs/mouse/dayClick/
+	//function(date, allDay, jsEvent, view)
+	private static final CallbackParameter[] DAY_CLICK_PARAMETERS = new CallbackParameter[] {
+			CallbackParameter.converted("date", "date.getTime()"),
+			CallbackParameter.explicit("allDay"),
+			CallbackParameter.context("jsEvent"),
+			CallbackParameter.context("view"),
+			CallbackParameter.resolved("viewName", "view.name")
+	};
+
+	//http://arshaw.com/fullcalendar/docs/selection/select_callback/
+	//function(startDate, endDate, allDay, jsEvent, view) { }
+	private static final CallbackParameter[] SELECT_PARAMETERS = new CallbackParameter[] {
+			CallbackParameter.converted("startDate", "startDate.getTime()"),
+			CallbackParameter.converted("endDate", "endDate.getTime()"),
+			CallbackParameter.explicit("allDay"),
+			CallbackParameter.context("jsEvent"),
+			CallbackParameter.context("view"),
+			CallbackParameter.resolved("viewName", "view.name")
+	};
+
+	//http://arshaw.com/fullcalendar/docs/mouse/eventClick/
+	//function(event, jsEvent, view) { }
+	private static final CallbackParameter[] EVENT_CLICK_PARAMETERS = new CallbackParameter[] {
+			CallbackParameter.context("event"),
+			CallbackParameter.context("jsEvent"),
+			CallbackParameter.context("view"),
+			CallbackParameter.resolved("eventId", "event.id"),
+			CallbackParameter.resolved("viewName", "view.name")
+	};
+
+	//http://arshaw.com/fullcalendar/docs/event_ui/eventDrop/
+	//function(event, dayDelta, minuteDelta, allDay, revertFunc, jsEvent, ui, view) {  }
+	private static final CallbackParameter[] EVENT_DROP_PARAMETERS = new CallbackParameter[] {
+			CallbackParameter.context("event"),
+			CallbackParameter.explicit("dayDelta"), //retrieved
+			CallbackParameter.explicit("minuteDelta"), //retrieved
+			CallbackParameter.explicit("allDay"), //retrieved
+			CallbackParameter.context("revertFunc"),
+			CallbackParameter.context("jsEvent"),
+			CallbackParameter.context("ui"),
+			CallbackParameter.context("view"),
+			CallbackParameter.resolved("eventId", "event.id") //retrieved
+	};
+
+	//http://arshaw.com/fullcalendar/docs/event_ui/eventResize/
+	//function(event, dayDelta, minuteDelta, revertFunc, jsEvent, ui, view) {  }
+	private static final CallbackParameter[] EVENT_RESIZE_PARAMETERS = new CallbackParameter[] {
+			CallbackParameter.context("event"),
+			CallbackParameter.explicit("dayDelta"), //retrieved
+			CallbackParameter.explicit("minuteDelta"), //retrieved
+			CallbackParameter.context("revertFunc"),
+			CallbackParameter.context("jsEvent"),
+			CallbackParameter.context("ui"),
+			CallbackParameter.context("view"),
+			CallbackParameter.resolved("eventId", "event.id") //retrieved
+	};
+
+	// event parameters //
+	private static final DateParameter DATE = JQueryEventParameter.ofDate("date");
+	private static final DateParameter START_DATE = JQueryEventParameter.ofDate("startDate");
+	private static final DateParameter END_DATE = JQueryEventParameter.ofDate("endDate");
+	private static final BooleanParameter ALL_DAY = JQueryEventParameter.ofBoolean("allDay");
+	private static final StringParameter VIEW_NAME = JQueryEventParameter.ofString("viewName");
+	private static final IntParameter EVENT_ID = JQueryEventParameter.ofInt("eventId");
+	private static final IntParameter DAY_DELTA = JQueryEventParameter.ofInt("dayDelta");
+	private static final IntParameter MINUTE_DELTA = JQueryEventParameter.ofInt("minuteDelta");
+
+	/** event factories, by event type */
+	private static final Map<String, IJQueryEventFactory> FACTORIES;
+
+	static
+	{
+		Map<String, IJQueryEventFactory> factories = new HashMap<String, IJQueryEventFactory>();
+
+		factories.put(DAY_CLICK, new IJQueryEventFactory() {
+
+			@Override
+			public JQueryEvent newEvent()
+			{
+				return new DayClickEvent();
+			}
+		});
+
+		factories.put(SELECT, new IJQueryEventFactory() {
+
+			@Override
+			public JQueryEvent newEvent()
+			{
+				return new SelectEvent();
+			}
+		});
+
+		factories.put(EVENT_CLICK, new IJQueryEventFactory() {
+
+			@Override
+			public JQueryEvent newEvent()
+			{
+				return new ClickEvent();
+			}
+		});
+
+		factories.put(EVENT_DROP, new IJQueryEventFactory() {
+
+			@Override
+			public JQueryEvent newEvent()
+			{
+				return new DropEvent();
+			}
+		});
+
+		factories.put(EVENT_RESIZE, new IJQueryEventFactory() {
+
+			@Override
+			public JQueryEvent newEvent()
+			{
+				return new ResizeEvent();
+			}
+		});
+
+		FACTORIES = Collections.unmodifiableMap(factories);
+	}
+
+	private JQueryAjaxDispatchBehavior onEventBehavior = null; // dispatches day click, select, event click, event drop & event resize
+
+	// behaviors provided by the deprecated factories, which take precedence over the dispatch behavior //
+	private JQueryAjaxBehavior onDayClickBehavior = null;
+	private JQueryAjaxBehavior onSelectBehavior = null;
+	private JQueryAjaxBehavior onEventClickBehavior = null;
+	private JQueryAjaxBehavior onEventDropBehavior = null;
+	private JQueryAjaxBehavior onEventResizeBehavior = null;
 
 
 	public CalendarBehavior(final String selector)
@@ -65,10 +216,6 @@ public abstract class CalendarBehavior extends JQueryBehavior implements IJQuery
 	public CalendarBehavior(final String selector, Options options)
 	{
 		super(selector, METHOD, options);
-
-		this.add(new CssResourceReference(CalendarBehavior.class, "fullcalendar.css"));
-		this.add(new JavaScriptResourceReference(CalendarBehavior.class, "fullcalendar.min.js"));
-		this.add(new JavaScriptResourceReference(CalendarBehavior.class, "gcal.js"));
 	}
 
 
@@ -78,28 +225,66 @@ public abstract class CalendarBehavior extends JQueryBehavior implements IJQuery
 	{
 		super.bind(component);
 
+		if (this.isEditable() || this.isSelectable() || this.isEventDropEnabled() || this.isEventResizeEnabled())
+		{
+			component.add(this.onEventBehavior = this.newOnEventBehavior());
+		}
+
 		if (this.isEditable())
 		{
-			component.add(this.onDayClickBehavior = this.newOnDayClickBehavior());
-			component.add(this.onEventClickBehavior = this.newOnEventClickBehavior());
+			this.onDayClickBehavior = this.addBehavior(component, this.newOnDayClickBehavior());
+			this.onEventClickBehavior = this.addBehavior(component, this.newOnEventClickBehavior());
 		}
 
 		if (this.isSelectable())
 		{
-			component.add(this.onSelectBehavior = this.newOnSelectBehavior());
+			this.onSelectBehavior = this.addBehavior(component, this.newOnSelectBehavior());
 		}
 
 		if (this.isEventDropEnabled())
 		{
-			component.add(this.onEventDropBehavior = this.newOnEventDropBehavior());
+			this.onEventDropBehavior = this.addBehavior(component, this.newOnEventDropBehavior());
 		}
 
 		if (this.isEventResizeEnabled())
 		{
-			component.add(this.onEventResizeBehavior = this.newOnEventResizeBehavior());
+			this.onEventResizeBehavior = this.addBehavior(component, this.newOnEventResizeBehavior());
 		}
 	}
 
+	/**
+	 * Adds the behavior provided by a deprecated factory to the component, if any
+	 * @param component the {@link Component}
+	 * @param behavior the {@link JQueryAjaxBehavior}, or null
+	 * @return the behavior
+	 */
+	private JQueryAjaxBehavior addBehavior(Component component, JQueryAjaxBehavior behavior)
+	{
+		if (behavior != null)
+		{
+			component.add(behavior);
+		}
+
+		return behavior;
+	}
+
+	/**
+	 * Gets the callback function of an event type
+	 * @param behavior the behavior provided by the deprecated factory, or null
+	 * @param type the event type
+	 * @param parameters the {@link CallbackParameter}<code>s</code>
+	 * @return the callback function of the deprecated behavior if any, the callback function of the event type of the dispatch behavior otherwise
+	 */
+	private String getCallbackFunction(JQueryAjaxBehavior behavior, String type, CallbackParameter[] parameters)
+	{
+		if (behavior != null)
+		{
+			return behavior.getCallbackFunction().toString();
+		}
+
+		return this.onEventBehavior.getCallbackFunction(type, parameters);
+	}
+
 	@Override
 	public void renderHead(Component component, IHeaderResponse response)
 	{
@@ -129,25 +314,28 @@ public abstract class CalendarBehavior extends JQueryBehavior implements IJQuery
 		this.options.set("disableDragging", !this.isEventDropEnabled());
 		this.options.set("disableResizing", !this.isEventResizeEnabled());
 
-		if (this.isEditable())
+		if (this.onEventBehavior != null)
 		{
-			this.setOption("dayClick", this.onDayClickBehavior.getCallbackFunction());
-			this.setOption("eventClick", this.onEventClickBehavior.getCallbackFunction());
-		}
+			if (this.isEditable())
+			{
+				this.setOption(DAY_CLICK, this.getCallbackFunction(this.onDayClickBehavior, DAY_CLICK, DAY_CLICK_PARAMETERS));
+				this.setOption(EVENT_CLICK, this.getCallbackFunction(this.onEventClickBehavior, EVENT_CLICK, EVENT_CLICK_PARAMETERS));
+			}
 
-		if (this.onSelectBehavior != null)
-		{
-			this.setOption("select", this.onSelectBehavior.getCallbackFunction());
-		}
+			if (this.isSelectable())
+			{
+				this.setOption(SELECT, this.getCallbackFunction(this.onSelectBehavior, SELECT, SELECT_PARAMETERS));
+			}
 
-		if (this.onEventDropBehavior != null)
-		{
-			this.setOption("eventDrop", this.onEventDropBehavior.getCallbackFunction());
-		}
+			if (this.isEventDropEnabled())
+			{
+				this.setOption(EVENT_DROP, this.getCallbackFunction(this.onEventDropBehavior, EVENT_DROP, EVENT_DROP_PARAMETERS));
+			}
 
-		if (this.onEventResizeBehavior != null)
-		{
-			this.setOption("eventResize", this.onEventResizeBehavior.getCallbackFunction());
+			if (this.isEventResizeEnabled())
+			{
+				this.setOption(EVENT_RESIZE, this.getCallbackFunction(this.onEventResizeBehavior, EVENT_RESIZE, EVENT_RESIZE_PARAMETERS));
+			}
 		}
 	}
 
@@ -187,176 +375,89 @@ public abstract class CalendarBehavior extends JQueryBehavior implements IJQuery
 
 	// Factories //
 	/**
-	 * Gets the ajax behavior that will be triggered when the user clicks on a day cell
+	 * Gets the ajax behavior that will be triggered when the user clicks on a day cell, selects a cell range, or clicks, moves or resizes an event
 	 *
-	 * @return the {@link JQueryAjaxBehavior}
+	 * @return the {@link JQueryAjaxDispatchBehavior}
 	 */
-	protected JQueryAjaxBehavior newOnDayClickBehavior()
+	protected JQueryAjaxDispatchBehavior newOnEventBehavior()
 	{
-		return new JQueryAjaxBehavior(this) {
+		return new JQueryAjaxDispatchBehavior(this) {
 
 			private static final long serialVersionUID = 1L;
 
 			@Override
-			protected CallbackParameter[] getCallbackParameters()
+			protected JQueryEvent newEvent(String type)
 			{
-				//http://arshaw.com/fullcalendar/docs/mouse/dayClick/
-				//function(date, allDay, jsEvent, view)
-				return new CallbackParameter[] {
-						CallbackParameter.converted("date", "date.getTime()"),
-						CallbackParameter.explicit("allDay"),
-						CallbackParameter.context("jsEvent"),
-						CallbackParameter.context("view"),
-						CallbackParameter.resolved("viewName", "view.name")
-				};
-			}
+				IJQueryEventFactory factory = FACTORIES.get(type);
 
-			@Override
-			protected JQueryEvent newEvent()
-			{
-				return new DayClickEvent();
+				return factory != null ? factory.newEvent() : null;
 			}
 		};
 	}
 
 	/**
-	 * Gets the ajax behavior that will be triggered when the user select a cell range
+	 * Gets the ajax behavior that will be triggered when the user clicks on a day cell<br/>
+	 * The event is dispatched by the behavior returned by {@link #newOnEventBehavior()}, unless this method is overridden
 	 *
-	 * @return the {@link JQueryAjaxBehavior}
+	 * @return null by default
+	 * @deprecated override {@link #newOnEventBehavior()} instead
 	 */
-	protected JQueryAjaxBehavior newOnSelectBehavior()
+	@Deprecated
+	protected JQueryAjaxBehavior newOnDayClickBehavior()
 	{
-		return new JQueryAjaxBehavior(this) {
-
-			private static final long serialVersionUID = 1L;
-
-			@Override
-			protected CallbackParameter[] getCallbackParameters()
-			{
-				//http://arshaw.com/fullcalendar/docs/selection/select_callback/
-				//function(startDate, endDate, allDay, jsEvent, view) { }
-				return new CallbackParameter[] {
-						CallbackParameter.converted("startDate", "startDate.getTime()"),
-						CallbackParameter.converted("endDate", "endDate.getTime()"),
-						CallbackParameter.explicit("allDay"),
-						CallbackParameter.context("jsEvent"),
-						CallbackParameter.context("view"),
-						CallbackParameter.resolved("viewName", "view.name")
-				};
-			}
+		return null;
+	}
 
-			@Override
-			protected JQueryEvent newEvent()
-			{
-				return new SelectEvent();
-			}
-		};
+	/**
+	 * Gets the ajax behavior that will be triggered when the user select a cell range<br/>
+	 * The event is dispatched by the behavior returned by {@link #newOnEventBehavior()}, unless this method is overridden
+	 *
+	 * @return null by default
+	 * @deprecated override {@link #newOnEventBehavior()} instead
+	 */
+	@Deprecated
+	protected JQueryAjaxBehavior newOnSelectBehavior()
+	{
+		return null;
 	}
 
 	/**
-	 * Gets the ajax behavior that will be triggered when the user clicks on an event
+	 * Gets the ajax behavior that will be triggered when the user clicks on an event<br/>
+	 * The event is dispatched by the behavior returned by {@link #newOnEventBehavior()}, unless this method is overridden
 	 *
-	 * @return the {@link JQueryAjaxBehavior}
+	 * @return null by default
+	 * @deprecated override {@link #newOnEventBehavior()} instead
 	 */
+	@Deprecated
 	protected JQueryAjaxBehavior newOnEventClickBehavior()
 	{
-		return new JQueryAjaxBehavior(this) {
-
-			private static final long serialVersionUID = 1L;
-
-			@Override
-			protected CallbackParameter[] getCallbackParameters()
-			{
-				//http://arshaw.com/fullcalendar/docs/mouse/eventClick/
-				//function(event, jsEvent, view) { }
-				return new CallbackParameter[] {
-						CallbackParameter.context("event"),
-						CallbackParameter.context("jsEvent"),
-						CallbackParameter.context("view"),
-						CallbackParameter.resolved("eventId", "event.id"),
-						CallbackParameter.resolved("viewName", "view.name")
-				};
-			}
-
-			@Override
-			protected JQueryEvent newEvent()
-			{
-				return new ClickEvent();
-			}
-		};
+		return null;
 	}
 
 	/**
-	 * Gets the ajax behavior that will be triggered when the user moves (drag & drop) an event
+	 * Gets the ajax behavior that will be triggered when the user moves (drag & drop) an event<br/>
+	 * The event is dispatched by the behavior returned by {@link #newOnEventBehavior()}, unless this method is overridden
 	 *
-	 * @return the {@link JQueryAjaxBehavior}
+	 * @return null by default
+	 * @deprecated override {@link #newOnEventBehavior()} instead
 	 */
+	@Deprecated
 	protected JQueryAjaxBehavior newOnEventDropBehavior()
 	{
-		return new JQueryAjaxBehavior(this) {
-
-			private static final long serialVersionUID = 1L;
-
-			@Override
-			protected CallbackParameter[] getCallbackParameters()
-			{
-				//http://arshaw.com/fullcalendar/docs/event_ui/eventResize/
-				//function(event, dayDelta, minuteDelta, allDay, revertFunc, jsEvent, ui, view) {  }
-				return new CallbackParameter[] {
-						CallbackParameter.context("event"),
-						CallbackParameter.explicit("dayDelta"), //retrieved
-						CallbackParameter.explicit("minuteDelta"), //retrieved
-						CallbackParameter.explicit("allDay"), //retrieved
-						CallbackParameter.context("revertFunc"),
-						CallbackParameter.context("jsEvent"),
-						CallbackParameter.context("ui"),
-						CallbackParameter.context("view"),
-						CallbackParameter.resolved("eventId", "event.id") //retrieved
-				};
-			}
-
-			@Override
-			protected JQueryEvent newEvent()
-			{
-				return new DropEvent();
-			}
-		};
+		return null;
 	}
 
 	/**
-	 * Gets the ajax behavior that will be triggered when the user resizes an event
+	 * Gets the ajax behavior that will be triggered when the user resizes an event<br/>
+	 * The event is dispatched by the behavior returned by {@link #newOnEventBehavior()}, unless this method is overridden
 	 *
-	 * @return the {@link JQueryAjaxBehavior}
+	 * @return null by default
+	 * @deprecated override {@link #newOnEventBehavior()} instead
 	 */
+	@Deprecated
 	protected JQueryAjaxBehavior newOnEventResizeBehavior()
 	{
-		return new JQueryAjaxBehavior(this) {
-
-			private static final long serialVersionUID = 1L;
-
-			@Override
-			protected CallbackParameter[] getCallbackParameters()
-			{
-				//http://arshaw.com/fullcalendar/docs/event_ui/eventResize/
-				//function(event, dayDelta, minuteDelta, revertFunc, jsEvent, ui, view) {  }
-				return new CallbackParameter[] {
-						CallbackParameter.context("event"),
-						CallbackParameter.explicit("dayDelta"), //retrieved
-						CallbackParameter.explicit("minuteDelta"), //retrieved
-						CallbackParameter.context("revertFunc"),
-						CallbackParameter.context("jsEvent"),
-						CallbackParameter.context("ui"),
-						CallbackParameter.context("view"),
-						CallbackParameter.resolved("eventId", "event.id") //retrieved
-				};
-			}
-
-			@Override
-			protected JQueryEvent newEvent()
-			{
-				return new ResizeEvent();
-			}
-		};
+		return null;
 	}
 
 
@@ -374,10 +475,8 @@ public abstract class CalendarBehavior extends JQueryBehavior implements IJQuery
 		 */
 		public DayClickEvent()
 		{
-			long date = RequestCycleUtils.getQueryParameterValue("date").toLong();
-			this.day = new Date(date);
-
-			this.viewName = RequestCycleUtils.getQueryParameterValue("viewName").toString();
+			this.day = DATE.get();
+			this.viewName = VIEW_NAME.get();
 		}
 
 		/**
@@ -411,14 +510,10 @@ public abstract class CalendarBehavior extends JQueryBehavior implements IJQuery
 
 		public SelectEvent()
 		{
-			long start = RequestCycleUtils.getQueryParameterValue("startDate").toLong();
-			this.start = new Date(start);
-
-			long end = RequestCycleUtils.getQueryParameterValue("endDate").toLong();
-			this.end = new Date(end);
-
-			this.isAllDay = RequestCycleUtils.getQueryParameterValue("allDay").toBoolean();
-			this.viewName = RequestCycleUtils.getQueryParameterValue("viewName").toString();
+			this.start = START_DATE.get();
+			this.end = END_DATE.get();
+			this.isAllDay = ALL_DAY.get();
+			this.viewName = VIEW_NAME.get();
 		}
 
 		/**
@@ -471,8 +566,8 @@ public abstract class CalendarBehavior extends JQueryBehavior implements IJQuery
 		 */
 		public ClickEvent()
 		{
-			this.eventId = RequestCycleUtils.getQueryParameterValue("eventId").toInt();
-			this.viewName = RequestCycleUtils.getQueryParameterValue("viewName").toString();
+			this.eventId = EVENT_ID.get();
+			this.viewName = VIEW_NAME.get();
 		}
 
 		/**
@@ -507,10 +602,10 @@ public abstract class CalendarBehavior extends JQueryBehavior implements IJQuery
 		 */
 		public DeltaEvent()
 		{
-			this.eventId = RequestCycleUtils.getQueryParameterValue("eventId").toInt();
+			this.eventId = EVENT_ID.get();
 
-			int dayDelta = RequestCycleUtils.getQueryParameterValue("dayDelta").toInt();
-			int minuteDelta = RequestCycleUtils.getQueryParameterValue("minuteDelta").toInt();
+			int dayDelta = DAY_DELTA.get();
+			int minuteDelta = MINUTE_DELTA.get();
 			this.delta = (dayDelta * Duration.ONE_DAY.getMilliseconds()) + (minuteDelta * Duration.ONE_MINUTE.getMilliseconds());
 		}
 
@@ -545,7 +640,7 @@ public abstract class CalendarBehavior extends JQueryBehavior implements IJQuery
 		 */
 		public DropEvent()
 		{
-			this.isAllDay = RequestCycleUtils.getQueryParameterValue("allDay").toBoolean();
+			this.isAllDay = ALL_DAY.get();
 		}
 
 		/**
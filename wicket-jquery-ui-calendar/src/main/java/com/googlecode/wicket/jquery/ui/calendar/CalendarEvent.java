@@ -16,10 +16,13 @@
  */
 package com.googlecode.wicket.jquery.ui.calendar;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.util.Date;
 
-import com.googlecode.wicket.jquery.core.Options;
+import com.googlecode.wicket.jquery.core.json.JsonWriter;
 
 /**
  * Provides a base bean that can be used with a {@link CalendarModel}
@@ -31,23 +34,41 @@ public class CalendarEvent implements Serializable
 {
 	private static final long serialVersionUID = 1L;
 
-	private int id;
-	private String title;
-
-	private Date start;
-	private Date end;
-
-	private CharSequence url = null;
-	private String source = null;
-	private Boolean allDay = true;
-	private Boolean editable = null;
+	// serialization flags, see #writeObject(ObjectOutputStream) //
+	private static final int TITLE = 1;
+	private static final int START = 1 << 1;
+	private static final int END = 1 << 2;
+	private static final int URL = 1 << 3;
+	private static final int SOURCE = 1 << 4;
+	private static final int ALLDAY = 1 << 5;
+	private static final int ALLDAY_TRUE = 1 << 6;
+	private static final int EDITABLE = 1 << 7;
+	private static final int EDITABLE_TRUE = 1 << 8;
+	private static final int CLASSNAME = 1 << 9;
+	private static final int COLOR = 1 << 10;
+	private static final int BACKGROUNDCOLOR = 1 << 11;
+	private static final int BORDERCOLOR = 1 << 12;
+	private static final int TEXTCOLOR = 1 << 13;
+
+	// fields are transient: they are written by #writeObject(ObjectOutputStream) //
+
+	private transient int id;
+	private transient String title;
+
+	private transient Date start;
+	private transient Date end;
+
+	private transient CharSequence url = null;
+	private transient String source = null;
+	private transient Boolean allDay = true;
+	private transient Boolean editable = null;
 
 	// styling //
-	private String className = null;
-	private String color = null;
-	private String backgroundColor = null;
-	private String borderColor = null;
-	private String textColor = null;
+	private transient String className = null;
+	private transient String color = null;
+	private transient String backgroundColor = null;
+	private transient String borderColor = null;
+	private transient String textColor = null;
 
 	public CalendarEvent(int id, String title, Date date)
 	{
@@ -205,77 +226,155 @@ public class CalendarEvent implements Serializable
 
 
 	/**
-	 * Gets the JSON representation of this {@link CalendarEvent}
+	 * Writes the JSON representation of this {@link CalendarEvent} to the supplied {@link JsonWriter}
+	 * @param writer the {@link JsonWriter}
 	 */
-	@Override
-	public String toString()
+	public void write(JsonWriter writer)
 	{
-		Options options = new Options();
-
-		options.set("id", this.id);
+		writer.beginObject();
+		writer.name("id").value(this.id);
 
 		if (this.title != null)
 		{
-			options.set("title", Options.asString(this.title));
+			writer.name("title").value(this.title);
 		}
 
 		if (this.start != null)
 		{
-			options.set("start", Options.asDate(this.start));
+			writer.name("start").value(this.start);
 		}
 
 		if (this.end != null)
 		{
-			options.set("end", Options.asDate(this.end));
+			writer.name("end").value(this.end);
 		}
 
 		if (this.url != null)
 		{
-			options.set("url", Options.asString(this.url));
+			writer.name("url").value(this.url);
 		}
 
 		if (this.source != null)
 		{
-			options.set("source", Options.asString(this.source));
+			writer.name("source").value(this.source);
 		}
 
 		if (this.allDay != null)
 		{
-			options.set("allDay", this.allDay);
+			writer.name("allDay").value(this.allDay.booleanValue());
 		}
 
 		if (this.editable != null)
 		{
-			options.set("editable", editable);
+			writer.name("editable").value(this.editable.booleanValue());
 		}
 
 		// styling //
 		if (this.className != null)
 		{
-			options.set("className", Options.asString(this.className));
+			writer.name("className").value(this.className);
 		}
 
 		if (this.color != null)
 		{
-			options.set("color", Options.asString(this.color));
+			writer.name("color").value(this.color);
 		}
 
 		if (this.backgroundColor != null)
 		{
-			options.set("backgroundColor", Options.asString(this.backgroundColor));
+			writer.name("backgroundColor").value(this.backgroundColor);
 		}
 
 		if (this.borderColor != null)
 		{
-			options.set("borderColor", Options.asString(this.borderColor));
+			writer.name("borderColor").value(this.borderColor);
 		}
 
 		if (this.textColor != null)
 		{
-			options.set("textColor", Options.asString(this.textColor));
+			writer.name("textColor").value(this.textColor);
 		}
 
-		return options.toString();
+		writer.endObject();
+	}
+
+	/**
+	 * Gets the JSON representation of this {@link CalendarEvent}
+	 */
+	@Override
+	public String toString()
+	{
+		StringBuilder builder = new StringBuilder();
+		this.write(new JsonWriter(builder));
+
+		return builder.toString();
+	}
+
+	// Serialization //
+	/**
+	 * Writes a compact representation of this {@link CalendarEvent}: a flag set indicating the non-null properties, followed by these properties only. Dates are written as longs.
+	 * @param out the {@link ObjectOutputStream}
+	 * @throws IOException if an I/O error occurs
+	 */
+	private void writeObject(ObjectOutputStream out) throws IOException
+	{
+		out.defaultWriteObject();
+
+		int flags = 0;
+		if (this.title != null) { flags |= TITLE; }
+		if (this.start != null) { flags |= START; }
+		if (this.end != null) { flags |= END; }
+		if (this.url != null) { flags |= URL; }
+		if (this.source != null) { flags |= SOURCE; }
+		if (this.allDay != null) { flags |= this.allDay ? ALLDAY | ALLDAY_TRUE : ALLDAY; }
+		if (this.editable != null) { flags |= this.editable ? EDITABLE | EDITABLE_TRUE : EDITABLE; }
+		if (this.className != null) { flags |= CLASSNAME; }
+		if (this.color != null) { flags |= COLOR; }
+		if (this.backgroundColor != null) { flags |= BACKGROUNDCOLOR; }
+		if (this.borderColor != null) { flags |= BORDERCOLOR; }
+		if (this.textColor != null) { flags |= TEXTCOLOR; }
+
+		out.writeInt(this.id);
+		out.writeShort(flags);
+
+		if (this.title != null) { out.writeObject(this.title); }
+		if (this.start != null) { out.writeLong(this.start.getTime()); }
+		if (this.end != null) { out.writeLong(this.end.getTime()); }
+		if (this.url != null) { out.writeObject(this.url); }
+		if (this.source != null) { out.writeObject(this.source); }
+		if (this.className != null) { out.writeObject(this.className); }
+		if (this.color != null) { out.writeObject(this.color); }
+		if (this.backgroundColor != null) { out.writeObject(this.backgroundColor); }
+		if (this.borderColor != null) { out.writeObject(this.borderColor); }
+		if (this.textColor != null) { out.writeObject(this.textColor); }
+	}
+
+	/**
+	 * Reads the representation written by {@link #writeObject(ObjectOutputStream)}.<br/>
+	 * Styling values, which are usually shared by many events, are interned.
+	 * @param in the {@link ObjectInputStream}
+	 * @throws IOException if an I/O error occurs
+	 * @throws ClassNotFoundException if the class of a property cannot be found
+	 */
+	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException
+	{
+		in.defaultReadObject();
+
+		this.id = in.readInt();
+		final int flags = in.readShort();
+
+		this.title = (flags & TITLE) != 0 ? (String) in.readObject() : null;
+		this.start = (flags & START) != 0 ? new Date(in.readLong()) : null;
+		this.end = (flags & END) != 0 ? new Date(in.readLong()) : null;
+		this.url = (flags & URL) != 0 ? (CharSequence) in.readObject() : null;
+		this.source = (flags & SOURCE) != 0 ? ((String) in.readObject()).intern() : null;
+		this.allDay = (flags & ALLDAY) != 0 ? Boolean.valueOf((flags & ALLDAY_TRUE) != 0) : null;
+		this.editable = (flags & EDITABLE) != 0 ? Boolean.valueOf((flags & EDITABLE_TRUE) != 0) : null;
+		this.className = (flags & CLASSNAME) != 0 ? ((String) in.readObject()).intern() : null;
+		this.color = (flags & COLOR) != 0 ? ((String) in.readObject()).intern() : null;
+		this.backgroundColor = (flags & BACKGROUNDCOLOR) != 0 ? ((String) in.readObject()).intern() : null;
+		this.borderColor = (flags & BORDERCOLOR) != 0 ? ((String) in.readObject()).intern() : null;
+		this.textColor = (flags & TEXTCOLOR) != 0 ? ((String) in.readObject()).intern() : null;
 	}
 
 	/**
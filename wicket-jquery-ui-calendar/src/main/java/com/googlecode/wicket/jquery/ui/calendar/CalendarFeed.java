@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.jquery.ui.calendar;
+
+import java.util.Date;
+import java.util.List;
+
+import org.apache.wicket.request.IRequestParameters;
+
+import com.googlecode.wicket.jquery.core.json.JsonWriter;
+import com.googlecode.wicket.jquery.core.resource.IJQueryFeed;
+import com.googlecode.wicket.jquery.core.resource.JQueryFeedResourceReference;
+
+/**
+ * Provides the detached source of {@link CalendarEvent}<code>s</code> of a {@link Calendar}, served by the {@link JQueryFeedResourceReference} without locking the page.<br/>
+ * See {@link Calendar#newCalendarFeed()}.<br/>
+ * If the feed implements {@link ICalendarVisitor}, events are visited before being written.<br/>
+ * <b>Warning:</b> the feed is called concurrently and outside of the page: implementations should be thread-safe and should not reference the component
+ * (ie: a static nested class querying a service or reading an immutable snapshot of the data)
+ *
+ * @author agent
+ *
+ */
+public abstract class CalendarFeed implements IJQueryFeed
+{
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Gets the events of the specified interval
+	 *
+	 * @param start the start date
+	 * @param end the end date
+	 * @return the list of {@link CalendarEvent}<code>s</code>
+	 */
+	protected abstract List<? extends CalendarEvent> getEvents(Date start, Date end);
+
+	// IJQueryFeed //
+	@Override
+	public void write(IRequestParameters parameters, JsonWriter writer)
+	{
+		final long start = parameters.getParameterValue("start").toLong(0);
+		final long end = parameters.getParameterValue("end").toLong(0);
+
+		List<? extends CalendarEvent> list = this.getEvents(new Date(start * 1000), new Date(end * 1000));
+
+		if (list != null)
+		{
+			CalendarModelBehavior.write(writer, list, this instanceof ICalendarVisitor ? (ICalendarVisitor) this : null);
+		}
+	}
+}
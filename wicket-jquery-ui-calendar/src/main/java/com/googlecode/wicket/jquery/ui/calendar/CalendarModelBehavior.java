@@ -20,6 +20,7 @@ import java.util.Date;
 import java.util.List;
 
 import org.apache.wicket.Application;
+import org.apache.wicket.Component;
 import org.apache.wicket.behavior.AbstractAjaxBehavior;
 import org.apache.wicket.request.IRequestCycle;
 import org.apache.wicket.request.IRequestHandler;
@@ -29,6 +30,8 @@ import org.apache.wicket.request.http.WebResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.googlecode.wicket.jquery.core.json.JsonWriter;
+
 /**
  * Provides the behavior that gets the {@link CalendarEvent}<code>s</code> from the {@link CalendarModel}
  *
@@ -41,6 +44,7 @@ class CalendarModelBehavior extends AbstractAjaxBehavior
 	private static final Logger LOG = LoggerFactory.getLogger(CalendarModelBehavior.class);
 
 	private CalendarModel model;
+	private final boolean stateless;
 
 	/**
 	 * Constructor
@@ -48,8 +52,26 @@ class CalendarModelBehavior extends AbstractAjaxBehavior
 	 * @param model the {@link CalendarModel}
 	 */
 	public CalendarModelBehavior(CalendarModel model)
+	{
+		this(model, false);
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param model the {@link CalendarModel}
+	 * @param stateless whether the behavior is stateless. If true, the callback url is a bookmarkable listener url and the page is not versioned
+	 */
+	public CalendarModelBehavior(CalendarModel model, boolean stateless)
 	{
 		this.model = model;
+		this.stateless = stateless;
+	}
+
+	@Override
+	public boolean getStatelessHint(Component component)
+	{
+		return this.stateless;
 	}
 
 	@Override
@@ -76,7 +98,7 @@ class CalendarModelBehavior extends AbstractAjaxBehavior
 	 *
 	 * @return the {@link IRequestHandler}
 	 */
-	private IRequestHandler newRequestHandler()
+	IRequestHandler newRequestHandler()
 	{
 		return new IRequestHandler()
 		{
@@ -95,24 +117,7 @@ class CalendarModelBehavior extends AbstractAjaxBehavior
 
 					if (list != null)
 					{
-						StringBuilder builder = new StringBuilder("[ ");
-
-						int count = 0;
-						for (CalendarEvent event : list)
-						{
-							if (model instanceof ICalendarVisitor)
-							{
-								event.accept((ICalendarVisitor) model); //last chance to set options
-							}
-
-							if (count++ > 0) { builder.append(", "); }
-							builder.append(event.toString());
-						}
-
-						builder.append(" ]");
-
-						LOG.debug(builder.toString());
-						response.write(builder);
+						CalendarModelBehavior.write(new JsonWriter(response), list, model instanceof ICalendarVisitor ? (ICalendarVisitor) model : null);
 					}
 				}
 			}
@@ -123,4 +128,30 @@ class CalendarModelBehavior extends AbstractAjaxBehavior
 			}
 		};
 	}
+
+	/**
+	 * Writes the JSON array of events, as expected by the fullcalendar plugin
+	 *
+	 * @param writer the {@link JsonWriter}
+	 * @param list the list of {@link CalendarEvent}<code>s</code>
+	 * @param visitor the {@link ICalendarVisitor} the events are visited by before being written, or null
+	 */
+	static void write(JsonWriter writer, List<? extends CalendarEvent> list, ICalendarVisitor visitor)
+	{
+		writer.beginArray();
+
+		for (CalendarEvent event : list)
+		{
+			if (visitor != null)
+			{
+				event.accept(visitor); //last chance to set options
+			}
+
+			event.write(writer);
+		}
+
+		writer.endArray();
+
+		LOG.debug("{} event(s) written", list.size());
+	}
 }
\ No newline at end of file
@@ -17,7 +17,9 @@
 package com.googlecode.wicket.jquery.core;
 
 
+import org.apache.wicket.AttributeModifier;
 import org.apache.wicket.Component;
+import org.apache.wicket.MetaDataKey;
 
 /**
  * Specifies that the implementing {@link Component} class will use a {@link JQueryBehavior}<br/>
@@ -51,16 +53,69 @@ public interface IJQueryWidget
 
 	public static class JQueryWidget
 	{
+		private static final MetaDataKey<String> BULK_MARKER = new MetaDataKey<String>() {
+
+			private static final long serialVersionUID = 1L;
+		};
+
 		/**
-		 * Helper method that returns the component's html selector (ie: '#myId').
+		 * Helper method that returns the component's html selector (ie: '#myId').<br/>
+		 * If the component has been marked for bulk initialization (see {@link #bulk(Component, String)}), the selector is the marker class (ie: '.my-marker')
 		 * @param component the {@link Component}
 		 * @return the html selector
 		 */
 		public static String getSelector(Component component)
 		{
+			final String marker = component.getMetaData(BULK_MARKER);
+
+			if (marker != null)
+			{
+				return "." + marker;
+			}
+
 			return "#" + component.setOutputMarkupId(true).getMarkupId();
 		}
 
+		/**
+		 * Marks the widget for bulk initialization, typically for widgets repeated within a repeater (ie: the buttons or date-pickers of a data-entry grid).<br/>
+		 * The marker css class is appended to the component's tag and is used as the widget's selector, so the markup id is not required to be rendered.
+		 * All the widgets sharing a same marker - and therefore the same init statement - are then initialized by a single statement.<br/>
+		 * Any widget which creates its behavior using {@link #newWidgetBehavior(Component)} supports it (ie: Button, DatePicker, Spinner, RadioChoice).
+		 * <pre>
+		 * protected void populateItem(ListItem&lt;Row&gt; item)
+		 * {
+		 *     item.add(JQueryWidget.bulk(new Spinner&lt;Integer&gt;("quantity", ...), "row-quantity"));
+		 * }
+		 * </pre>
+		 * <br/>
+		 * <b>Warning:</b> the widgets sharing a marker should share the same options (ie: a frozen {@link Options}), and should not use ajax callbacks.
+		 * A widget rendering a statement which differs from the one of the other widgets having the same marker causes a {@link org.apache.wicket.WicketRuntimeException} to be thrown.<br/>
+		 * When such a widget is repainted using ajax, all the widgets having the marker are initialized again.<br/>
+		 * <b>Note:</b> this method should be called before the component is initialized (ie: in <code>ListView#populateItem</code>)
+		 *
+		 * @param <T> the type
+		 * @param widget the {@link IJQueryWidget} component
+		 * @param marker the marker css class (ie: "my-marker")
+		 * @return the widget
+		 */
+		public static <T extends Component & IJQueryWidget> T bulk(T widget, String marker)
+		{
+			widget.setMetaData(BULK_MARKER, marker);
+			widget.add(AttributeModifier.append("class", marker));
+
+			return widget;
+		}
+
+		/**
+		 * Indicates whether the component has been marked for bulk initialization (see {@link #bulk(Component, String)})
+		 * @param component the {@link Component}
+		 * @return true or false
+		 */
+		public static boolean isBulk(Component component)
+		{
+			return component.getMetaData(BULK_MARKER) != null;
+		}
+
 		/**
 		 * Factory method that gets a new {@link JQueryBehavior} by invoking {@link IJQueryWidget#newWidgetBehavior(String)} on the supplied widget.
 		 * @param <T> the type
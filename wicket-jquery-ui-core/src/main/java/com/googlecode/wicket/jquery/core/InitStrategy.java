@@ -0,0 +1,59 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.jquery.core;
+
+/**
+ * Specifies when the jQuery statement of a {@link JQueryBehavior} is executed on the client side.<br/>
+ * Deferred strategies only apply to the widget statement itself: events registered through {@link JQueryBehavior#on(String, String)} are still bound on DOM ready.<br/>
+ * <br/>
+ * <b>Warning:</b> a deferred widget is not initialized until its trigger occurs, so other scripts should not invoke it before (ie: opening a dialog programmatically).
+ *
+ * @author agent
+ *
+ */
+public enum InitStrategy {
+	/** The widget is initialized on DOM ready (default) */
+	EAGER(null),
+	/** The widget is initialized the first time it becomes visible in the viewport (uses IntersectionObserver, if supported) */
+	VISIBLE("visible"),
+	/** The widget is initialized on the first interaction (hover, focus or touch) */
+	INTERACTION("interaction"),
+	/** The widget is initialized when the browser is idle (uses requestIdleCallback, if supported) */
+	IDLE("idle");
+
+	private final String strategy;
+
+	private InitStrategy(String strategy)
+	{
+		this.strategy = strategy;
+	}
+
+	/**
+	 * Indicates whether the initialization is deferred
+	 * @return true if the strategy is not {@link #EAGER}
+	 */
+	public boolean isDeferred()
+	{
+		return this.strategy != null;
+	}
+
+	@Override
+	public String toString()
+	{
+		return this.strategy != null ? this.strategy : "eager";
+	}
+}
@@ -17,21 +17,30 @@
 package com.googlecode.wicket.jquery.core;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.apache.wicket.Application;
 import org.apache.wicket.Component;
+import org.apache.wicket.MetaDataKey;
 import org.apache.wicket.ajax.AjaxRequestTarget;
 import org.apache.wicket.behavior.Behavior;
-import org.apache.wicket.markup.head.CssHeaderItem;
+import org.apache.wicket.markup.head.HeaderItem;
 import org.apache.wicket.markup.head.IHeaderResponse;
 import org.apache.wicket.markup.head.JavaScriptHeaderItem;
-import org.apache.wicket.markup.head.PriorityHeaderItem;
+import org.apache.wicket.request.cycle.RequestCycle;
+import org.apache.wicket.request.http.WebRequest;
 import org.apache.wicket.request.resource.CssResourceReference;
 import org.apache.wicket.request.resource.JavaScriptResourceReference;
 import org.apache.wicket.request.resource.ResourceReference;
 import org.apache.wicket.resource.JQueryPluginResourceReference;
 
+import com.googlecode.wicket.jquery.core.IJQueryWidget.JQueryWidget;
+import com.googlecode.wicket.jquery.core.json.JsonWriter;
+import com.googlecode.wicket.jquery.core.resource.JQueryResourceRegistry;
+import com.googlecode.wicket.jquery.core.resource.WicketJQueryResourceReference;
 import com.googlecode.wicket.jquery.core.settings.IJQueryLibrarySettings;
 import com.googlecode.wicket.jquery.core.settings.JQueryLibrarySettings;
 
@@ -45,15 +54,58 @@ public abstract class JQueryAbstractBehavior extends Behavior
 {
 	private static final long serialVersionUID = 1L;
 
+	/**
+	 * The name of the request header holding the ids of the statements attached to the client (see WicketJQuery.attach)
+	 */
+	private static final String ATTACHED_HEADER = "Wicket-JQuery-Attached";
+
+	/**
+	 * The ids of the statements attached to the client, as supplied by the current ajax request
+	 */
+	private static final MetaDataKey<Set<String>> ATTACHED = new MetaDataKey<Set<String>>() {
+
+		private static final long serialVersionUID = 1L;
+	};
+
+	/**
+	 * Gets the ids of the statements attached to the client, as supplied by the current ajax request
+	 * @param requestCycle the {@link RequestCycle}
+	 * @return the ids
+	 */
+	private static Set<String> getAttachedIds(RequestCycle requestCycle)
+	{
+		Set<String> ids = requestCycle.getMetaData(ATTACHED);
+
+		if (ids == null)
+		{
+			ids = new HashSet<String>();
+			Object request = requestCycle.getRequest();
+
+			if (request instanceof WebRequest)
+			{
+				String header = ((WebRequest) request).getHeader(ATTACHED_HEADER);
+
+				if (header != null)
+				{
+					ids.addAll(Arrays.asList(header.split(",")));
+				}
+			}
+
+			requestCycle.setMetaData(ATTACHED, ids);
+		}
+
+		return ids;
+	}
+
 	/**
 	 * Behavior name
 	 */
 	private final String name;
 
 	/**
-	 * Additional references
+	 * Additional references, null until the first one is added
 	 */
-	private final List<ResourceReference> references;
+	private List<ResourceReference> references = null;
 
 	/**
 	 * Constructor.
@@ -62,17 +114,22 @@ public abstract class JQueryAbstractBehavior extends Behavior
 	public JQueryAbstractBehavior(final String name)
 	{
 		this.name = name;
-		this.references = new ArrayList<ResourceReference>();
 	}
 
 
 	/**
-	 * Adds a reference to be added at {@link #renderHead(Component, IHeaderResponse)} time.
+	 * Adds a reference to be added at {@link #renderHead(Component, IHeaderResponse)} time.<br/>
+	 * References that are common to all instances of a behavior class should rather be declared once using {@link JQueryResourceRegistry#register(Class, ResourceReference...)}
 	 * @param reference a {@link CssResourceReference}, a {@link JavaScriptResourceReference} or a {@link JQueryPluginResourceReference}
 	 * @return true (as specified by Collection.add(E))
 	 */
 	public boolean add(ResourceReference reference)
 	{
+		if (this.references == null)
+		{
+			this.references = new ArrayList<ResourceReference>(1);
+		}
+
 		return this.references.add(reference);
 	}
 
@@ -91,48 +148,75 @@ public abstract class JQueryAbstractBehavior extends Behavior
 			settings = new JQueryLibrarySettings();
 		}
 
-		//TODO: implement this
-		//IJQueryLibrarySettings#references() ... for (ResourceReference reference : settings#references())
-		//IJQueryUILibrarySettings
-		//IKendoUILibrarySettings
-
-		// Adds jQuery UI javascript resource reference //
-		if (settings.getJQueryUIReference() != null)
+		// Adds the backing libraries resource references (ie: jQuery UI, jQuery Globalize) //
+		for (ResourceReference reference : settings.references())
 		{
-			response.render(new PriorityHeaderItem(JavaScriptHeaderItem.forReference(settings.getJQueryUIReference())));
+			response.render(JQueryResourceRegistry.getHeaderItem(reference));
 		}
-
-		// Adds jQuery Globalize javascript resource reference //
-		if (settings.getJQueryGlobalizeReference() != null)
+
+		// Adds the resource references declared for the behavior class (shared header items) //
+		for (HeaderItem item : JQueryResourceRegistry.getHeaderItems(this.getClass()))
 		{
-			response.render(new PriorityHeaderItem(JavaScriptHeaderItem.forReference(settings.getJQueryGlobalizeReference())));
+			response.render(item);
 		}
 
 		// Adds additional resource references //
-		for(ResourceReference reference : this.references)
+		if (this.references != null)
 		{
-			if (reference instanceof CssResourceReference)
+			for(ResourceReference reference : this.references)
 			{
-				response.render(new PriorityHeaderItem(CssHeaderItem.forReference(reference)));
+				if (reference instanceof CssResourceReference || reference instanceof JavaScriptResourceReference)
+				{
+					response.render(JQueryResourceRegistry.getHeaderItem(reference));
+				}
 			}
+		}
 
-			if (reference instanceof JavaScriptResourceReference)
-			{
-				response.render(new PriorityHeaderItem(JavaScriptHeaderItem.forReference(reference)));
-			}
+		// Adds the statement (to the statements block of the page or of the ajax request) //
+		if (JQueryWidget.isBulk(component))
+		{
+			JQueryStatements.addBulk(component, response, JQueryWidget.getSelector(component), this.getRenderStatement(component, response));
 		}
+		else
+		{
+			JQueryStatements.add(component, response, this.getRenderStatement(component, response));
+		}
+	}
 
-		// Adds the statement //
-		AjaxRequestTarget target = component.getRequestCycle().find(AjaxRequestTarget.class);
+	/**
+	 * Gets the statement to be rendered.<br/>
+	 * On ajax repaint, the init statement is attached to the client (see WicketJQuery.attach), so that a later repaint for which the statement is unchanged
+	 * only re-runs it by its id (see WicketJQuery.reattach) instead of sending it again.<br/>
+	 * The statement is only re-run by its id if the ajax request reports it as attached: the client supplies the ids it holds with each request,
+	 * so a response which has not been processed by the client, or a full page render, does not prevent the widget from being initialized.<br/>
+	 * The statement id is based on the widget's selector, so the widgets sharing a bulk marker (see {@link JQueryWidget#bulk(Component, String)}) render the very same statement,
+	 * as long as their init statements are identical (see {@link JQueryStatements#addBulk(Component, IHeaderResponse, String, CharSequence)}).
+	 *
+	 * @param component the {@link Component}
+	 * @param response the {@link IHeaderResponse}
+	 * @return the statement
+	 */
+	private String getRenderStatement(Component component, IHeaderResponse response)
+	{
+		final String statement = this.getInitStatement();
+		final AjaxRequestTarget target = component.getRequestCycle().find(AjaxRequestTarget.class);
 
-		if (target != null)
+		if (target == null)
 		{
-			target.appendJavaScript(this.toString());
+			return statement;
 		}
-		else
+
+		response.render(JavaScriptHeaderItem.forReference(WicketJQueryResourceReference.get()));
+
+		final String selector = JQueryWidget.isBulk(component) ? JQueryWidget.getSelector(component) : "#" + component.getMarkupId(); // '.marker' for bulk widgets
+		final String id = selector.substring(1) + "-" + Integer.toHexString(statement.hashCode());
+
+		if (JQueryAbstractBehavior.getAttachedIds(component.getRequestCycle()).contains(id))
 		{
-			response.render(JavaScriptHeaderItem.forScript(this.toString(), this.getToken()));
+			return "WicketJQuery.reattach(" + JsonWriter.quote(id) + ");";
 		}
+
+		return "WicketJQuery.attach(" + JsonWriter.quote(id) + ", " + JsonWriter.quote(selector) + ", function() { " + JQueryStatements.unwrap(statement) + " });";
 	}
 
 	/**
@@ -144,6 +228,15 @@ public abstract class JQueryAbstractBehavior extends Behavior
 		return String.format("jquery-%s-%d", this.name, this.hashCode());
 	}
 
+	/**
+	 * Gets the statement rendered at {@link #renderHead(Component, IHeaderResponse)} time. By default, this is the jQuery statement ({@link #$()}).
+	 * @return the statement
+	 */
+	protected String getInitStatement()
+	{
+		return this.$();
+	}
+
 	/**
 	 * Gets the jQuery statement.
 	 * @return Statement like 'jQuery(function() { ... })'
@@ -18,13 +18,22 @@ package com.googlecode.wicket.jquery.core;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
 
 import org.apache.wicket.Component;
 import org.apache.wicket.WicketRuntimeException;
+import org.apache.wicket.ajax.AjaxRequestTarget;
 import org.apache.wicket.markup.head.IHeaderResponse;
 import org.apache.wicket.markup.head.JavaScriptHeaderItem;
+import org.apache.wicket.util.string.Strings;
+
+import com.googlecode.wicket.jquery.core.IJQueryWidget.JQueryWidget;
+import com.googlecode.wicket.jquery.core.ajax.RateStrategy;
+import com.googlecode.wicket.jquery.core.json.JsonWriter;
+import com.googlecode.wicket.jquery.core.resource.WicketJQueryResourceReference;
 
 
 /**
@@ -43,6 +52,16 @@ public class JQueryBehavior extends JQueryAbstractBehavior
 	protected final Options options;
 
 	private List<String> events = null;
+	private List<String> delegates = null;
+	private InitStrategy initStrategy = InitStrategy.EAGER;
+	private Map<String, RateStrategy> rates = null;
+
+	/** the component the behavior is bound to */
+	private Component component = null;
+
+	/** the last rendered statement, and the options JSON it has been built from */
+	private transient String statement = null;
+	private transient String statementOptions = null;
 
 	/**
 	 * Constructor
@@ -79,24 +98,57 @@ public class JQueryBehavior extends JQueryAbstractBehavior
 	}
 
 	// Methods //
+	@Override
+	public void bind(Component component)
+	{
+		super.bind(component);
+
+		this.component = component;
+	}
+
 	@Override
 	public void renderHead(Component component, IHeaderResponse response)
 	{
+		final String destroy = this.getDestroyStatement();
+
+		if (this.initStrategy.isDeferred() || destroy != null)
+		{
+			response.render(JavaScriptHeaderItem.forReference(WicketJQueryResourceReference.get()));
+		}
+
 		super.renderHead(component, response);
 
+		// registers the widget to be destroyed on ajax replacement
+		if (destroy != null)
+		{
+			JQueryStatements.addOnce(component, response, destroy);
+		}
+
 		// renders javascript events
 		if (this.events != null)
 		{
-			StringBuilder statements = new StringBuilder("jQuery(function() { ");
+			final boolean bulk = JQueryWidget.isBulk(component);
 
 			for (String event : this.events)
 			{
-				statements.append(event);
+				if (bulk)
+				{
+					JQueryStatements.addOnce(component, response, event);
+				}
+				else
+				{
+					JQueryStatements.add(component, response, event);
+				}
 			}
+		}
 
-			statements.append(" });");
-
-			response.render(JavaScriptHeaderItem.forScript(statements, this.getToken() + "-events"));
+		// renders delegated javascript events, once per response
+		if (this.delegates != null)
+		{
+			for (String delegate : this.delegates)
+			{
+				JQueryStatements.addOnce(component, response, delegate);
+			}
 		}
 	}
 
@@ -146,6 +198,127 @@ public class JQueryBehavior extends JQueryAbstractBehavior
 		}
 	}
 
+	/**
+	 * Sets a behavior option, and pushes it to the live widget (ie: jQuery('#myId').slider('option', 'max', 100);)<br/>
+	 * The widget is updated without being re-initialized, so the component does not need to be added to the {@link AjaxRequestTarget}.<br/>
+	 * If the widget's initialization is deferred (see {@link #setInitStrategy(InitStrategy)}), the option is pushed once the widget has been initialized.
+	 * @param target the {@link AjaxRequestTarget}
+	 * @param key the option key
+	 * @param value the option value
+	 * @return the {@link JQueryBehavior} (this)
+	 */
+	public JQueryBehavior setOption(AjaxRequestTarget target, String key, Serializable value)
+	{
+		this.setOption(key, value);
+
+		target.appendJavaScript(this.getOptionStatement("'option'", Options.asString(key), value));
+
+		return this;
+	}
+
+	/**
+	 * Adds or replace behavior options, and pushes them to the live widget in a single statement (ie: jQuery('#myId').slider('option', { "min": 0, "max": 100 });)<br/>
+	 * The widget is updated without being re-initialized, so the component does not need to be added to the {@link AjaxRequestTarget}.<br/>
+	 * If the widget's initialization is deferred (see {@link #setInitStrategy(InitStrategy)}), the options are pushed once the widget has been initialized.
+	 * @param target the {@link AjaxRequestTarget}
+	 * @param options the {@link Options}
+	 */
+	public void setOptions(AjaxRequestTarget target, Options options)
+	{
+		this.setOptions(options);
+
+		target.appendJavaScript(this.getOptionStatement("'option'", options));
+	}
+
+	/**
+	 * Gets the statement invoking the widget's method on the live widget only.<br/>
+	 * A bulk widget (see {@link JQueryWidget#bulk(Component, String)}) is targeted by its markup id rather than by its marker, so that the other widgets sharing the marker are not affected,
+	 * and the statement of a deferred widget is run once the widget has been initialized (see WicketJQuery.when).
+	 * @param options the list of options to be supplied to the method
+	 * @return the statement
+	 */
+	private String getOptionStatement(Object... options)
+	{
+		final String selector = this.getWidgetSelector();
+		final String statement = JQueryBehavior.$(selector, this.method, Options.fromList(options));
+
+		if (this.initStrategy.isDeferred())
+		{
+			return "WicketJQuery.when(" + JsonWriter.quote(selector) + ", function() { " + JQueryStatements.unwrap(statement) + " });";
+		}
+
+		return statement;
+	}
+
+	/**
+	 * Gets the html selector matching this very widget: the markup id for a bulk widget, the behavior's selector otherwise
+	 * @return the html selector
+	 */
+	private String getWidgetSelector()
+	{
+		if (this.component != null && JQueryWidget.isBulk(this.component) && JQueryWidget.getSelector(this.component).equals(this.selector))
+		{
+			if (!this.component.getOutputMarkupId())
+			{
+				throw new WicketRuntimeException("The markup id of a bulk widget should be rendered (see Component#setOutputMarkupId) for its options to be pushed, component: " + this.component.getPageRelativePath());
+			}
+
+			return "#" + this.component.getMarkupId();
+		}
+
+		return this.selector;
+	}
+
+	/**
+	 * Gets the {@link InitStrategy}, which specifies when the widget is initialized on the client side
+	 * @return the {@link InitStrategy}
+	 */
+	public InitStrategy getInitStrategy()
+	{
+		return this.initStrategy;
+	}
+
+	/**
+	 * Sets the {@link InitStrategy}, which specifies when the widget is initialized on the client side
+	 * @param strategy the {@link InitStrategy}
+	 * @return the {@link JQueryBehavior} (this)
+	 */
+	public JQueryBehavior setInitStrategy(InitStrategy strategy)
+	{
+		this.initStrategy = strategy;
+
+		return this;
+	}
+
+	/**
+	 * Gets the {@link RateStrategy} of an ajax event.<br/>
+	 * Behaviors calling back the server on high-frequency events (ie: slider change, droppable over/out, resize) supply it to the callback function of the event.
+	 * @param event the event name (ie: "change", "over")
+	 * @return the {@link RateStrategy} set by {@link #setRateStrategy(String, RateStrategy)}, or null by default, meaning that the calls are sent as they are fired
+	 */
+	protected RateStrategy getRateStrategy(String event)
+	{
+		return this.rates != null ? this.rates.get(event) : null;
+	}
+
+	/**
+	 * Sets the {@link RateStrategy} of an ajax event. This should be called before the behavior is configured.
+	 * @param event the event name (ie: "change", "over")
+	 * @param rate the {@link RateStrategy}, or null
+	 * @return the {@link JQueryBehavior} (this)
+	 */
+	public JQueryBehavior setRateStrategy(String event, RateStrategy rate)
+	{
+		if (this.rates == null)
+		{
+			this.rates = new HashMap<String, RateStrategy>(2);
+		}
+
+		this.rates.put(event, rate);
+
+		return this;
+	}
+
 	// Statements //
 	/**
 	 * Registers a jQuery event callback
@@ -170,13 +343,97 @@ public class JQueryBehavior extends JQueryAbstractBehavior
 			this.events = new ArrayList<String>();
 		}
 
-		this.events.add(String.format("jQuery('%s').on('%s', %s);", selector, event, callback));
+		this.events.add(new StringBuilder("jQuery('").append(selector).append("').on('").append(event).append("', ").append(callback).append(");").toString());
+	}
+
+	/**
+	 * Registers a delegated jQuery event callback, attached to the document (see {@link #delegate(String, String, String, String)})
+	 * @param selector the html selector of the elements the event applies to (ie: ".my-row")
+	 * @param event the jQuery event (ie: "click")
+	 * @param callback the jQuery callback
+	 */
+	protected void delegate(String selector, String event, String callback)
+	{
+		this.delegate(null, selector, event, callback);
+	}
+
+	/**
+	 * Registers a delegated jQuery event callback: the handler is attached to the container, and is triggered by the container's children matching the selector.<br/>
+	 * This should be preferred over {@link #on(String, String, String)} for repeated widgets, as all instances registering the same delegated callback share a single handler:
+	 * the statement is rendered once per response, and the handler is bound under an event namespace derived from the statement, so that it is replaced - not added again - on ajax repaint.
+	 *
+	 * @param container the html selector of the container (ie: "#myTable"), or null for the document
+	 * @param selector the html selector of the elements the event applies to (ie: ".my-row")
+	 * @param event the jQuery event(s) (ie: "click" or "mouseenter mouseleave")
+	 * @param callback the jQuery callback
+	 */
+	protected void delegate(String container, String selector, String event, String callback)
+	{
+		if (this.delegates == null)
+		{
+			this.delegates = new ArrayList<String>();
+		}
+
+		final String namespace = ".wicket-" + Integer.toHexString((container + selector + event + callback).hashCode());
+
+		StringBuilder events = new StringBuilder();
+
+		for (String name : event.trim().split("\\s+"))
+		{
+			events.append(events.length() > 0 ? " " : "").append(name).append(namespace);
+		}
+
+		StringBuilder builder = new StringBuilder("jQuery(");
+		builder.append(container != null ? "'" + container + "'" : "document");
+		builder.append(").off('").append(events).append("', '").append(selector).append("')");
+		builder.append(".on('").append(events).append("', '").append(selector).append("', ").append(callback).append(");");
+
+		this.delegates.add(builder.toString());
+	}
+
+	/**
+	 * Gets the statement registering the widget to be destroyed when it is about to be removed from the DOM, typically when the component is replaced by an ajax response.<br/>
+	 * The client then calls the widget's destroy method and unbinds its event handlers, so that the replaced widget instance does not leak.
+	 * The widget's element is marked with a data attribute holding the method, so the client only looks for the marked elements within the removed node.
+	 * @return the statement, or null if the behavior does not create a widget (no method)
+	 */
+	protected String getDestroyStatement()
+	{
+		if (this.selector == null || Strings.isEmpty(this.method))
+		{
+			return null;
+		}
+
+		return "WicketJQuery.destroyable(" + JsonWriter.quote(this.selector) + ", " + JsonWriter.quote(this.method) + ");";
+	}
+
+	@Override
+	protected String getInitStatement()
+	{
+		if (this.initStrategy.isDeferred() && this.selector != null)
+		{
+			StringBuilder builder = new StringBuilder("WicketJQuery.defer(");
+			builder.append(JsonWriter.quote(this.selector)).append(", '").append(this.initStrategy).append("', function() { ");
+			builder.append(JQueryStatements.unwrap(this.$())).append(" });");
+
+			return builder.toString();
+		}
+
+		return super.getInitStatement();
 	}
 
 	@Override
 	protected String $()
 	{
-		return JQueryBehavior.$(this.selector, this.method, this.options.toString());
+		final String json = this.options.toString(); // cached by Options until modified
+
+		if (json != this.statementOptions)
+		{
+			this.statement = JQueryBehavior.end(JQueryBehavior.begin(this.selector, this.method).append(json));
+			this.statementOptions = json;
+		}
+
+		return this.statement;
 	}
 
 	/**
@@ -210,6 +467,27 @@ public class JQueryBehavior extends JQueryAbstractBehavior
 	 */
 	private static String $(String selector, String method, String options)
 	{
-		return String.format("jQuery(function() { jQuery('%s').%s(%s); });", selector, method, options);
+		return JQueryBehavior.end(JQueryBehavior.begin(selector, method).append(options));
+	}
+
+	/**
+	 * Begins the jQuery statement, up to the method's opening parenthesis
+	 * @param selector the html selector (ie: "#myId")
+	 * @param method the jQuery method to invoke
+	 * @return the {@link StringBuilder} the options should be appended to
+	 */
+	private static StringBuilder begin(String selector, String method)
+	{
+		return new StringBuilder(128).append("jQuery(function() { jQuery('").append(selector).append("').").append(method).append('(');
+	}
+
+	/**
+	 * Ends the jQuery statement
+	 * @param builder the {@link StringBuilder} returned by {@link #begin(String, String)}
+	 * @return Statement like 'jQuery(function() { ... })'
+	 */
+	private static String end(StringBuilder builder)
+	{
+		return builder.append("); });").toString();
 	}
 }
@@ -0,0 +1,243 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.jquery.core;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.wicket.Component;
+import org.apache.wicket.MetaDataKey;
+import org.apache.wicket.WicketRuntimeException;
+import org.apache.wicket.ajax.AjaxRequestTarget;
+import org.apache.wicket.markup.head.IHeaderResponse;
+import org.apache.wicket.markup.head.JavaScriptHeaderItem;
+import org.apache.wicket.request.cycle.RequestCycle;
+
+/**
+ * Provides the script block that collects the jQuery statements of all behaviors rendered within a same header response (or {@link AjaxRequestTarget}).<br/>
+ * Statements are flushed as one ordered script, wrapped within a single DOM-ready function, instead of one script block (and one DOM-ready function) per behavior.<br/>
+ * Each statement is guarded by its own try/catch block, so that a widget failing to initialize does not prevent the next ones from being initialized (the error is logged to Wicket.Log).<br/>
+ * <br/>
+ * The block is rendered the first time a statement is added. As it is only written once all components have contributed to the header, statements which are added afterward are still part of it.
+ *
+ * @author agent
+ *
+ */
+public final class JQueryStatements implements CharSequence
+{
+	/** The script id of the statements block */
+	public static final String TOKEN = "jquery-statements";
+
+	private static final String PREFIX = "jQuery(function() { ";
+	private static final String SUFFIX = " });";
+
+	private static final String TRY = "try { ";
+	private static final String CATCH = " } catch (e) { if (window.Wicket && Wicket.Log) { Wicket.Log.error(e); } }";
+
+	private static final MetaDataKey<JQueryStatements> KEY = new MetaDataKey<JQueryStatements>() {
+
+		private static final long serialVersionUID = 1L;
+	};
+
+	/**
+	 * Adds a statement to the block of the current header response (or {@link AjaxRequestTarget}), rendering the block if it has not been rendered yet.
+	 *
+	 * @param component the {@link Component} being rendered
+	 * @param response the {@link IHeaderResponse}
+	 * @param statement the jQuery statement, like 'jQuery(function() { ... });'
+	 */
+	public static void add(Component component, IHeaderResponse response, CharSequence statement)
+	{
+		JQueryStatements.get(component, response).append(statement);
+	}
+
+	/**
+	 * Adds a statement to the block of the current header response (or {@link AjaxRequestTarget}), unless the very same statement has already been added to it.<br/>
+	 * This is used for bulk initialization, where several widgets share the same (class selector based) statement.
+	 *
+	 * @param component the {@link Component} being rendered
+	 * @param response the {@link IHeaderResponse}
+	 * @param statement the jQuery statement, like 'jQuery(function() { ... });'
+	 */
+	public static void addOnce(Component component, IHeaderResponse response, CharSequence statement)
+	{
+		JQueryStatements statements = JQueryStatements.get(component, response);
+
+		if (statements.unique == null)
+		{
+			statements.unique = new HashSet<String>();
+		}
+
+		if (statements.unique.add(statement.toString()))
+		{
+			statements.append(statement);
+		}
+	}
+
+	/**
+	 * Adds the statement of a widget marked for bulk initialization to the block of the current header response (or {@link AjaxRequestTarget}).<br/>
+	 * The statement is added once per selector: the widgets sharing a same marker should render the very same statement, which is merged.
+	 * If a widget renders a statement which differs from the one already added for its selector (ie: its options or its callback urls differ), an exception is thrown
+	 * instead of silently initializing it with the options of the first widget.
+	 *
+	 * @param component the {@link Component} being rendered
+	 * @param response the {@link IHeaderResponse}
+	 * @param selector the bulk selector (ie: '.my-marker')
+	 * @param statement the jQuery statement, like 'jQuery(function() { ... });'
+	 * @throws WicketRuntimeException if a different statement has already been added for the selector
+	 */
+	public static void addBulk(Component component, IHeaderResponse response, String selector, CharSequence statement)
+	{
+		JQueryStatements statements = JQueryStatements.get(component, response);
+
+		if (statements.bulk == null)
+		{
+			statements.bulk = new HashMap<String, String>();
+		}
+
+		final String value = statement.toString();
+		final String previous = statements.bulk.get(selector);
+
+		if (previous == null)
+		{
+			statements.bulk.put(selector, value);
+			statements.append(value);
+		}
+		else if (!previous.equals(value))
+		{
+			throw new WicketRuntimeException(String.format("The widgets sharing the bulk selector '%s' render different statements (ie: different options or ajax callbacks), component: %s", selector, component.getPageRelativePath()));
+		}
+	}
+
+	/**
+	 * Gets the block of the current header response (or {@link AjaxRequestTarget}), rendering it if it has not been rendered yet.
+	 *
+	 * @param component the {@link Component} being rendered
+	 * @param response the {@link IHeaderResponse}
+	 * @return the {@link JQueryStatements}
+	 */
+	private static JQueryStatements get(Component component, IHeaderResponse response)
+	{
+		RequestCycle requestCycle = component.getRequestCycle();
+		AjaxRequestTarget target = requestCycle.find(AjaxRequestTarget.class);
+		Object owner = (target != null) ? target : response;
+
+		JQueryStatements statements = requestCycle.getMetaData(KEY);
+
+		if (statements == null || statements.owner != owner)
+		{
+			statements = new JQueryStatements(owner);
+			requestCycle.setMetaData(KEY, statements);
+
+			if (target != null)
+			{
+				target.appendJavaScript(statements);
+			}
+			else
+			{
+				response.render(JavaScriptHeaderItem.forScript(statements, TOKEN));
+			}
+		}
+
+		return statements;
+	}
+
+
+	/** the header response or the ajax request target the block has been rendered to */
+	private final Object owner;
+
+	/** the block, without its suffix */
+	private final StringBuilder builder;
+
+	/** the statements added by {@link #addOnce(Component, IHeaderResponse, CharSequence)} */
+	private Set<String> unique = null;
+
+	/** the statements added by {@link #addBulk(Component, IHeaderResponse, String, CharSequence)}, per selector */
+	private Map<String, String> bulk = null;
+
+	/**
+	 * Constructor
+	 * @param owner the header response or the ajax request target the block is rendered to
+	 */
+	private JQueryStatements(Object owner)
+	{
+		this.owner = owner;
+		this.builder = new StringBuilder(1024).append(PREFIX);
+	}
+
+	/**
+	 * Appends a statement to the block, within its own try/catch block. The statement's own DOM-ready function, if any, is removed
+	 * @param statement the jQuery statement
+	 */
+	private void append(CharSequence statement)
+	{
+		final String value = JQueryStatements.unwrap(statement.toString());
+
+		this.builder.append(TRY).append(value);
+
+		if (!value.endsWith(";"))
+		{
+			this.builder.append(';');
+		}
+
+		this.builder.append(CATCH).append('\n');
+	}
+
+	/**
+	 * Gets the body of a statement which consists of a single DOM-ready function, like 'jQuery(function() { ... });'
+	 * @param statement the statement
+	 * @return the body of the DOM-ready function, or the statement itself if it is not of this form
+	 */
+	static String unwrap(String statement)
+	{
+		if (statement.startsWith(PREFIX) && statement.endsWith(SUFFIX) && statement.indexOf(PREFIX, PREFIX.length()) < 0)
+		{
+			return statement.substring(PREFIX.length(), statement.length() - SUFFIX.length());
+		}
+
+		return statement;
+	}
+
+	// CharSequence //
+	@Override
+	public int length()
+	{
+		return this.builder.length() + SUFFIX.length();
+	}
+
+	@Override
+	public char charAt(int index)
+	{
+		final int length = this.builder.length();
+
+		return index < length ? this.builder.charAt(index) : SUFFIX.charAt(index - length);
+	}
+
+	@Override
+	public CharSequence subSequence(int start, int end)
+	{
+		return this.toString().subSequence(start, end);
+	}
+
+	@Override
+	public String toString()
+	{
+		return new StringBuilder(this.length()).append(this.builder).append(SUFFIX).toString();
+	}
+}
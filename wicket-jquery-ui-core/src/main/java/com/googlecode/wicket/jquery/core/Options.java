@@ -16,21 +16,29 @@
  */
 package com.googlecode.wicket.jquery.core;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
-import java.text.DateFormat;
-import java.text.SimpleDateFormat;
 import java.util.Collections;
 import java.util.Date;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 
+import org.apache.wicket.WicketRuntimeException;
 import org.apache.wicket.util.io.IClusterable;
 
+import com.googlecode.wicket.jquery.core.json.IJsonValueCodec;
+import com.googlecode.wicket.jquery.core.json.JsonLiteral;
+import com.googlecode.wicket.jquery.core.json.JsonValueCodec;
+import com.googlecode.wicket.jquery.core.json.JsonWriter;
+
 /**
  * Provides a wrapper on a {@link Map} that will contains jQuery behavior options (key/value).<br/>
- * the {@link #toString()} methods returns the JSON representation of the options.
+ * the {@link #toString()} methods returns the JSON representation of the options.<br/>
+ * <b>Note:</b> option values are javascript expressions, they are written as is. Use {@link #asString(String)} to supply a string value.
  *
  * @author Sebastien Briquet - sebfz1
  *
@@ -38,6 +46,32 @@ import org.apache.wicket.util.io.IClusterable;
 public class Options implements IClusterable
 {
 	private static final long serialVersionUID = 1L;
+	private static final String FROZEN = "Options are frozen and cannot be modified (use new Options(options) to get a modifiable copy)";
+
+	/**
+	 * Codec that writes option values as javascript expressions
+	 */
+	private static final IJsonValueCodec CODEC = new JsonValueCodec() {
+
+		@Override
+		public void encode(JsonWriter writer, Object value)
+		{
+			if (value instanceof Options)
+			{
+				writer.raw(value.toString());
+			}
+			else
+			{
+				super.encode(writer, value);
+			}
+		}
+
+		@Override
+		protected void encodeObject(JsonWriter writer, Object value)
+		{
+			writer.raw(value instanceof CharSequence ? (CharSequence) value : value.toString());
+		}
+	};
 
 	/**
 	 * Converts a string representation of an object to its javascript representation. ie: "myvalue" (with the double quotes)
@@ -50,13 +84,13 @@ public class Options implements IClusterable
 	}
 
 	/**
-	 * Converts a string to its javascript representation. ie: "myvalue" (with the double quotes)
+	 * Converts a string to its escaped javascript representation. ie: "myvalue" (with the double quotes)
 	 * @param value the object
 	 * @return the JSON value
 	 */
 	public static String asString(String value)
 	{
-		return String.format("\"%s\"", value);
+		return JsonWriter.quote(value);
 	}
 
 	/**
@@ -66,8 +100,7 @@ public class Options implements IClusterable
 	 */
 	public static String asDate(Date date)
 	{
-		DateFormat df = new SimpleDateFormat("yyyy-MM-dd'T'HH:mmZ");
-		return Options.asString(df.format(date));
+		return Options.asString(JsonWriter.format(date));
 	}
 
 	/**
@@ -93,14 +126,30 @@ public class Options implements IClusterable
 	}
 
 
-	private final Map<String, Serializable> map;
+	// fields are transient: they are written by #writeObject(ObjectOutputStream) //
+
+	/** the options map. It may be shared with a frozen {@link Options} until the first modification (copy-on-write) */
+	private transient Map<String, Serializable> map;
+
+	/** indicates whether the map is shared and should be copied before being modified */
+	private transient boolean shared;
+
+	/** indicates whether this {@link Options} is read-only */
+	private transient boolean frozen = false;
+
+	/** the number of modifications */
+	private transient int version = 0;
+
+	/** the cached JSON representation, null if not (yet) serialized */
+	private transient String json = null;
 
 	/**
 	 * Constructor.
 	 */
 	public Options()
 	{
-		this.map = new HashMap<String, Serializable>();
+		this.map = Collections.emptyMap();
+		this.shared = true;
 	}
 
 	/**
@@ -115,6 +164,36 @@ public class Options implements IClusterable
 		this.set(key, value);
 	}
 
+	/**
+	 * Copy constructor.<br/>
+	 * If the supplied {@link Options} is frozen (see {@link #freeze()}), its entries are shared until this {@link Options} is modified.
+	 * This is the preferred way to use class-level default options, ie:
+	 * <pre>
+	 * private static final Options DEFAULTS = new Options("key", "value").freeze();
+	 *
+	 * public MyWidget(String id)
+	 * {
+	 *     this(id, new Options(DEFAULTS));
+	 * }
+	 * </pre>
+	 *
+	 * @param options the {@link Options} to copy
+	 */
+	public Options(Options options)
+	{
+		if (options.frozen)
+		{
+			this.map = options.map;
+			this.shared = true;
+			this.json = options.json;
+		}
+		else
+		{
+			this.map = new LinkedHashMap<String, Serializable>(options.map);
+			this.shared = false;
+		}
+	}
+
 	/**
 	 * Returns the value to which the specified key is mapped, or null if this map contains no mapping for the key.
 	 * @param key the key whose associated value is to be returned
@@ -127,14 +206,34 @@ public class Options implements IClusterable
 
 	/**
 	 * Adds or replace an options defined by a key/value pair.<br/>
-	 * If for a given key, the value is null, then the pair is removed.
+	 * If for a given key, the value is null, then the pair is removed.<br/>
+	 * If the value is equal to the current one, the {@link Options} is left unchanged (its version is not incremented).
 	 *
 	 * @param key - key with which the specified value is to be associated
 	 * @param value - value to be associated with the specified key
 	 * @return this
+	 * @throws WicketRuntimeException if the {@link Options} is frozen
 	 */
 	public Options set(String key, Serializable value)
 	{
+		Serializable current = this.map.get(key);
+
+		if (value == null ? (current == null) : (value.equals(current) && !Options.isMutable(value)))
+		{
+			return this; // unchanged
+		}
+
+		if (this.frozen)
+		{
+			throw new WicketRuntimeException(FROZEN);
+		}
+
+		if (this.shared)
+		{
+			this.map = new LinkedHashMap<String, Serializable>(this.map);
+			this.shared = false;
+		}
+
 		if (value != null)
 		{
 			this.map.put(key, value);
@@ -144,6 +243,9 @@ public class Options implements IClusterable
 			this.map.remove(key);
 		}
 
+		this.version++;
+		this.json = null;
+
 		return this;
 	}
 
@@ -156,21 +258,164 @@ public class Options implements IClusterable
 		return Collections.unmodifiableSet(this.map.entrySet());
 	}
 
+	/**
+	 * Gets the version of this {@link Options}, which is incremented each time an option is actually changed
+	 * @return the version
+	 */
+	public int getVersion()
+	{
+		return this.version;
+	}
+
+	/**
+	 * Indicates whether this {@link Options} is read-only
+	 * @return true if frozen
+	 */
+	public boolean isFrozen()
+	{
+		return this.frozen;
+	}
+
+	/**
+	 * Makes this {@link Options} read-only, and pre-serializes its JSON representation.<br/>
+	 * A frozen {@link Options} can safely be shared (ie: as a static field) and be supplied to {@link #Options(Options)}
+	 * @return this
+	 */
+	public Options freeze()
+	{
+		this.frozen = true;
+		this.toString(); // pre-serializes
+
+		return this;
+	}
+
+	/**
+	 * Writes the JSON representation of the Options to the supplied {@link Appendable}
+	 * @param out the {@link Appendable}, ie: a {@link StringBuilder}
+	 */
+	public void appendTo(Appendable out)
+	{
+		this.write(new JsonWriter(out, CODEC));
+	}
+
+	/**
+	 * Writes the JSON representation of the Options to the supplied {@link JsonWriter}
+	 * @param writer the {@link JsonWriter}
+	 */
+	public void write(JsonWriter writer)
+	{
+		writer.raw(this.toString());
+	}
+
 	/**
 	 * Gets the JSON representation of the Options<br/>
+	 * The result is cached until the next modification, unless a value is mutable (ie: a nested {@link Options} that is not frozen).
+	 * The values are checked each time the JSON is built, so that a nested {@link Options} frozen in the meantime no longer prevents the result from being cached.
 	 */
 	@Override
 	public String toString()
 	{
-		StringBuilder builder = new StringBuilder("{");
+		String json = this.json;
+
+		if (json == null)
+		{
+			StringBuilder builder = new StringBuilder(16 * (this.map.size() + 1));
+			JsonWriter writer = new JsonWriter(builder, CODEC).beginObject();
+			boolean mutable = false;
+
+			for (Entry<String, Serializable> entry : this.map.entrySet())
+			{
+				writer.name(entry.getKey());
+				CODEC.encode(writer, entry.getValue());
+
+				mutable |= Options.isMutable(entry.getValue());
+			}
+
+			writer.endObject();
+			json = builder.toString();
+
+			if (!mutable)
+			{
+				this.json = json;
+			}
+		}
+
+		return json;
+	}
+
+	// Serialization //
+	/**
+	 * Writes the options as a compact sequence of key/value pairs, rather than serializing the underlying {@link Map}
+	 * @param out the {@link ObjectOutputStream}
+	 * @throws IOException if an I/O error occurs
+	 */
+	private void writeObject(ObjectOutputStream out) throws IOException
+	{
+		out.defaultWriteObject();
+
+		out.writeBoolean(this.frozen);
+		out.writeInt(this.version);
+		out.writeInt(this.map.size());
 
-		int i = 0;
 		for (Entry<String, Serializable> entry : this.map.entrySet())
 		{
-			if (i++ > 0) { builder.append(", "); }
-			builder.append("\"").append(entry.getKey()).append("\": ").append(entry.getValue());
+			out.writeUTF(entry.getKey());
+			out.writeObject(entry.getValue());
+		}
+	}
+
+	/**
+	 * Reads the options written by {@link #writeObject(ObjectOutputStream)}. Keys are interned, so that deserialized pages share the same key instances.
+	 * @param in the {@link ObjectInputStream}
+	 * @throws IOException if an I/O error occurs
+	 * @throws ClassNotFoundException if the class of a value cannot be found
+	 */
+	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException
+	{
+		in.defaultReadObject();
+
+		this.frozen = in.readBoolean();
+		this.version = in.readInt();
+
+		final int size = in.readInt();
+
+		if (size == 0)
+		{
+			this.map = Collections.emptyMap();
+			this.shared = true;
+		}
+		else
+		{
+			this.map = new LinkedHashMap<String, Serializable>((size * 4 / 3) + 1);
+			this.shared = false;
+
+			for (int i = 0; i < size; i++)
+			{
+				final String key = in.readUTF().intern();
+				final Serializable value = (Serializable) in.readObject();
+
+				this.map.put(key, value);
+			}
+		}
+	}
+
+	/**
+	 * Indicates whether the value can be modified without the {@link Options} being notified
+	 * @param value the value
+	 * @return false if the value is immutable
+	 */
+	private static boolean isMutable(Serializable value)
+	{
+		if (value == null || value instanceof String || value instanceof Number || value instanceof Boolean || value instanceof Character || value instanceof JsonLiteral)
+		{
+			return false;
+		}
+
+		if (value instanceof Options)
+		{
+			return !((Options) value).isFrozen();
 		}
 
-		return builder.append("}").toString();
+		return true;
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,256 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.jquery.core.ajax;
+
+import java.util.Iterator;
+
+import org.apache.wicket.Component;
+import org.apache.wicket.Page;
+import org.apache.wicket.WicketRuntimeException;
+import org.apache.wicket.ajax.AbstractDefaultAjaxBehavior;
+import org.apache.wicket.ajax.AjaxRequestTarget;
+import org.apache.wicket.ajax.attributes.AjaxRequestAttributes;
+import org.apache.wicket.ajax.attributes.AjaxRequestAttributes.Method;
+import org.apache.wicket.ajax.json.JSONArray;
+import org.apache.wicket.ajax.json.JSONException;
+import org.apache.wicket.ajax.json.JSONObject;
+import org.apache.wicket.behavior.Behavior;
+import org.apache.wicket.behavior.IBehaviorListener;
+import org.apache.wicket.behavior.InvalidBehaviorIdException;
+import org.apache.wicket.markup.head.IHeaderResponse;
+import org.apache.wicket.markup.head.JavaScriptHeaderItem;
+import org.apache.wicket.request.Request;
+import org.apache.wicket.request.Url;
+import org.apache.wicket.request.cycle.RequestCycle;
+import org.apache.wicket.util.lang.Args;
+import org.apache.wicket.util.time.Duration;
+
+import com.googlecode.wicket.jquery.core.resource.WicketJQueryResourceReference;
+import com.googlecode.wicket.jquery.core.utils.RequestCycleUtils;
+
+/**
+ * Provides the page behavior which enables the batching of {@link JQueryAjaxBehavior} callbacks.<br/>
+ * Once added to the page, the callbacks fired within a small delay (ie: a slider change, a spinner change and a selectable stop) are queued on the client side
+ * and sent in a single request. The server then dispatches them in order, within the same request cycle, so that there are less round trips and less requests
+ * waiting for the page lock.
+ *
+ * <pre>
+ * public MyPage()
+ * {
+ *     this.add(new JQueryAjaxBatchBehavior());
+ * }
+ * </pre>
+ *
+ * A callback which is fired alone within the delay is sent as usual.<br/>
+ * <b>Note:</b> a batched call is sent with the attributes of the batch request, so the attributes specific to a callback (channel, handlers, ...) do not apply.
+ * Its parameters - including the dynamic extra parameters and the serialized form (component) - are however supplied as if the call was not batched.
+ * A {@link JQueryAjaxBehavior} can be excluded from the batches by overriding {@link JQueryAjaxBehavior#isBatchEnabled()}.
+ *
+ * @author agent
+ *
+ */
+public class JQueryAjaxBatchBehavior extends AbstractDefaultAjaxBehavior
+{
+	private static final long serialVersionUID = 1L;
+
+	/** The name of the request parameter holding the batched calls */
+	public static final String BATCH = "_b";
+
+	/** The default delay the calls are queued for */
+	public static final Duration DEFAULT_DELAY = Duration.milliseconds(10);
+
+	/**
+	 * Gets the {@link JQueryAjaxBatchBehavior} of the page
+	 * @param page the {@link Page}
+	 * @return the {@link JQueryAjaxBatchBehavior}, or null if batching is not enabled for the page
+	 */
+	public static JQueryAjaxBatchBehavior get(Page page)
+	{
+		Iterator<JQueryAjaxBatchBehavior> iterator = page.getBehaviors(JQueryAjaxBatchBehavior.class).iterator();
+
+		return iterator.hasNext() ? iterator.next() : null;
+	}
+
+	/**
+	 * Gets the key identifying a callback within a batch request
+	 * @param component the {@link Component} the behavior is bound to
+	 * @param behavior the {@link JQueryAjaxBehavior}
+	 * @return the key (the page relative path of the component, and the behavior id)
+	 */
+	static String getKey(Component component, JQueryAjaxBehavior behavior)
+	{
+		return component.getPageRelativePath() + ":" + component.getBehaviorId(behavior);
+	}
+
+	private final Duration delay;
+
+	/**
+	 * Constructor, using the {@link #DEFAULT_DELAY}
+	 */
+	public JQueryAjaxBatchBehavior()
+	{
+		this(DEFAULT_DELAY);
+	}
+
+	/**
+	 * Constructor
+	 * @param delay the {@link Duration} the calls are queued for, before being sent
+	 */
+	public JQueryAjaxBatchBehavior(Duration delay)
+	{
+		this.delay = Args.notNull(delay, "delay");
+	}
+
+	// Methods //
+	@Override
+	protected void onBind()
+	{
+		super.onBind();
+
+		if (!(this.getComponent() instanceof Page))
+		{
+			throw new WicketRuntimeException("JQueryAjaxBatchBehavior can only be added to a Page");
+		}
+	}
+
+	@Override
+	public void renderHead(Component component, IHeaderResponse response)
+	{
+		super.renderHead(component, response);
+
+		response.render(JavaScriptHeaderItem.forReference(WicketJQueryResourceReference.get()));
+		response.render(JavaScriptHeaderItem.forScript("WicketJQuery.batch(" + this.renderAjaxAttributes(component) + ", " + this.delay.getMilliseconds() + ");", "jquery-batch"));
+	}
+
+	@Override
+	protected void updateAjaxAttributes(AjaxRequestAttributes attributes)
+	{
+		super.updateAjaxAttributes(attributes);
+
+		attributes.setMethod(Method.POST); // the batch may be too large for a query string
+	}
+
+	// Events //
+	@Override
+	protected void respond(AjaxRequestTarget target)
+	{
+		final String value = RequestCycleUtils.getRequestParameterValue(BATCH).toString();
+
+		if (value == null)
+		{
+			return;
+		}
+
+		final Page page = (Page) this.getComponent();
+		final RequestCycle requestCycle = RequestCycle.get();
+		final Request request = requestCycle.getRequest();
+
+		try
+		{
+			JSONArray calls = new JSONArray(value);
+
+			for (int i = 0; i < calls.length(); i++)
+			{
+				JSONObject call = calls.getJSONObject(i);
+				JQueryAjaxBehavior behavior = this.getBehavior(page, call.getString("k"));
+
+				if (behavior != null)
+				{
+					// the event parameters of the call are supplied as query parameters, as if the call was not batched
+					requestCycle.setRequest(request.cloneWithUrl(this.newUrl(request.getUrl(), call.optJSONArray("p"))));
+					behavior.respond(target);
+				}
+			}
+		}
+		catch (JSONException e)
+		{
+			throw new WicketRuntimeException(e);
+		}
+		finally
+		{
+			requestCycle.setRequest(request);
+		}
+	}
+
+	/**
+	 * Gets the {@link JQueryAjaxBehavior} identified by a key
+	 * @param page the {@link Page}
+	 * @param key the key, as returned by {@link #getKey(Component, JQueryAjaxBehavior)}
+	 * @return the {@link JQueryAjaxBehavior}, or null if it is not found or if its component or itself cannot currently be called
+	 */
+	private JQueryAjaxBehavior getBehavior(Page page, String key)
+	{
+		final int index = key.lastIndexOf(':');
+
+		if (index < 0)
+		{
+			return null;
+		}
+
+		final Component component = page.get(key.substring(0, index));
+
+		if (component == null)
+		{
+			return null;
+		}
+
+		try
+		{
+			Behavior behavior = component.getBehaviorById(Integer.parseInt(key.substring(index + 1)));
+
+			// same check as the one performed when the behavior is called directly (see RequestListenerInterface#invoke)
+			if (behavior instanceof JQueryAjaxBehavior && behavior.canCallListenerInterface(component, IBehaviorListener.INTERFACE.getMethod()))
+			{
+				return (JQueryAjaxBehavior) behavior;
+			}
+		}
+		catch (NumberFormatException e)
+		{
+			// invalid key
+		}
+		catch (InvalidBehaviorIdException e)
+		{
+			// the behavior has been removed
+		}
+
+		return null;
+	}
+
+	/**
+	 * Gets a copy of the request url, with the parameters of a batched call as query parameters
+	 * @param url the request {@link Url}
+	 * @param parameters the parameters of the call, as an array of {name, value}
+	 * @return the new {@link Url}
+	 * @throws JSONException if a parameter cannot be read
+	 */
+	private Url newUrl(Url url, JSONArray parameters) throws JSONException
+	{
+		Url newUrl = new Url(url);
+		newUrl.getQueryParameters().clear();
+
+		if (parameters != null)
+		{
+			for (int i = 0; i < parameters.length(); i++)
+			{
+				JSONObject parameter = parameters.getJSONObject(i);
+				newUrl.addQueryParameter(parameter.getString("name"), parameter.getString("value"));
+			}
+		}
+
+		return newUrl;
+	}
+}
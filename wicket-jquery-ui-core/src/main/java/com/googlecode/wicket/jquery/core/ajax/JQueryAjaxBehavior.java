@@ -16,16 +16,25 @@
  */
 package com.googlecode.wicket.jquery.core.ajax;
 
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.wicket.Component;
+import org.apache.wicket.Page;
 import org.apache.wicket.ajax.AbstractDefaultAjaxBehavior;
 import org.apache.wicket.ajax.AjaxRequestTarget;
 import org.apache.wicket.ajax.attributes.AjaxRequestAttributes;
 import org.apache.wicket.ajax.attributes.CallbackParameter;
 import org.apache.wicket.ajax.attributes.ThrottlingSettings;
 import org.apache.wicket.behavior.Behavior;
+import org.apache.wicket.markup.head.IHeaderResponse;
+import org.apache.wicket.markup.head.JavaScriptHeaderItem;
 import org.apache.wicket.util.time.Duration;
 
 import com.googlecode.wicket.jquery.core.JQueryBehavior;
 import com.googlecode.wicket.jquery.core.JQueryEvent;
+import com.googlecode.wicket.jquery.core.json.JsonWriter;
+import com.googlecode.wicket.jquery.core.resource.WicketJQueryResourceReference;
 
 /**
  * Base class for implementing AJAX GET calls to a {@link IJQueryAjaxAware} source, which is usually a {@link JQueryBehavior}<br />
@@ -139,8 +148,11 @@ public abstract class JQueryAjaxBehavior extends AbstractDefaultAjaxBehavior
 {
 	private static final long serialVersionUID = 1L;
 
+	/** whether a behavior class overrides {@link #getCallbackFunctionBody(CallbackParameter...)}, per class */
+	private static final ConcurrentMap<Class<?>, Boolean> BODY_OVERRIDES = new ConcurrentHashMap<Class<?>, Boolean>();
+
 	private final IJQueryAjaxAware source;
-	private final Duration duration;
+	private RateStrategy rate; // null if none
 
 
 	/**
@@ -155,12 +167,13 @@ public abstract class JQueryAjaxBehavior extends AbstractDefaultAjaxBehavior
 	/**
 	 * Constructor
 	 * @param source {@link Behavior} to which the event - returned by {@link #newEvent()} - will be broadcasted.
-	 * @param duration {@link Duration}. If different than {@link Duration#NONE}, an {@link ThrottlingSettings} will be added with the specified {@link Duration}.
+	 * @param duration {@link Duration}. If different than {@link Duration#NONE}, an {@link ThrottlingSettings} will be added with the specified {@link Duration} (see {@link RateStrategy#throttle(Duration)}).<br/>
+	 * Other strategies can be set using {@link #setRateStrategy(RateStrategy)}
 	 */
 	public JQueryAjaxBehavior(IJQueryAjaxAware source, Duration duration)
 	{
 		this.source = source;
-		this.duration = duration;
+		this.rate = duration == null || Duration.NONE.equals(duration) ? null : RateStrategy.throttle(duration);
 	}
 
 	@Override
@@ -179,18 +192,81 @@ public abstract class JQueryAjaxBehavior extends AbstractDefaultAjaxBehavior
 	protected abstract JQueryEvent newEvent();
 
 
+	@Override
+	public void renderHead(Component component, IHeaderResponse response)
+	{
+		super.renderHead(component, response);
+
+		response.render(JavaScriptHeaderItem.forReference(WicketJQueryResourceReference.get())); // callback dispatcher
+	}
+
 	// wicket 6.x //
 	@Override
 	protected void updateAjaxAttributes(AjaxRequestAttributes attributes)
 	{
 		super.updateAjaxAttributes(attributes);
 
-		if (this.duration != Duration.NONE)
+		if (this.rate != null)
 		{
-			attributes.setThrottlingSettings(new ThrottlingSettings("jquery-throttle", this.duration));
+			this.rate.apply(attributes, this.getRateId());
 		}
 	}
 
+	// Properties //
+	/**
+	 * Gets the {@link RateStrategy} of the calls
+	 * @return the {@link RateStrategy}, or null if none
+	 */
+	public RateStrategy getRateStrategy()
+	{
+		return this.rate;
+	}
+
+	/**
+	 * Sets the {@link RateStrategy} of the calls
+	 * @param rate the {@link RateStrategy}, or null
+	 * @return the {@link JQueryAjaxBehavior} (this)
+	 */
+	public JQueryAjaxBehavior setRateStrategy(RateStrategy rate)
+	{
+		this.rate = rate;
+
+		return this;
+	}
+
+	/**
+	 * Gets the identifier of the throttling settings or of the channel used by the {@link RateStrategy}, which is unique for this behavior
+	 * @return the identifier
+	 */
+	private String getRateId()
+	{
+		return this.getRateId(null);
+	}
+
+	/**
+	 * Gets the identifier of the throttling settings or of the channel used by the {@link RateStrategy}, which is unique for this behavior and scope
+	 * @param scope the scope (ie: the event type), or null
+	 * @return the identifier
+	 */
+	private String getRateId(String scope)
+	{
+		final Component component = this.getComponent();
+		final String id = "jquery-" + component.getMarkupId() + "-" + component.getBehaviorId(this);
+
+		return scope != null ? id + "-" + scope : id;
+	}
+
+	/**
+	 * Indicates whether the calls of this behavior can be batched with other calls, if the page holds a {@link JQueryAjaxBatchBehavior}.<br/>
+	 * This should be disabled if the behavior relies on callback specific ajax attributes (channel, handlers, ...), which do not apply to a batched call.
+	 *
+	 * @return true by default
+	 */
+	protected boolean isBatchEnabled()
+	{
+		return true;
+	}
+
 	/**
 	 * Gets the {@link CallbackParameter}<code>s</code> that *may* be passed to {@link #getCallbackFunction(CallbackParameter...)}<br/>
 	 * This is a convenience method that allows to define {@link CallbackParameter}<code>s</code> before the invocation of {@link #getCallbackFunction(CallbackParameter...)}.
@@ -210,7 +286,167 @@ public abstract class JQueryAjaxBehavior extends AbstractDefaultAjaxBehavior
 	 */
 	public String getCallbackFunction()
 	{
-		return super.getCallbackFunction(this.getCallbackParameters()).toString();
+		return this.getCallbackFunction(this.getCallbackParameters()).toString();
+	}
+
+	/**
+	 * Calls {@link #getCallbackFunction(RateStrategy, CallbackParameter...)} by passing {@link CallbackParameter}<code>s</code> from {@link #getCallbackParameters()}
+	 *
+	 * @param rate the {@link RateStrategy} of this callback function, which overrides the one of the behavior (if not null)
+	 * @return the javascript function.
+	 */
+	public String getCallbackFunction(RateStrategy rate)
+	{
+		return this.getCallbackFunction(rate, this.getCallbackParameters()).toString();
+	}
+
+	@Override
+	public CharSequence getCallbackFunction(CallbackParameter... extraParameters)
+	{
+		return this.getCallbackFunction(null, extraParameters);
+	}
+
+	/**
+	 * Gets the javascript function calling back this behavior.<br/>
+	 * Rather than an inline closure, this is a call to the <code>WicketJQuery.callback</code> dispatcher (see wicket-jquery.js): only the ajax attributes
+	 * and - if any - a function returning the extra parameters are rendered, ie:
+	 * <pre>WicketJQuery.callback({"u": "./?0-1.IBehaviorListener.0-myId", "c": "myId"}, function(event, ui) { return {'index': ui.item.id}; })</pre>
+	 * If the page holds a {@link JQueryAjaxBatchBehavior}, the key identifying the behavior within a batch request is also supplied (see {@link #isBatchEnabled()}),
+	 * as well as the options of the {@link RateStrategy} if it is applied by the client.<br/>
+	 * <br/>
+	 * <b>Note:</b> As the dispatcher does not use {@link #getCallbackFunctionBody(CallbackParameter...)}, a sub-class overriding it gets Wicket's inline function instead
+	 * (see {@link AbstractDefaultAjaxBehavior#getCallbackFunction(CallbackParameter...)}), so that its body is honored. The function is then neither batched,
+	 * nor is the supplied {@link RateStrategy} applied (the behavior's one still is, see {@link #updateAjaxAttributes(AjaxRequestAttributes)}).
+	 *
+	 * @param rate the {@link RateStrategy} of this callback function, which overrides the one of the behavior (if not null)
+	 * @param extraParameters the {@link CallbackParameter}<code>s</code>
+	 * @return the javascript function.
+	 */
+	public CharSequence getCallbackFunction(RateStrategy rate, CallbackParameter... extraParameters)
+	{
+		return this.getScopedCallbackFunction(null, rate, extraParameters);
+	}
+
+	/**
+	 * Gets the javascript function calling back this behavior, which {@link RateStrategy} applies to the specified scope only
+	 *
+	 * @param scope the scope of the rate strategy (ie: the event type of a {@link JQueryAjaxDispatchBehavior}), or null for the whole behavior
+	 * @param rate the {@link RateStrategy} of this callback function, which overrides the one of the behavior (if not null)
+	 * @param extraParameters the {@link CallbackParameter}<code>s</code>
+	 * @return the javascript function.
+	 * @see #getCallbackFunction(RateStrategy, CallbackParameter...)
+	 */
+	CharSequence getScopedCallbackFunction(String scope, RateStrategy rate, CallbackParameter... extraParameters)
+	{
+		if (JQueryAjaxBehavior.isCallbackFunctionBodyOverridden(this.getClass()))
+		{
+			return super.getCallbackFunction(extraParameters);
+		}
+
+		final Component component = this.getComponent();
+		final AjaxRequestAttributes attributes = this.getAttributes();
+		attributes.setEventNames();
+
+		if (rate != null || scope != null)
+		{
+			if (this.rate != null)
+			{
+				this.rate.reset(attributes); // applied by #updateAjaxAttributes()
+			}
+
+			if (rate == null)
+			{
+				rate = this.rate;
+			}
+
+			if (rate != null)
+			{
+				rate.apply(attributes, this.getRateId(scope));
+			}
+		}
+		else
+		{
+			rate = this.rate;
+		}
+
+		StringBuilder builder = new StringBuilder(256).append("WicketJQuery.callback(");
+		builder.append(this.renderAjaxAttributes(component, attributes));
+
+		// extra parameters //
+		StringBuilder names = new StringBuilder();
+		StringBuilder params = new StringBuilder();
+
+		for (CallbackParameter parameter : extraParameters)
+		{
+			if (parameter.getFunctionParameterName() != null)
+			{
+				names.append(names.length() > 0 ? ", " : "").append(parameter.getFunctionParameterName());
+			}
+
+			if (parameter.getAjaxParameterName() != null)
+			{
+				params.append(params.length() > 0 ? ", " : "").append('\'').append(parameter.getAjaxParameterName()).append("': ").append(parameter.getAjaxParameterCode());
+			}
+		}
+
+		// client options: batch key & rate strategy //
+		final Page page = component instanceof Page ? (Page) component : component.findParent(Page.class);
+		final StringBuilder options = new StringBuilder();
+		final JsonWriter writer = new JsonWriter(options).beginObject();
+
+		if (page != null && this.isBatchEnabled() && JQueryAjaxBatchBehavior.get(page) != null)
+		{
+			writer.name("b").value(JQueryAjaxBatchBehavior.getKey(component, this));
+		}
+
+		if (rate != null)
+		{
+			rate.writeOptions(writer);
+		}
+
+		writer.endObject();
+
+		if (params.length() > 0)
+		{
+			builder.append(", function(").append(names).append(") { return {").append(params).append("}; }");
+		}
+		else if (options.length() > 2)
+		{
+			builder.append(", null");
+		}
+
+		if (options.length() > 2)
+		{
+			builder.append(", ").append(options);
+		}
+
+		return builder.append(")");
+	}
+
+	/**
+	 * Indicates whether the behavior class overrides {@link #getCallbackFunctionBody(CallbackParameter...)}
+	 * @param type the behavior class
+	 * @return true or false
+	 */
+	private static boolean isCallbackFunctionBodyOverridden(Class<?> type)
+	{
+		Boolean overridden = BODY_OVERRIDES.get(type);
+
+		if (overridden == null)
+		{
+			try
+			{
+				overridden = type.getMethod("getCallbackFunctionBody", CallbackParameter[].class).getDeclaringClass() != AbstractDefaultAjaxBehavior.class;
+			}
+			catch (NoSuchMethodException e)
+			{
+				overridden = false;
+			}
+
+			BODY_OVERRIDES.putIfAbsent(type, overridden);
+		}
+
+		return overridden;
 	}
 
 }
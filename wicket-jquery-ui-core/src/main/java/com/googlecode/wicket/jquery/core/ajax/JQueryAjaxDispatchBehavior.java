@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.jquery.core.ajax;
+
+import java.util.Arrays;
+
+import org.apache.wicket.ajax.attributes.CallbackParameter;
+import org.apache.wicket.util.time.Duration;
+
+import com.googlecode.wicket.jquery.core.JQueryBehavior;
+import com.googlecode.wicket.jquery.core.JQueryEvent;
+import com.googlecode.wicket.jquery.core.utils.RequestCycleUtils;
+
+/**
+ * Provides a single {@link JQueryAjaxBehavior} for all the events of a {@link IJQueryAjaxAware} source, which is usually a {@link JQueryBehavior}<br/>
+ * Each callback function sends the type of its event, which is used to decode the {@link JQueryEvent} to be broadcasted. This way, the component holds
+ * only one ajax behavior - and one callback url - whatever the number of events.
+ *
+ * <pre>
+ * public void bind(Component component)
+ * {
+ *     super.bind(component);
+ *
+ *     component.add(this.onEventBehavior = new JQueryAjaxDispatchBehavior(this) {
+ *
+ *         protected JQueryEvent newEvent(String type)
+ *         {
+ *             if ("start".equals(type)) { return new StartEvent(); }
+ *             if ("stop".equals(type)) { return new StopEvent(); }
+ *
+ *             return null;
+ *         }
+ *     });
+ * }
+ *
+ * public void onConfigure(Component component)
+ * {
+ *     super.onConfigure(component);
+ *
+ *     this.setOption("start", this.onEventBehavior.getCallbackFunction("start", CallbackParameter.context("event"), CallbackParameter.context("ui")));
+ *     this.setOption("stop", this.onEventBehavior.getCallbackFunction("stop", CallbackParameter.context("event"), CallbackParameter.context("ui")));
+ * }
+ * </pre>
+ *
+ * @author agent
+ *
+ */
+public abstract class JQueryAjaxDispatchBehavior extends JQueryAjaxBehavior
+{
+	private static final long serialVersionUID = 1L;
+
+	/** The name of the request parameter holding the event type */
+	public static final String TYPE = "_t";
+
+	/**
+	 * Constructor
+	 * @param source {@link IJQueryAjaxAware} to which the event - returned by {@link #newEvent(String)} - will be broadcasted.
+	 */
+	public JQueryAjaxDispatchBehavior(IJQueryAjaxAware source)
+	{
+		super(source);
+	}
+
+	/**
+	 * Constructor
+	 * @param source {@link IJQueryAjaxAware} to which the event - returned by {@link #newEvent(String)} - will be broadcasted.
+	 * @param duration {@link Duration}. If different than {@link Duration#NONE}, throttling settings will be added with the specified {@link Duration}.
+	 */
+	public JQueryAjaxDispatchBehavior(IJQueryAjaxAware source, Duration duration)
+	{
+		super(source, duration);
+	}
+
+	/**
+	 * Gets the callback function of an event type
+	 *
+	 * @param type the event type, which will be supplied to {@link #newEvent(String)}
+	 * @param parameters the {@link CallbackParameter}<code>s</code> of the function
+	 * @return the javascript function
+	 */
+	public String getCallbackFunction(String type, CallbackParameter... parameters)
+	{
+		return this.getCallbackFunction(type, null, parameters);
+	}
+
+	/**
+	 * Gets the callback function of an event type, rate-controlled by its own {@link RateStrategy}
+	 *
+	 * @param type the event type, which will be supplied to {@link #newEvent(String)}
+	 * @param rate the {@link RateStrategy} of the event type, which overrides the one of the behavior (if not null)
+	 * @param parameters the {@link CallbackParameter}<code>s</code> of the function
+	 * @return the javascript function
+	 */
+	public String getCallbackFunction(String type, RateStrategy rate, CallbackParameter... parameters)
+	{
+		CallbackParameter[] extraParameters = Arrays.copyOf(parameters, parameters.length + 1);
+		extraParameters[parameters.length] = CallbackParameter.resolved(TYPE, "'" + type + "'");
+
+		return this.getScopedCallbackFunction(type, rate, extraParameters).toString(); // the rate strategy is scoped by event type
+	}
+
+	@Override
+	protected final JQueryEvent newEvent()
+	{
+		return this.newEvent(RequestCycleUtils.getRequestParameterValue(TYPE).toString());
+	}
+
+	/**
+	 * Gets the {@link JQueryEvent} corresponding to the event type, to be broadcasted to the {@link IJQueryAjaxAware} source when the behavior will respond
+	 *
+	 * @param type the event type, as supplied to {@link #getCallbackFunction(String, CallbackParameter...)}
+	 * @return the {@link JQueryEvent}, or null if the type is unknown
+	 */
+	protected abstract JQueryEvent newEvent(String type);
+}
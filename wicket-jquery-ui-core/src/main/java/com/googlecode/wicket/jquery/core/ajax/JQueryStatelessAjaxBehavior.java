@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.jquery.core.ajax;
+
+import org.apache.wicket.Component;
+import org.apache.wicket.behavior.Behavior;
+import org.apache.wicket.util.time.Duration;
+
+/**
+ * Provides a stateless {@link JQueryAjaxBehavior}, so that the page it is bound to can remain stateless.<br/>
+ * The callback url is then a bookmarkable listener url: on callback, the page is re-created, the component is retrieved by its path and the behavior by its index.<br/>
+ * <br/>
+ * Therefore, the component and this behavior should be added in the page constructor (or in <code>onInitialize</code>) so they are re-created identically,
+ * and the {@link IJQueryAjaxAware} source should not rely on any state kept from a previous request.
+ *
+ * @author agent
+ *
+ */
+public abstract class JQueryStatelessAjaxBehavior extends JQueryAjaxBehavior
+{
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Constructor
+	 * @param source {@link Behavior} to which the event - returned by {@link #newEvent()} - will be broadcasted.
+	 */
+	public JQueryStatelessAjaxBehavior(IJQueryAjaxAware source)
+	{
+		super(source);
+	}
+
+	/**
+	 * Constructor
+	 * @param source {@link Behavior} to which the event - returned by {@link #newEvent()} - will be broadcasted.
+	 * @param duration {@link Duration}. If different than {@link Duration#NONE}, an {@link org.apache.wicket.ajax.attributes.ThrottlingSettings} will be added with the specified {@link Duration}.
+	 */
+	public JQueryStatelessAjaxBehavior(IJQueryAjaxAware source, Duration duration)
+	{
+		super(source, duration);
+	}
+
+	@Override
+	public boolean getStatelessHint(Component component)
+	{
+		return true;
+	}
+}
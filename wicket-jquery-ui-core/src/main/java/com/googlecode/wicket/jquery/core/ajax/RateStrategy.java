@@ -0,0 +1,223 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.jquery.core.ajax;
+
+import java.io.Serializable;
+
+import org.apache.wicket.ajax.AjaxChannel;
+import org.apache.wicket.ajax.attributes.AjaxRequestAttributes;
+import org.apache.wicket.ajax.attributes.ThrottlingSettings;
+import org.apache.wicket.util.lang.Args;
+import org.apache.wicket.util.time.Duration;
+
+import com.googlecode.wicket.jquery.core.json.JsonWriter;
+
+/**
+ * Specifies how the calls of a {@link JQueryAjaxBehavior} are rate-controlled, typically for high-frequency events (ie: slide, over/out, resize, keystrokes)<br/>
+ * <ul>
+ * <li>{@link #throttle(Duration)}: the last call fired within the duration is sent at the end of it (Wicket's {@link ThrottlingSettings})</li>
+ * <li>{@link #debounce(Duration)}: the last call is sent once no other call has been fired for the duration</li>
+ * <li>{@link #leading(Duration)}: the first call is sent immediately, the calls fired within the duration that follows are dropped</li>
+ * <li>{@link #latest()}: a call supersedes the pending one, and aborts the one that is in flight</li>
+ * <li>{@link #dropWhileBusy()}: a call is dropped while another call of the same behavior is in flight</li>
+ * </ul>
+ *
+ * @author agent
+ *
+ */
+public final class RateStrategy implements Serializable
+{
+	private static final long serialVersionUID = 1L;
+
+	private enum Type {
+		THROTTLE, DEBOUNCE, LEADING, LATEST, DROP_WHILE_BUSY
+	}
+
+	/**
+	 * Gets a trailing throttle strategy: the last call fired within the duration is sent at the end of it
+	 * @param duration the {@link Duration}
+	 * @return the {@link RateStrategy}
+	 */
+	public static RateStrategy throttle(Duration duration)
+	{
+		return new RateStrategy(Type.THROTTLE, Args.notNull(duration, "duration"));
+	}
+
+	/**
+	 * Gets a trailing debounce strategy: the last call is sent once no other call has been fired for the duration
+	 * @param duration the {@link Duration}
+	 * @return the {@link RateStrategy}
+	 */
+	public static RateStrategy debounce(Duration duration)
+	{
+		return new RateStrategy(Type.DEBOUNCE, Args.notNull(duration, "duration"));
+	}
+
+	/**
+	 * Gets a leading-edge throttle strategy: the first call is sent immediately, the calls fired within the duration that follows are dropped
+	 * @param duration the {@link Duration}
+	 * @return the {@link RateStrategy}
+	 */
+	public static RateStrategy leading(Duration duration)
+	{
+		return new RateStrategy(Type.LEADING, Args.notNull(duration, "duration"));
+	}
+
+	/**
+	 * Gets a latest-wins strategy: a call supersedes the pending one (dropping ajax channel), and aborts the one that is in flight.<br/>
+	 * <b>Note:</b> the abort is a client side cancellation, an aborted call which has already reached the server is still processed.
+	 * @return the {@link RateStrategy}
+	 */
+	public static RateStrategy latest()
+	{
+		return new RateStrategy(Type.LATEST, null);
+	}
+
+	/**
+	 * Gets a drop-while-busy strategy: a call is dropped while another call of the same behavior is in flight (active ajax channel)
+	 * @return the {@link RateStrategy}
+	 */
+	public static RateStrategy dropWhileBusy()
+	{
+		return new RateStrategy(Type.DROP_WHILE_BUSY, null);
+	}
+
+
+	private final Type type;
+	private final Duration duration;
+
+	/**
+	 * Private constructor
+	 * @param type the {@link Type}
+	 * @param duration the {@link Duration}, if any
+	 */
+	private RateStrategy(Type type, Duration duration)
+	{
+		this.type = type;
+		this.duration = duration;
+	}
+
+	/**
+	 * Indicates whether this strategy debounces the calls
+	 * @return true if this is a {@link #debounce(Duration)} strategy
+	 */
+	public boolean isDebounce()
+	{
+		return this.type == Type.DEBOUNCE;
+	}
+
+	/**
+	 * Gets the {@link Duration}
+	 * @return the {@link Duration}, or null for {@link #latest()} and {@link #dropWhileBusy()} strategies
+	 */
+	public Duration getDuration()
+	{
+		return this.duration;
+	}
+
+	/**
+	 * Applies the strategy to the ajax attributes. The throttling settings are replaced, and the channel is only set by channel based strategies
+	 * @param attributes the {@link AjaxRequestAttributes}
+	 * @param id the identifier of the throttling settings or of the channel (ie: unique by behavior)
+	 */
+	void apply(AjaxRequestAttributes attributes, String id)
+	{
+		switch (this.type)
+		{
+			case THROTTLE:
+				attributes.setThrottlingSettings(new ThrottlingSettings(id, this.duration, false));
+				break;
+
+			case DEBOUNCE:
+				attributes.setThrottlingSettings(new ThrottlingSettings(id, this.duration, true));
+				break;
+
+			case LATEST:
+				attributes.setThrottlingSettings(null);
+				attributes.setChannel(new AjaxChannel(id, AjaxChannel.Type.DROP));
+				break;
+
+			case DROP_WHILE_BUSY:
+				attributes.setThrottlingSettings(null);
+				attributes.setChannel(new AjaxChannel(id, AjaxChannel.Type.ACTIVE));
+				break;
+
+			default:
+				attributes.setThrottlingSettings(null);
+		}
+	}
+
+	/**
+	 * Removes the ajax attributes set by {@link #apply(AjaxRequestAttributes, String)}
+	 * @param attributes the {@link AjaxRequestAttributes}
+	 */
+	void reset(AjaxRequestAttributes attributes)
+	{
+		attributes.setThrottlingSettings(null);
+
+		if (this.type == Type.LATEST || this.type == Type.DROP_WHILE_BUSY)
+		{
+			attributes.setChannel(null);
+		}
+	}
+
+	/**
+	 * Writes the options of the strategies which are applied by the client (see WicketJQuery.callback)
+	 * @param writer the {@link JsonWriter}, within an object
+	 */
+	void writeOptions(JsonWriter writer)
+	{
+		switch (this.type)
+		{
+			case LEADING:
+				writer.name("r").value("leading").name("d").value(this.duration.getMilliseconds());
+				break;
+
+			case LATEST:
+				writer.name("r").value("latest");
+				break;
+
+			default:
+				break;
+		}
+	}
+
+	@Override
+	public boolean equals(Object object)
+	{
+		if (object instanceof RateStrategy)
+		{
+			RateStrategy strategy = (RateStrategy) object;
+
+			return this.type == strategy.type && (this.duration == null ? strategy.duration == null : this.duration.equals(strategy.duration));
+		}
+
+		return false;
+	}
+
+	@Override
+	public int hashCode()
+	{
+		return this.type.hashCode() * 31 + (this.duration != null ? this.duration.hashCode() : 0);
+	}
+
+	@Override
+	public String toString()
+	{
+		return this.duration != null ? this.type.name().toLowerCase() + "(" + this.duration + ")" : this.type.name().toLowerCase();
+	}
+}
@@ -0,0 +1,37 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.jquery.core.event;
+
+import com.googlecode.wicket.jquery.core.JQueryEvent;
+import com.googlecode.wicket.jquery.core.ajax.JQueryAjaxDispatchBehavior;
+
+/**
+ * Specifies a factory of {@link JQueryEvent}.<br/>
+ * Factories are usually registered once, in a static table indexed by event type, so that {@link JQueryAjaxDispatchBehavior#newEvent(String)} does a single lookup
+ * instead of a chain of string comparisons.
+ *
+ * @author agent
+ *
+ */
+public interface IJQueryEventFactory
+{
+	/**
+	 * Gets a new {@link JQueryEvent}, which decodes its parameters from the current request
+	 * @return the {@link JQueryEvent}
+	 */
+	JQueryEvent newEvent();
+}
@@ -0,0 +1,407 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.jquery.core.event;
+
+import java.util.Date;
+
+import org.apache.wicket.util.string.StringValue;
+import org.apache.wicket.util.string.StringValueConversionException;
+
+import com.googlecode.wicket.jquery.core.JQueryEvent;
+import com.googlecode.wicket.jquery.core.utils.RequestCycleUtils;
+
+/**
+ * Provides the typed declaration of a {@link JQueryEvent} parameter, sent by an ajax callback function.<br/>
+ * Parameters are meant to be declared once, as constants, so that their decoders are built once and reused by every request:
+ *
+ * <pre>
+ * protected static class StopEvent extends JQueryEvent
+ * {
+ *     private static final IntArrayParameter INDEXES = JQueryEventParameter.ofIntArray("indexes");
+ *
+ *     private final int[] indexes;
+ *
+ *     public StopEvent()
+ *     {
+ *         this.indexes = INDEXES.get();
+ *     }
+ * }
+ * </pre>
+ *
+ * @author agent
+ *
+ */
+public abstract class JQueryEventParameter
+{
+	private final String name;
+
+	/**
+	 * Constructor
+	 * @param name the name of the request parameter
+	 */
+	protected JQueryEventParameter(String name)
+	{
+		this.name = name;
+	}
+
+	/**
+	 * Gets the name of the request parameter
+	 * @return the name
+	 */
+	public String getName()
+	{
+		return this.name;
+	}
+
+	/**
+	 * Gets the raw value of the request parameter, whether it is a query or a post parameter
+	 * @return the {@link StringValue}
+	 */
+	public StringValue getValue()
+	{
+		return RequestCycleUtils.getRequestParameterValue(this.name);
+	}
+
+	/**
+	 * Indicates whether the request parameter has been supplied
+	 * @return true or false
+	 */
+	public boolean isPresent()
+	{
+		return !this.getValue().isNull();
+	}
+
+	@Override
+	public String toString()
+	{
+		return this.name;
+	}
+
+	// Factories //
+	/**
+	 * Declares a {@link String} parameter
+	 * @param name the name of the request parameter
+	 * @return the {@link StringParameter}
+	 */
+	public static StringParameter ofString(String name)
+	{
+		return new StringParameter(name);
+	}
+
+	/**
+	 * Declares an int parameter
+	 * @param name the name of the request parameter
+	 * @return the {@link IntParameter}
+	 */
+	public static IntParameter ofInt(String name)
+	{
+		return new IntParameter(name);
+	}
+
+	/**
+	 * Declares a long parameter
+	 * @param name the name of the request parameter
+	 * @return the {@link LongParameter}
+	 */
+	public static LongParameter ofLong(String name)
+	{
+		return new LongParameter(name);
+	}
+
+	/**
+	 * Declares a boolean parameter
+	 * @param name the name of the request parameter
+	 * @return the {@link BooleanParameter}
+	 */
+	public static BooleanParameter ofBoolean(String name)
+	{
+		return new BooleanParameter(name);
+	}
+
+	/**
+	 * Declares a {@link Date} parameter, which is sent as a number of milliseconds (ie: <code>date.getTime()</code>)
+	 * @param name the name of the request parameter
+	 * @return the {@link DateParameter}
+	 */
+	public static DateParameter ofDate(String name)
+	{
+		return new DateParameter(name);
+	}
+
+	/**
+	 * Declares an int array parameter, which is sent as a list of positive integers (ie: <code>1,2,3</code> or <code>[1,2,3]</code>)
+	 * @param name the name of the request parameter
+	 * @return the {@link IntArrayParameter}
+	 */
+	public static IntArrayParameter ofIntArray(String name)
+	{
+		return new IntArrayParameter(name);
+	}
+
+
+	// Parameter classes //
+	/**
+	 * Provides a {@link String} parameter
+	 */
+	public static final class StringParameter extends JQueryEventParameter
+	{
+		private StringParameter(String name)
+		{
+			super(name);
+		}
+
+		/**
+		 * Gets the value of the parameter
+		 * @return the value, or null if the parameter has not been supplied
+		 */
+		public String get()
+		{
+			return this.getValue().toString();
+		}
+
+		/**
+		 * Gets the value of the parameter
+		 * @param defaultValue the value to be returned if the parameter has not been supplied
+		 * @return the value
+		 */
+		public String get(String defaultValue)
+		{
+			return this.getValue().toString(defaultValue);
+		}
+	}
+
+	/**
+	 * Provides an int parameter
+	 */
+	public static final class IntParameter extends JQueryEventParameter
+	{
+		private IntParameter(String name)
+		{
+			super(name);
+		}
+
+		/**
+		 * Gets the value of the parameter
+		 * @return the value
+		 * @throws org.apache.wicket.util.string.StringValueConversionException if the parameter is missing or is not an int
+		 */
+		public int get()
+		{
+			return this.getValue().toInt();
+		}
+
+		/**
+		 * Gets the value of the parameter
+		 * @param defaultValue the value to be returned if the parameter is missing or is not an int
+		 * @return the value
+		 */
+		public int get(int defaultValue)
+		{
+			return this.getValue().toInt(defaultValue);
+		}
+	}
+
+	/**
+	 * Provides a long parameter
+	 */
+	public static final class LongParameter extends JQueryEventParameter
+	{
+		private LongParameter(String name)
+		{
+			super(name);
+		}
+
+		/**
+		 * Gets the value of the parameter
+		 * @return the value
+		 * @throws org.apache.wicket.util.string.StringValueConversionException if the parameter is missing or is not a long
+		 */
+		public long get()
+		{
+			return this.getValue().toLong();
+		}
+
+		/**
+		 * Gets the value of the parameter
+		 * @param defaultValue the value to be returned if the parameter is missing or is not a long
+		 * @return the value
+		 */
+		public long get(long defaultValue)
+		{
+			return this.getValue().toLong(defaultValue);
+		}
+	}
+
+	/**
+	 * Provides a boolean parameter
+	 */
+	public static final class BooleanParameter extends JQueryEventParameter
+	{
+		private BooleanParameter(String name)
+		{
+			super(name);
+		}
+
+		/**
+		 * Gets the value of the parameter
+		 * @return the value, false if the parameter has not been supplied
+		 * @throws org.apache.wicket.util.string.StringValueConversionException if the parameter is not a boolean
+		 */
+		public boolean get()
+		{
+			return this.getValue().toBoolean();
+		}
+
+		/**
+		 * Gets the value of the parameter
+		 * @param defaultValue the value to be returned if the parameter is missing or is not a boolean
+		 * @return the value
+		 */
+		public boolean get(boolean defaultValue)
+		{
+			return this.getValue().toBoolean(defaultValue);
+		}
+	}
+
+	/**
+	 * Provides a {@link Date} parameter, which is sent as a number of milliseconds
+	 */
+	public static final class DateParameter extends JQueryEventParameter
+	{
+		private DateParameter(String name)
+		{
+			super(name);
+		}
+
+		/**
+		 * Gets the value of the parameter
+		 * @return the value
+		 * @throws org.apache.wicket.util.string.StringValueConversionException if the parameter is missing or is not a number
+		 */
+		public Date get()
+		{
+			return new Date(this.getValue().toLong());
+		}
+
+		/**
+		 * Gets the value of the parameter, as a number of milliseconds
+		 * @return the value
+		 * @throws org.apache.wicket.util.string.StringValueConversionException if the parameter is missing or is not a number
+		 */
+		public long getTime()
+		{
+			return this.getValue().toLong();
+		}
+	}
+
+	/**
+	 * Provides an int array parameter.<br/>
+	 * The value is scanned for sequences of digits, whatever the separators are, so that both <code>1,2,3</code> and <code>[1,2,3]</code> are decoded as <code>{ 1, 2, 3 }</code>.
+	 * A sequence directly preceded by a minus sign is decoded as a negative number.
+	 */
+	public static final class IntArrayParameter extends JQueryEventParameter
+	{
+		private static final int[] EMPTY = new int[0];
+
+		private IntArrayParameter(String name)
+		{
+			super(name);
+		}
+
+		/**
+		 * Gets the value of the parameter
+		 * @return the value, or an empty array if the parameter has not been supplied
+		 * @throws StringValueConversionException if a number is out of the int range
+		 */
+		public int[] get()
+		{
+			return IntArrayParameter.parse(this.getValue().toString());
+		}
+
+		/**
+		 * Parses the (signed) sequences of digits of a value
+		 * @param value the value
+		 * @return the int array
+		 * @throws StringValueConversionException if a number is out of the int range
+		 */
+		static int[] parse(String value)
+		{
+			if (value == null || value.length() == 0)
+			{
+				return EMPTY;
+			}
+
+			final int length = value.length();
+			int[] array = new int[Math.min(16, (length + 1) / 2)];
+			int size = 0;
+
+			for (int i = 0; i < length; i++)
+			{
+				char c = value.charAt(i);
+				boolean negative = false;
+
+				if (c == '-' && i + 1 < length && IntArrayParameter.isDigit(value.charAt(i + 1)))
+				{
+					negative = true;
+					c = value.charAt(++i);
+				}
+
+				if (IntArrayParameter.isDigit(c))
+				{
+					final long limit = negative ? -(long) Integer.MIN_VALUE : Integer.MAX_VALUE;
+					long number = 0;
+
+					for (; i < length && IntArrayParameter.isDigit(c = value.charAt(i)); i++)
+					{
+						number = (number * 10) + (c - '0');
+
+						if (number > limit)
+						{
+							throw new StringValueConversionException(String.format("'%s' contains a number which is out of the int range", value));
+						}
+					}
+
+					i--; // the character following the digits may be the sign of the next number
+
+					if (size == array.length)
+					{
+						int[] grown = new int[size * 2];
+						System.arraycopy(array, 0, grown, 0, size);
+						array = grown;
+					}
+
+					array[size++] = (int) (negative ? -number : number);
+				}
+			}
+
+			if (size == array.length)
+			{
+				return array;
+			}
+
+			int[] result = new int[size];
+			System.arraycopy(array, 0, result, 0, size);
+
+			return result;
+		}
+
+		private static boolean isDigit(char c)
+		{
+			return c >= '0' && c <= '9';
+		}
+	}
+}
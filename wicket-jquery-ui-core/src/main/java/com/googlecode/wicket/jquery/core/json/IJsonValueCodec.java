@@ -0,0 +1,33 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.jquery.core.json;
+
+/**
+ * Specifies how an arbitrary value is to be written by a {@link JsonWriter} (see {@link JsonWriter#value(Object)})
+ *
+ * @author agent
+ *
+ */
+public interface IJsonValueCodec
+{
+	/**
+	 * Encodes the value to the supplied {@link JsonWriter}
+	 * @param writer the {@link JsonWriter}
+	 * @param value the value, which can be null
+	 */
+	void encode(JsonWriter writer, Object value);
+}
@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.jquery.core.json;
+
+import java.io.Serializable;
+
+/**
+ * Provides a raw javascript literal (ie: a function, a variable name, an expression), that will be written as is by the {@link JsonWriter}
+ *
+ * @author agent
+ *
+ */
+public class JsonLiteral implements CharSequence, Serializable
+{
+	private static final long serialVersionUID = 1L;
+
+	private final String value;
+
+	/**
+	 * Constructor
+	 * @param value the javascript literal
+	 */
+	public JsonLiteral(CharSequence value)
+	{
+		this.value = value.toString();
+	}
+
+	@Override
+	public int length()
+	{
+		return this.value.length();
+	}
+
+	@Override
+	public char charAt(int index)
+	{
+		return this.value.charAt(index);
+	}
+
+	@Override
+	public CharSequence subSequence(int start, int end)
+	{
+		return this.value.subSequence(start, end);
+	}
+
+	@Override
+	public int hashCode()
+	{
+		return this.value.hashCode();
+	}
+
+	@Override
+	public boolean equals(Object object)
+	{
+		return (object instanceof JsonLiteral) && this.value.equals(((JsonLiteral) object).value);
+	}
+
+	@Override
+	public String toString()
+	{
+		return this.value;
+	}
+}
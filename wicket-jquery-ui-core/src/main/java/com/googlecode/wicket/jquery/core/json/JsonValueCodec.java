@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.jquery.core.json;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * Default implementation of {@link IJsonValueCodec}<br/>
+ * <ul>
+ * <li>{@link JsonLiteral}<code>s</code> are written as is</li>
+ * <li>{@link Number}<code>s</code> and {@link Boolean}<code>s</code> are written as JSON numbers and booleans</li>
+ * <li>{@link Date}<code>s</code> are written as quoted ISO8601 strings</li>
+ * <li>{@link Collection}<code>s</code>, arrays and {@link Map}<code>s</code> are written as JSON arrays and objects</li>
+ * <li>Any other object is written as a quoted and escaped string of its textual representation</li>
+ * </ul>
+ *
+ * @author agent
+ *
+ */
+public class JsonValueCodec implements IJsonValueCodec
+{
+	private static final JsonValueCodec INSTANCE = new JsonValueCodec();
+
+	/**
+	 * Gets the default codec instance
+	 * @return the {@link JsonValueCodec}
+	 */
+	public static JsonValueCodec get()
+	{
+		return INSTANCE;
+	}
+
+	/**
+	 * Constructor
+	 */
+	protected JsonValueCodec()
+	{
+	}
+
+	@Override
+	public void encode(JsonWriter writer, Object value)
+	{
+		if (value == null || value instanceof JsonLiteral)
+		{
+			writer.raw((CharSequence) value);
+		}
+		else if (value instanceof Number)
+		{
+			writer.value((Number) value);
+		}
+		else if (value instanceof Boolean)
+		{
+			writer.value(((Boolean) value).booleanValue());
+		}
+		else if (value instanceof Date)
+		{
+			writer.value((Date) value);
+		}
+		else if (value instanceof Collection<?>)
+		{
+			writer.beginArray();
+
+			for (Object object : (Collection<?>) value)
+			{
+				writer.value(object);
+			}
+
+			writer.endArray();
+		}
+		else if (value instanceof Object[])
+		{
+			writer.beginArray();
+
+			for (Object object : (Object[]) value)
+			{
+				writer.value(object);
+			}
+
+			writer.endArray();
+		}
+		else if (value instanceof Map<?, ?>)
+		{
+			writer.beginObject();
+
+			for (Entry<?, ?> entry : ((Map<?, ?>) value).entrySet())
+			{
+				writer.name(String.valueOf(entry.getKey())).value(entry.getValue());
+			}
+
+			writer.endObject();
+		}
+		else
+		{
+			this.encodeObject(writer, value);
+		}
+	}
+
+	/**
+	 * Encodes an object that has no specific JSON representation. By default, writes its quoted textual representation
+	 * @param writer the {@link JsonWriter}
+	 * @param value the value, not null
+	 */
+	protected void encodeObject(JsonWriter writer, Object value)
+	{
+		if (value instanceof CharSequence)
+		{
+			writer.value((CharSequence) value);
+		}
+		else
+		{
+			writer.value(value.toString());
+		}
+	}
+}
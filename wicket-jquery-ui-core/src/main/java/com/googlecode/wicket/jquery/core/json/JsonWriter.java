@@ -0,0 +1,457 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.jquery.core.json;
+
+import java.io.IOException;
+import java.text.DateFormat;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+
+import org.apache.wicket.WicketRuntimeException;
+import org.apache.wicket.request.Response;
+
+/**
+ * Provides a streaming JSON writer that appends directly to an {@link Appendable} (or to a Wicket {@link Response}), without building intermediate strings.<br/>
+ * Strings are escaped so that the output can safely be embedded in a &lt;script&gt; block, and raw javascript literals can be written using {@link #raw(CharSequence)}.
+ *
+ * <pre>
+ * StringBuilder builder = new StringBuilder();
+ *
+ * new JsonWriter(builder).beginObject()
+ *     .name("title").value("my title")
+ *     .name("click").raw("function() { ... }")
+ *     .endObject();
+ * </pre>
+ *
+ * @author agent
+ *
+ */
+public class JsonWriter
+{
+	/** The ISO8601 pattern used to write dates */
+	public static final String DATE_PATTERN = "yyyy-MM-dd'T'HH:mmZ";
+
+	private static final String NULL = "null";
+	private static final String NAME_SEPARATOR = ": ";
+	private static final String VALUE_SEPARATOR = ", ";
+
+	/** Replacement table for the first 128 characters, null meaning that the character is written as is */
+	private static final String[] REPLACEMENTS = new String[128];
+
+	static
+	{
+		for (int i = 0; i < 0x20; i++)
+		{
+			REPLACEMENTS[i] = String.format("\\u%04x", i);
+		}
+
+		REPLACEMENTS['"'] = "\\\"";
+		REPLACEMENTS['\\'] = "\\\\";
+		REPLACEMENTS['\t'] = "\\t";
+		REPLACEMENTS['\b'] = "\\b";
+		REPLACEMENTS['\n'] = "\\n";
+		REPLACEMENTS['\r'] = "\\r";
+		REPLACEMENTS['\f'] = "\\f";
+
+		// html-safe: the output may be written in a script block or in a single quoted javascript string //
+		REPLACEMENTS['\''] = "\\u0027";
+		REPLACEMENTS['<'] = "\\u003c";
+		REPLACEMENTS['>'] = "\\u003e";
+		REPLACEMENTS['&'] = "\\u0026";
+	}
+
+	private static final ThreadLocal<DateFormat> DATE_FORMAT = new ThreadLocal<DateFormat>() {
+
+		@Override
+		protected DateFormat initialValue()
+		{
+			return new SimpleDateFormat(DATE_PATTERN);
+		}
+	};
+
+	/**
+	 * Escapes a character sequence so it can be written within double (or single) quotes
+	 * @param value the {@link CharSequence} to escape
+	 * @param out the {@link Appendable} the escaped sequence will be written to
+	 * @throws IOException if an I/O error occurs
+	 */
+	public static void escape(CharSequence value, Appendable out) throws IOException
+	{
+		final int length = value.length();
+		int last = 0;
+
+		for (int i = 0; i < length; i++)
+		{
+			final char c = value.charAt(i);
+			final String replacement;
+
+			if (c < 128)
+			{
+				replacement = REPLACEMENTS[c];
+			}
+			else if (c == '\u2028')
+			{
+				replacement = "\\u2028";
+			}
+			else if (c == '\u2029')
+			{
+				replacement = "\\u2029";
+			}
+			else
+			{
+				replacement = null;
+			}
+
+			if (replacement != null)
+			{
+				if (last < i)
+				{
+					out.append(value, last, i);
+				}
+
+				out.append(replacement);
+				last = i + 1;
+			}
+		}
+
+		if (last < length)
+		{
+			out.append(value, last, length);
+		}
+	}
+
+	/**
+	 * Gets the quoted and escaped JSON representation of a character sequence. ie: "my \"value\"" (with the double quotes)
+	 * @param value the {@link CharSequence}
+	 * @return the JSON string
+	 */
+	public static String quote(CharSequence value)
+	{
+		StringBuilder builder = new StringBuilder(value.length() + 2);
+		new JsonWriter(builder).value(value);
+
+		return builder.toString();
+	}
+
+	/**
+	 * Formats a date to its ISO8601 representation, using a per-thread {@link DateFormat}
+	 * @param date the {@link Date}
+	 * @return the formatted date (without quotes)
+	 */
+	public static String format(Date date)
+	{
+		return DATE_FORMAT.get().format(date);
+	}
+
+
+	private final Appendable out;
+	private final IJsonValueCodec codec;
+
+	/** indicates whether a separator should be written before the next member or element */
+	private boolean separator = false;
+
+	/**
+	 * Constructor
+	 * @param out the {@link Appendable} to write to
+	 */
+	public JsonWriter(Appendable out)
+	{
+		this(out, JsonValueCodec.get());
+	}
+
+	/**
+	 * Constructor
+	 * @param out the {@link Appendable} to write to
+	 * @param codec the {@link IJsonValueCodec} used by {@link #value(Object)}
+	 */
+	public JsonWriter(Appendable out, IJsonValueCodec codec)
+	{
+		this.out = out;
+		this.codec = codec;
+	}
+
+	/**
+	 * Constructor
+	 * @param response the {@link Response} to write to
+	 */
+	public JsonWriter(Response response)
+	{
+		this(new ResponseAppendable(response));
+	}
+
+	/**
+	 * Constructor
+	 * @param response the {@link Response} to write to
+	 * @param codec the {@link IJsonValueCodec} used by {@link #value(Object)}
+	 */
+	public JsonWriter(Response response, IJsonValueCodec codec)
+	{
+		this(new ResponseAppendable(response), codec);
+	}
+
+	// Structure //
+	/**
+	 * Begins a JSON object
+	 * @return this
+	 */
+	public JsonWriter beginObject()
+	{
+		this.separate();
+		this.append('{');
+		this.separator = false;
+
+		return this;
+	}
+
+	/**
+	 * Ends the current JSON object
+	 * @return this
+	 */
+	public JsonWriter endObject()
+	{
+		this.append('}');
+		this.separator = true;
+
+		return this;
+	}
+
+	/**
+	 * Begins a JSON array
+	 * @return this
+	 */
+	public JsonWriter beginArray()
+	{
+		this.separate();
+		this.append('[');
+		this.separator = false;
+
+		return this;
+	}
+
+	/**
+	 * Ends the current JSON array
+	 * @return this
+	 */
+	public JsonWriter endArray()
+	{
+		this.append(']');
+		this.separator = true;
+
+		return this;
+	}
+
+	/**
+	 * Writes a member name. The next call should write its value
+	 * @param name the member name
+	 * @return this
+	 */
+	public JsonWriter name(String name)
+	{
+		this.separate();
+		this.string(name);
+		this.append(NAME_SEPARATOR);
+		this.separator = false;
+
+		return this;
+	}
+
+	// Values //
+	/**
+	 * Writes a quoted and escaped string value, or null
+	 * @param value the value
+	 * @return this
+	 */
+	public JsonWriter value(CharSequence value)
+	{
+		this.separate();
+
+		if (value != null)
+		{
+			this.string(value);
+		}
+		else
+		{
+			this.append(NULL);
+		}
+
+		this.separator = true;
+
+		return this;
+	}
+
+	/**
+	 * Writes a number value, or null
+	 * @param value the value
+	 * @return this
+	 */
+	public JsonWriter value(Number value)
+	{
+		return this.raw(value != null ? value.toString() : NULL);
+	}
+
+	/**
+	 * Writes an int value
+	 * @param value the value
+	 * @return this
+	 */
+	public JsonWriter value(int value)
+	{
+		return this.raw(Integer.toString(value));
+	}
+
+	/**
+	 * Writes a long value
+	 * @param value the value
+	 * @return this
+	 */
+	public JsonWriter value(long value)
+	{
+		return this.raw(Long.toString(value));
+	}
+
+	/**
+	 * Writes a boolean value
+	 * @param value the value
+	 * @return this
+	 */
+	public JsonWriter value(boolean value)
+	{
+		return this.raw(value ? "true" : "false");
+	}
+
+	/**
+	 * Writes a quoted ISO8601 date value (see {@link #DATE_PATTERN}), or null
+	 * @param value the value
+	 * @return this
+	 */
+	public JsonWriter value(Date value)
+	{
+		return this.value(value != null ? JsonWriter.format(value) : null);
+	}
+
+	/**
+	 * Writes a value, which is encoded by the {@link IJsonValueCodec}
+	 * @param value the value
+	 * @return this
+	 */
+	public JsonWriter value(Object value)
+	{
+		this.codec.encode(this, value);
+
+		return this;
+	}
+
+	/**
+	 * Writes a raw javascript literal value, as is (ie: a function, a variable name, etc)
+	 * @param value the javascript literal
+	 * @return this
+	 */
+	public JsonWriter raw(CharSequence value)
+	{
+		this.separate();
+		this.append(value != null ? value : NULL);
+		this.separator = true;
+
+		return this;
+	}
+
+	// Helpers //
+	private void separate()
+	{
+		if (this.separator)
+		{
+			this.append(VALUE_SEPARATOR);
+			this.separator = false;
+		}
+	}
+
+	private void string(CharSequence value)
+	{
+		try
+		{
+			this.out.append('"');
+			JsonWriter.escape(value, this.out);
+			this.out.append('"');
+		}
+		catch (IOException e)
+		{
+			throw new WicketRuntimeException(e);
+		}
+	}
+
+	private void append(char c)
+	{
+		try
+		{
+			this.out.append(c);
+		}
+		catch (IOException e)
+		{
+			throw new WicketRuntimeException(e);
+		}
+	}
+
+	private void append(CharSequence value)
+	{
+		try
+		{
+			this.out.append(value);
+		}
+		catch (IOException e)
+		{
+			throw new WicketRuntimeException(e);
+		}
+	}
+
+
+	/**
+	 * Adapts a Wicket {@link Response} to an {@link Appendable}
+	 */
+	private static class ResponseAppendable implements Appendable
+	{
+		private final Response response;
+
+		public ResponseAppendable(Response response)
+		{
+			this.response = response;
+		}
+
+		@Override
+		public Appendable append(CharSequence csq)
+		{
+			this.response.write(csq);
+
+			return this;
+		}
+
+		@Override
+		public Appendable append(CharSequence csq, int start, int end)
+		{
+			this.response.write(csq.subSequence(start, end));
+
+			return this;
+		}
+
+		@Override
+		public Appendable append(char c)
+		{
+			this.response.write(String.valueOf(c));
+
+			return this;
+		}
+	}
+}
@@ -0,0 +1,40 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.jquery.core.resource;
+
+import org.apache.wicket.request.IRequestParameters;
+import org.apache.wicket.util.io.IClusterable;
+
+import com.googlecode.wicket.jquery.core.json.JsonWriter;
+
+/**
+ * Provides the data of a feed served by the {@link JQueryFeedResourceReference}, outside of the page.<br/>
+ * The feed is stored in the session and is called concurrently, without the page being locked. Thus, implementations should be thread-safe
+ * and should not hold any reference to a component or to its model (ie: should not be anonymous inner classes of a component).
+ *
+ * @author agent
+ *
+ */
+public interface IJQueryFeed extends IClusterable
+{
+	/**
+	 * Writes the JSON response of the feed
+	 * @param parameters the request (query) parameters
+	 * @param writer the {@link JsonWriter}
+	 */
+	void write(IRequestParameters parameters, JsonWriter writer);
+}
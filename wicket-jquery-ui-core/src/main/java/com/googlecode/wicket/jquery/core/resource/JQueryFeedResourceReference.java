@@ -0,0 +1,252 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.jquery.core.resource;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import org.apache.wicket.Application;
+import org.apache.wicket.MetaDataKey;
+import org.apache.wicket.Session;
+import org.apache.wicket.request.IRequestParameters;
+import org.apache.wicket.request.cycle.RequestCycle;
+import org.apache.wicket.request.mapper.parameter.PageParameters;
+import org.apache.wicket.request.resource.AbstractResource;
+import org.apache.wicket.request.resource.IResource;
+import org.apache.wicket.request.resource.ResourceReference;
+
+import com.googlecode.wicket.jquery.core.json.JsonWriter;
+
+/**
+ * Provides the resource reference that serves the {@link IJQueryFeed}<code>s</code> registered in the session.<br/>
+ * Unlike an ajax behavior, a resource request does not acquire the page lock: concurrent feed requests (ie: autocomplete keystrokes, calendar navigation) do not
+ * queue up behind each other or behind the ajax requests of the page, and the page is neither deserialized nor re-stored.
+ *
+ * <pre>
+ * String key = JQueryFeedResourceReference.register(new MyFeed()); // the feed is bound to the session
+ * CharSequence url = JQueryFeedResourceReference.getCallbackUrl(key);
+ * </pre>
+ *
+ * <b>Note:</b> the session is bound when a feed is registered, so a stateless page using a feed will create a session.<br/>
+ * The number of feeds per session is limited to {@link #MAX_FEEDS}, the least recently used ones are dropped first.
+ *
+ * @author agent
+ *
+ */
+public class JQueryFeedResourceReference extends ResourceReference
+{
+	private static final long serialVersionUID = 1L;
+
+	/** The request parameter holding the feed key */
+	public static final String KEY = "k";
+
+	/** The maximum number of feeds registered per session */
+	public static final int MAX_FEEDS = 64;
+
+	private static final MetaDataKey<FeedMap> FEEDS = new MetaDataKey<FeedMap>() {
+
+		private static final long serialVersionUID = 1L;
+	};
+
+	private static final JQueryFeedResourceReference INSTANCE = new JQueryFeedResourceReference();
+
+	/**
+	 * Gets the instance of the resource reference
+	 *
+	 * @return the single instance of the resource reference
+	 */
+	public static JQueryFeedResourceReference get()
+	{
+		return INSTANCE;
+	}
+
+	/**
+	 * Registers a feed in the current session, under a new key
+	 * @param feed the {@link IJQueryFeed}
+	 * @return the key of the feed
+	 */
+	public static String register(IJQueryFeed feed)
+	{
+		String key = UUID.randomUUID().toString();
+		JQueryFeedResourceReference.register(key, feed);
+
+		return key;
+	}
+
+	/**
+	 * Registers (or re-registers) a feed in the current session, under the specified key
+	 * @param key the key of the feed
+	 * @param feed the {@link IJQueryFeed}
+	 */
+	public static void register(String key, IJQueryFeed feed)
+	{
+		final Session session = Session.get();
+
+		if (session.isTemporary())
+		{
+			session.bind();
+		}
+
+		FeedMap feeds;
+
+		synchronized (session)
+		{
+			feeds = session.getMetaData(FEEDS);
+
+			if (feeds == null)
+			{
+				feeds = new FeedMap();
+				session.setMetaData(FEEDS, feeds);
+			}
+		}
+
+		feeds.put(key, feed);
+		session.dirty(); // the map is mutated after having been set as metadata, so the (clustered) session should be replicated again
+	}
+
+	/**
+	 * Unregisters a feed from the current session
+	 * @param key the key of the feed
+	 */
+	public static void unregister(String key)
+	{
+		if (Session.exists())
+		{
+			final Session session = Session.get();
+			final FeedMap feeds = session.getMetaData(FEEDS);
+
+			if (feeds != null)
+			{
+				feeds.remove(key);
+				session.dirty();
+			}
+		}
+	}
+
+	/**
+	 * Gets the feed registered in the current session
+	 * @param key the key of the feed
+	 * @return the {@link IJQueryFeed} or null if not found
+	 */
+	public static IJQueryFeed getFeed(String key)
+	{
+		FeedMap feeds = Session.exists() ? Session.get().getMetaData(FEEDS) : null;
+
+		return feeds != null ? feeds.get(key) : null;
+	}
+
+	/**
+	 * Gets the url of the feed registered under the specified key
+	 * @param key the key of the feed
+	 * @return the url
+	 */
+	public static CharSequence getCallbackUrl(String key)
+	{
+		return RequestCycle.get().urlFor(INSTANCE, new PageParameters().add(KEY, key));
+	}
+
+	/**
+	 * Private constructor
+	 */
+	private JQueryFeedResourceReference()
+	{
+		super(JQueryFeedResourceReference.class, "feed");
+	}
+
+	@Override
+	public IResource getResource()
+	{
+		return FeedResource.INSTANCE;
+	}
+
+
+	/**
+	 * Provides the (stateless) resource that writes the JSON response of the requested feed
+	 */
+	private static class FeedResource extends AbstractResource
+	{
+		private static final long serialVersionUID = 1L;
+		private static final FeedResource INSTANCE = new FeedResource();
+		private static final int NOT_FOUND = 404;
+
+		@Override
+		protected ResourceResponse newResourceResponse(Attributes attributes)
+		{
+			final IRequestParameters parameters = attributes.getRequest().getQueryParameters();
+			final IJQueryFeed feed = JQueryFeedResourceReference.getFeed(parameters.getParameterValue(KEY).toString());
+
+			ResourceResponse response = new ResourceResponse();
+
+			if (feed == null)
+			{
+				response.setError(NOT_FOUND); // unknown key or expired session
+				return response;
+			}
+
+			response.setContentType("text/json");
+			response.setTextEncoding(Application.get().getRequestCycleSettings().getResponseRequestEncoding());
+			response.disableCaching();
+			response.setWriteCallback(new WriteCallback() {
+
+				@Override
+				public void writeData(Attributes attributes) throws IOException
+				{
+					feed.write(parameters, new JsonWriter(attributes.getResponse()));
+				}
+			});
+
+			return response;
+		}
+	}
+
+	/**
+	 * Provides the size-bounded, least-recently-used map of the feeds of a session
+	 */
+	private static class FeedMap implements Serializable
+	{
+		private static final long serialVersionUID = 1L;
+
+		private final Map<String, IJQueryFeed> map = new LinkedHashMap<String, IJQueryFeed>(16, 0.75f, true) {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, IJQueryFeed> eldest)
+			{
+				return this.size() > MAX_FEEDS;
+			}
+		};
+
+		public synchronized IJQueryFeed get(String key)
+		{
+			return this.map.get(key);
+		}
+
+		public synchronized void put(String key, IJQueryFeed feed)
+		{
+			this.map.put(key, feed);
+		}
+
+		public synchronized void remove(String key)
+		{
+			this.map.remove(key);
+		}
+	}
+}
@@ -0,0 +1,260 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.jquery.core.resource;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.wicket.ResourceBundles;
+import org.apache.wicket.markup.head.CssHeaderItem;
+import org.apache.wicket.markup.head.HeaderItem;
+import org.apache.wicket.markup.head.JavaScriptHeaderItem;
+import org.apache.wicket.markup.head.PriorityHeaderItem;
+import org.apache.wicket.request.resource.CssResourceReference;
+import org.apache.wicket.request.resource.JavaScriptResourceReference;
+import org.apache.wicket.request.resource.ResourceReference;
+
+/**
+ * Provides the registry of the resource references declared per behavior class.<br/>
+ * References are declared once, in a static initializer, instead of being added to each behavior instance. The corresponding (priority) {@link HeaderItem}<code>s</code> are built once and shared by all instances, ie:
+ *
+ * <pre>
+ * public class MyBehavior extends JQueryBehavior
+ * {
+ *     public static final JavaScriptResourceReference MY_JS = new JavaScriptResourceReference(MyBehavior.class, "my.js");
+ *
+ *     static
+ *     {
+ *         JQueryResourceRegistry.register(MyBehavior.class, MY_JS);
+ *     }
+ *     ...
+ * }
+ * </pre>
+ *
+ * The header items of a class include the ones declared by its super-classes (rendered first).<br/>
+ * The references declared for a class can also be served as bundles, see {@link #addBundles(ResourceBundles, Class)}
+ *
+ * @author agent
+ *
+ */
+public final class JQueryResourceRegistry
+{
+	/** resource references declared per class */
+	private static final ConcurrentMap<Class<?>, List<ResourceReference>> REFERENCES = new ConcurrentHashMap<Class<?>, List<ResourceReference>>();
+
+	/** header items declared per class */
+	private static final ConcurrentMap<Class<?>, List<HeaderItem>> DECLARED = new ConcurrentHashMap<Class<?>, List<HeaderItem>>();
+
+	/** header items of a class, including the ones of its super-classes */
+	private static final ConcurrentMap<Class<?>, List<HeaderItem>> RESOLVED = new ConcurrentHashMap<Class<?>, List<HeaderItem>>();
+
+	/** header items per reference, see {@link #getHeaderItem(ResourceReference)} */
+	private static final ConcurrentMap<ResourceReference, HeaderItem> ITEMS = new ConcurrentHashMap<ResourceReference, HeaderItem>();
+
+	/**
+	 * Utility class
+	 */
+	private JQueryResourceRegistry()
+	{
+	}
+
+	/**
+	 * Declares resource references for the specified class
+	 * @param scope the class, usually a behavior class
+	 * @param references {@link CssResourceReference}<code>s</code>, {@link JavaScriptResourceReference}<code>s</code> or {@link org.apache.wicket.resource.JQueryPluginResourceReference}<code>s</code>
+	 */
+	public static synchronized void register(Class<?> scope, ResourceReference... references)
+	{
+		List<HeaderItem> declared = DECLARED.get(scope);
+		List<HeaderItem> items = declared != null ? new ArrayList<HeaderItem>(declared) : new ArrayList<HeaderItem>(references.length);
+		List<ResourceReference> list = new ArrayList<ResourceReference>(JQueryResourceRegistry.getReferences(scope));
+
+		for (ResourceReference reference : references)
+		{
+			items.add(JQueryResourceRegistry.getHeaderItem(reference));
+			list.add(reference);
+		}
+
+		DECLARED.put(scope, Collections.unmodifiableList(items));
+		REFERENCES.put(scope, Collections.unmodifiableList(list));
+		RESOLVED.clear(); // sub-classes may have been resolved already
+	}
+
+	/**
+	 * Gets the resource references declared for the specified class (not including the ones of its super-classes)
+	 * @param scope the class
+	 * @return the read-only list of {@link ResourceReference}<code>s</code>, possibly empty
+	 */
+	public static List<ResourceReference> getReferences(Class<?> scope)
+	{
+		List<ResourceReference> references = REFERENCES.get(scope);
+
+		if (references == null)
+		{
+			return Collections.emptyList();
+		}
+
+		return references;
+	}
+
+	/**
+	 * Registers the resource references declared for the specified class as bundles:
+	 * <ul>
+	 * <li>one javascript bundle, scoped to the class, for all its javascript references</li>
+	 * <li>one stylesheet bundle per scope and directory of its stylesheet references, so that their relative urls (ie: images) remain valid</li>
+	 * </ul>
+	 * A bundle is registered only if it contains at least two references. Once registered, rendering any of these references renders the bundle instead.<br/>
+	 * <br/>
+	 * <b>Note:</b> This method should be called at application's initialization time, once per class. A reference can only belong to one bundle.
+	 *
+	 * @param bundles the application's {@link ResourceBundles}
+	 * @param scope the class, usually a behavior class
+	 */
+	public static void addBundles(ResourceBundles bundles, Class<?> scope)
+	{
+		List<JavaScriptResourceReference> javascripts = new ArrayList<JavaScriptResourceReference>();
+		Map<String, List<CssResourceReference>> stylesheets = new LinkedHashMap<String, List<CssResourceReference>>();
+
+		for (ResourceReference reference : JQueryResourceRegistry.getReferences(scope))
+		{
+			if (reference instanceof JavaScriptResourceReference)
+			{
+				javascripts.add((JavaScriptResourceReference) reference);
+			}
+			else if (reference instanceof CssResourceReference)
+			{
+				String key = reference.getScope().getName() + ":" + JQueryResourceRegistry.getDirectory(reference.getName());
+				List<CssResourceReference> list = stylesheets.get(key);
+
+				if (list == null)
+				{
+					list = new ArrayList<CssResourceReference>();
+					stylesheets.put(key, list);
+				}
+
+				list.add((CssResourceReference) reference);
+			}
+		}
+
+		if (javascripts.size() > 1)
+		{
+			bundles.addJavaScriptBundle(scope, scope.getSimpleName() + ".bundle.js", javascripts.toArray(new JavaScriptResourceReference[javascripts.size()]));
+		}
+
+		for (List<CssResourceReference> list : stylesheets.values())
+		{
+			if (list.size() > 1)
+			{
+				CssResourceReference first = list.get(0);
+				String name = JQueryResourceRegistry.getDirectory(first.getName()) + scope.getSimpleName() + ".bundle.css";
+
+				bundles.addCssBundle(first.getScope(), name, list.toArray(new CssResourceReference[list.size()]));
+			}
+		}
+	}
+
+	/**
+	 * Gets the (shared) header items of the resource references declared for the specified class and its super-classes
+	 * @param type the class
+	 * @return the read-only list of {@link HeaderItem}<code>s</code>, possibly empty
+	 */
+	public static List<HeaderItem> getHeaderItems(Class<?> type)
+	{
+		List<HeaderItem> items = RESOLVED.get(type);
+
+		if (items == null)
+		{
+			items = JQueryResourceRegistry.resolve(type);
+			RESOLVED.putIfAbsent(type, items);
+		}
+
+		return items;
+	}
+
+	/**
+	 * Gets the (shared) priority header item of the specified reference. Any reference that is not a {@link CssResourceReference} is considered as a javascript reference.
+	 * @param reference a {@link CssResourceReference}, a {@link JavaScriptResourceReference} or a {@link org.apache.wicket.resource.JQueryPluginResourceReference}
+	 * @return the {@link PriorityHeaderItem}
+	 */
+	public static HeaderItem getHeaderItem(ResourceReference reference)
+	{
+		HeaderItem item = ITEMS.get(reference);
+
+		if (item == null)
+		{
+			if (reference instanceof CssResourceReference)
+			{
+				item = new PriorityHeaderItem(CssHeaderItem.forReference(reference));
+			}
+			else
+			{
+				item = new PriorityHeaderItem(JavaScriptHeaderItem.forReference(reference));
+			}
+
+			ITEMS.putIfAbsent(reference, item);
+		}
+
+		return item;
+	}
+
+	/**
+	 * Gets the directory part of a resource name
+	 * @param name the resource name (ie: "css/base.css")
+	 * @return the directory, including the trailing slash (ie: "css/"), or an empty string
+	 */
+	private static String getDirectory(String name)
+	{
+		return name.substring(0, name.lastIndexOf('/') + 1);
+	}
+
+	/**
+	 * Collects the declared header items of the class hierarchy, from the top-most class
+	 * @param type the class
+	 * @return the read-only list of {@link HeaderItem}<code>s</code>
+	 */
+	private static List<HeaderItem> resolve(Class<?> type)
+	{
+		List<HeaderItem> items = null;
+
+		for (Class<?> c = type; c != null; c = c.getSuperclass())
+		{
+			List<HeaderItem> declared = DECLARED.get(c);
+
+			if (declared != null)
+			{
+				if (items == null)
+				{
+					items = new ArrayList<HeaderItem>();
+				}
+
+				items.addAll(0, declared);
+			}
+		}
+
+		if (items == null)
+		{
+			return Collections.emptyList();
+		}
+
+		return Collections.unmodifiableList(items);
+	}
+}
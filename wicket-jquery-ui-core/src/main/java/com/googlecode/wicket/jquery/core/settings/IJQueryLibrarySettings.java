@@ -16,6 +16,8 @@
  */
 package com.googlecode.wicket.jquery.core.settings;
 
+import java.util.List;
+
 import org.apache.wicket.request.resource.ResourceReference;
 import org.apache.wicket.settings.IJavaScriptLibrarySettings;
 
@@ -54,4 +56,12 @@ public interface IJQueryLibrarySettings extends IJavaScriptLibrarySettings
 	 * @param reference the {@link ResourceReference}
 	 */
 	void setJQueryGlobalizeReference(ResourceReference reference);
+
+	/**
+	 * Gets the resource references of the backing libraries (ie: jQuery UI, jQuery Globalize), in the order they should be rendered.<br/>
+	 * These references are rendered by every jQuery behavior.
+	 *
+	 * @return the list of {@link ResourceReference}<code>s</code>, not containing null
+	 */
+	List<ResourceReference> references();
 }
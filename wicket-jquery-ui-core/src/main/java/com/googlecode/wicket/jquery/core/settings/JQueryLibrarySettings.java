@@ -16,10 +16,21 @@
  */
 package com.googlecode.wicket.jquery.core.settings;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.wicket.Application;
+import org.apache.wicket.ResourceBundles;
+import org.apache.wicket.markup.head.CssReferenceHeaderItem;
+import org.apache.wicket.markup.head.JavaScriptReferenceHeaderItem;
+import org.apache.wicket.request.resource.CssResourceReference;
+import org.apache.wicket.request.resource.JavaScriptResourceReference;
 import org.apache.wicket.request.resource.ResourceReference;
 import org.apache.wicket.settings.def.JavaScriptLibrarySettings;
 
+import com.googlecode.wicket.jquery.core.resource.JQueryResourceRegistry;
 import com.googlecode.wicket.jquery.core.resource.JQueryUIResourceReference;
+import com.googlecode.wicket.jquery.core.resource.WicketJQueryResourceReference;
 
 /**
  * Default implementation of {@link IJQueryLibrarySettings}.<br/>
@@ -37,6 +48,12 @@ import com.googlecode.wicket.jquery.core.resource.JQueryUIResourceReference;
  *         //to enable globalization:
  *         librarySettings.setJQueryGlobalizeReference(JQueryGlobalizeResourceReference.get());
  *
+ *         //to serve the library resources as bundles (jQuery UI, jQuery Globalize and the plugins of the modules on the classpath):
+ *         librarySettings.addDefaultBundles();
+ *
+ *         //or, to serve jQuery, jQuery UI and the calendar plugin as one resource:
+ *         librarySettings.addJavaScriptBundle("jquery-bundle.js", JQueryResourceReference.get(), JQueryUIResourceReference.get(), CalendarBehavior.FULLCALENDAR_JS, CalendarBehavior.GCAL_JS);
+ *
  *         this.setJavaScriptLibrarySettings(librarySettings);
  *     }
  * }
@@ -49,6 +66,15 @@ import com.googlecode.wicket.jquery.core.resource.JQueryUIResourceReference;
  */
 public class JQueryLibrarySettings extends JavaScriptLibrarySettings implements IJQueryLibrarySettings
 {
+	/** behavior classes of the library modules declaring their resource references, see {@link #addDefaultBundles()} */
+	private static final String[] BUNDLED_CLASSES = {
+		"com.googlecode.wicket.jquery.ui.calendar.CalendarBehavior",
+		"com.googlecode.wicket.jquery.ui.kendo.KendoAbstractBehavior",
+		"com.googlecode.wicket.jquery.ui.plugins.FontSizeBehavior",
+		"com.googlecode.wicket.jquery.ui.plugins.SnippetBehavior",
+		"com.googlecode.wicket.jquery.ui.plugins.datepicker.RangeDatePickerBehavior"
+	};
+
 	private ResourceReference jQueryUIReference = JQueryUIResourceReference.get();
 	private ResourceReference jQueryGlobalizeReference = null; //null by default, meaning the user has to set it explicitly
 
@@ -80,4 +106,104 @@ public class JQueryLibrarySettings extends JavaScriptLibrarySettings implements
 		this.jQueryGlobalizeReference = reference;
 	}
 
+	// References //
+
+	@Override
+	public List<ResourceReference> references()
+	{
+		List<ResourceReference> references = new ArrayList<ResourceReference>(2);
+
+		if (this.jQueryUIReference != null)
+		{
+			references.add(this.jQueryUIReference);
+		}
+
+		if (this.jQueryGlobalizeReference != null)
+		{
+			references.add(this.jQueryGlobalizeReference);
+		}
+
+		return references;
+	}
+
+	// Bundles //
+
+	/**
+	 * Registers the default bundles of the library:
+	 * <ul>
+	 * <li>"jquery-ui-bundle.js": the backing libraries (see {@link #references()}) and the client-side helpers (wicket-jquery.js)</li>
+	 * <li>the resource references declared by the behaviors of the library modules which are on the classpath (ie: fullcalendar and gcal, kendo, snippet, datepicker), see {@link JQueryResourceRegistry#addBundles(ResourceBundles, Class)}</li>
+	 * </ul>
+	 * Only the javascript references of the backing libraries are bundled (ie: a reference to a CDN is not).<br/>
+	 * <br/>
+	 * <b>Note:</b> This method should be called at application's initialization time, once the backing libraries references have been set. A reference can only belong to one bundle.
+	 */
+	public void addDefaultBundles()
+	{
+		ResourceBundles bundles = Application.get().getResourceBundles();
+
+		// backing libraries //
+		List<JavaScriptResourceReference> javascripts = new ArrayList<JavaScriptResourceReference>();
+
+		for (ResourceReference reference : this.references())
+		{
+			if (reference instanceof JavaScriptResourceReference)
+			{
+				javascripts.add((JavaScriptResourceReference) reference);
+			}
+		}
+
+		javascripts.add(WicketJQueryResourceReference.get());
+
+		bundles.addJavaScriptBundle(JQueryLibrarySettings.class, "jquery-ui-bundle.js", javascripts.toArray(new JavaScriptResourceReference[javascripts.size()]));
+
+		// modules //
+		for (String name : BUNDLED_CLASSES)
+		{
+			try
+			{
+				// loading the class runs its static initializer, which declares its references //
+				JQueryResourceRegistry.addBundles(bundles, Class.forName(name, true, JQueryLibrarySettings.class.getClassLoader()));
+			}
+			catch (ClassNotFoundException e)
+			{
+				// the module is not on the classpath //
+			}
+		}
+	}
+
+
+	/**
+	 * Registers a javascript bundle, which concatenates the given references - in the given order - into one resource.<br/>
+	 * Once registered, rendering any of these references renders the bundle instead, so that the whole bundle is downloaded at once.<br/>
+	 * <br/>
+	 * The bundle is a static resource: its url is decorated with the version of its content and it is served with far-future cache headers,
+	 * as per the application's caching strategy (by default, in deployment mode, the version is the message digest of the content).<br/>
+	 * <br/>
+	 * <b>Note:</b> This method should be called at application's initialization time. A reference can only belong to one bundle.
+	 *
+	 * @param name the bundle name (ie: "jquery-bundle.js")
+	 * @param references the {@link JavaScriptResourceReference}s to bundle
+	 * @return the bundle {@link JavaScriptReferenceHeaderItem}
+	 */
+	public JavaScriptReferenceHeaderItem addJavaScriptBundle(String name, JavaScriptResourceReference... references)
+	{
+		return Application.get().getResourceBundles().addJavaScriptBundle(JQueryLibrarySettings.class, name, references);
+	}
+
+	/**
+	 * Registers a stylesheet bundle, which concatenates the given references - in the given order - into one resource.<br/>
+	 * See {@link #addJavaScriptBundle(String, JavaScriptResourceReference...)}<br/>
+	 * <br/>
+	 * <b>Warning:</b> relative urls of the stylesheets (ie: images) are resolved against the bundle's url, so the bundle should be scoped to the package of the stylesheets it contains.
+	 *
+	 * @param scope the scope of the bundle, typically the class of the bundled references
+	 * @param name the bundle name (ie: "calendar-bundle.css")
+	 * @param references the {@link CssResourceReference}s to bundle
+	 * @return the bundle {@link CssReferenceHeaderItem}
+	 */
+	public CssReferenceHeaderItem addCssBundle(Class<?> scope, String name, CssResourceReference... references)
+	{
+		return Application.get().getResourceBundles().addCssBundle(scope, name, references);
+	}
 }
@@ -82,6 +82,19 @@ public class RequestCycleUtils
 		return parameters.getParameterValues(name);
 	}
 
+	/**
+	 * Gets the value of a request parameter, whether it is a query or a post parameter
+	 * @param name the name of the parameter
+	 * @return a {@link StringValue}
+	 */
+	public static StringValue getRequestParameterValue(String name)
+	{
+		final RequestCycle requestCycle = RequestCycle.get();
+		final IRequestParameters parameters = requestCycle.getRequest().getRequestParameters();
+
+		return parameters.getParameterValue(name);
+	}
+
 	/**
 	 * Utility class
 	 */
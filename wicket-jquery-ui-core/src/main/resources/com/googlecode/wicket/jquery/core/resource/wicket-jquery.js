@@ -0,0 +1,431 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+;(function($, window) {
+	'use strict';
+
+	var WicketJQuery = window.WicketJQuery = window.WicketJQuery || {};
+
+	/** the functions initializing the widgets rendered within ajax responses, and the selectors of the widgets, by id */
+	var attached = {};
+
+	/** the ids of the attached functions which widgets have been removed from the DOM, forgotten once the ajax response has been processed */
+	var detached = {};
+	var observed = false;
+
+	/** the data key of the functions to be run once a deferred widget has been initialized (see WicketJQuery.when) */
+	var DEFERRED = 'wicket-jquery-deferred';
+
+	/** the attribute holding the (space separated) jQuery methods of a widget to be destroyed when it is removed from the DOM (see WicketJQuery.destroyable) */
+	var DESTROYABLE = 'data-wicket-jquery-destroy';
+	var subscribed = false;
+
+	/** the ajax attributes of the batch callback and its delay (see WicketJQuery.batch), and the pending calls */
+	var batch = null;
+	var queue = [];
+
+	/**
+	 * Gets the parameters as an array of {name, value}
+	 *
+	 * @param parameters the parameters, either an object or an array of {name, value}
+	 */
+	var asArray = function(parameters) {
+		if ($.isArray(parameters)) {
+			return parameters;
+		}
+
+		var result = [];
+
+		if ($.isPlainObject(parameters)) {
+			$.each(parameters, function(name, value) {
+				result.push({ name: name, value: value });
+			});
+		}
+
+		return result;
+	};
+
+	/**
+	 * Gets the parameters a call would have sent if it was not batched (see Wicket.Ajax.Call#doAjax):
+	 * the extra parameters, the serialized form or form component, and the dynamic extra parameters
+	 *
+	 * @param call the ajax attributes of the call
+	 */
+	var serialize = function(call) {
+		var data = asArray(call.ep);
+
+		if (call.f) {
+			data = data.concat(Wicket.Form.serializeForm(Wicket.$(call.f)));
+
+			if (call.sc) {
+				data.push({ name: call.sc, value: 1 });
+			}
+		} else if (call.c && !$.isWindow(call.c)) {
+			var element = Wicket.$(call.c);
+
+			if (element) {
+				data = data.concat(Wicket.Form.serializeElement(element));
+			}
+		}
+
+		if ($.isArray(call.dep)) {
+			for (var i = 0; i < call.dep.length; i++) {
+				var dep = call.dep[i];
+				data = data.concat(asArray($.isFunction(dep) ? dep(call) : new Function('attrs', dep)(call)));
+			}
+		}
+
+		var params = [];
+
+		for (var j = 0; j < data.length; j++) {
+			var value = data[j].value;
+			params.push({ name: data[j].name, value: value === null || value === undefined ? '' : String(value) }); // as serialized by jQuery.param
+		}
+
+		return params;
+	};
+
+	/**
+	 * Sends the pending calls: as is if there is only one, as a single batch request otherwise
+	 */
+	var flush = function() {
+		var calls = queue;
+		queue = [];
+
+		if (calls.length === 1) {
+			Wicket.Ajax.ajax(calls[0].call);
+			return;
+		}
+
+		var entries = [];
+
+		for (var i = 0; i < calls.length; i++) {
+			entries.push({ k: calls[i].key, p: serialize(calls[i].call) });
+		}
+
+		var call = $.extend({}, batch.attrs);
+		call.ep = { '_b': JSON.stringify(entries) };
+
+		Wicket.Ajax.ajax(call);
+	};
+
+	/**
+	 * Destroys the widgets which are about to be removed from the DOM (ie: replaced by an ajax response).<br/>
+	 * Widgets that have been initialized are destroyed, and their event handlers are unbound.
+	 * Only the removed element and its descendants are looked up, whatever the number of destroyable widgets in the page.
+	 *
+	 * @param element the element being removed
+	 */
+	var destroy = function(element) {
+		var filter = '[' + DESTROYABLE + ']';
+
+		$(element).find(filter).addBack(filter).each(function() {
+			var $widget = $(this);
+			var methods = $widget.attr(DESTROYABLE).split(' ');
+
+			for (var i = 0; i < methods.length; i++) {
+				var method = methods[i];
+				var widget = $widget.data(method) || $widget.data('ui-' + method); // the widget instance, if it has been initialized
+
+				if (widget) {
+					try {
+						if ($.isFunction(widget.destroy)) {
+							widget.destroy(); // jQuery UI & Kendo UI widgets
+						} else {
+							$widget[method]('destroy'); // plugins (ie: datepicker)
+						}
+					} catch (e) {
+						// the widget does not support being destroyed
+					}
+				}
+			}
+
+			$widget.off();
+		});
+	};
+
+	/**
+	 * Subscribes once to the ajax events keeping the attached functions in sync with the server:
+	 * the ids of the attached functions are supplied to each ajax request (so the server knows which statements can be re-attached by id),
+	 * and the functions of the widgets removed by an ajax response - and not re-attached by this response - are forgotten.
+	 */
+	var observe = function() {
+		if (observed || !window.Wicket || !Wicket.Event || !Wicket.Event.subscribe) {
+			return;
+		}
+
+		observed = true;
+
+		Wicket.Event.subscribe('/ajax/call/beforeSend', function(jqEvent, attrs, jqXHR) {
+			var ids = [];
+
+			for (var id in attached) {
+				if (attached.hasOwnProperty(id)) {
+					ids.push(id);
+				}
+			}
+
+			if (jqXHR && ids.length > 0) {
+				jqXHR.setRequestHeader('Wicket-JQuery-Attached', ids.join(','));
+			}
+		});
+
+		Wicket.Event.subscribe('/dom/node/removing', function(jqEvent, element) {
+			var $element = $(element);
+
+			for (var id in attached) {
+				if (attached.hasOwnProperty(id)) {
+					var selector = attached[id].selector;
+
+					if ($element.is(selector) || $element.find(selector).length > 0) {
+						detached[id] = true;
+					}
+				}
+			}
+		});
+
+		Wicket.Event.subscribe('/ajax/call/complete', function() {
+			for (var id in detached) {
+				if (detached.hasOwnProperty(id) && attached[id] && $(attached[id].selector).length === 0) {
+					delete attached[id];
+				}
+			}
+
+			detached = {};
+		});
+	};
+
+	/**
+	 * Defers the initialization of a widget
+	 *
+	 * @param selector the widget's html selector (ie: '#myId')
+	 * @param strategy 'visible', 'interaction' or 'idle'
+	 * @param init the function initializing the widget
+	 */
+	WicketJQuery.defer = function(selector, strategy, init) {
+		var $elements = $(selector);
+		var done = false;
+		var pending = [];
+		var run = function() {
+			if (!done) {
+				done = true;
+				$elements.removeData(DEFERRED);
+				init();
+
+				for (var i = 0; i < pending.length; i++) {
+					pending[i]();
+				}
+			}
+		};
+
+		if ($elements.length === 0) {
+			run();
+			return;
+		}
+
+		$elements.data(DEFERRED, pending);
+
+		switch (strategy) {
+			case 'visible':
+				if (!window.IntersectionObserver) {
+					run();
+					break;
+				}
+
+				var observer = new window.IntersectionObserver(function(entries) {
+					for (var i = 0; i < entries.length; i++) {
+						if (entries[i].isIntersecting || entries[i].intersectionRatio > 0) {
+							observer.disconnect();
+							run();
+							break;
+						}
+					}
+				});
+
+				$elements.each(function() {
+					observer.observe(this);
+				});
+				break;
+
+			case 'interaction':
+				$elements.on('mouseover.wicket-jquery-defer focusin.wicket-jquery-defer touchstart.wicket-jquery-defer', function(e) {
+					$elements.off('.wicket-jquery-defer');
+					run();
+
+					// the widget may be initialized on focus (ie: datepicker)
+					if (e.type === 'focusin') {
+						$(e.target).trigger('focus');
+					}
+				});
+				break;
+
+			case 'idle':
+				if (window.requestIdleCallback) {
+					window.requestIdleCallback(run, { timeout: 2000 });
+				} else {
+					window.setTimeout(run, 1);
+				}
+				break;
+
+			default:
+				run();
+		}
+	};
+
+	/**
+	 * Runs a function on a widget once it has been initialized: immediately if it is not deferred (see WicketJQuery.defer) or already initialized, or right after its initialization otherwise.
+	 * This prevents calling a widget's methods (ie: 'option') before it is initialized.
+	 *
+	 * @param selector the widget's html selector (ie: '#myId')
+	 * @param fn the function to run
+	 */
+	WicketJQuery.when = function(selector, fn) {
+		var pending = $(selector).data(DEFERRED);
+
+		if (pending) {
+			pending.push(fn);
+		} else {
+			fn();
+		}
+	};
+
+	/**
+	 * Gets the function calling back the server when a widget's event is triggered.
+	 * This replaces the inline function otherwise rendered for each callback, so that only the ajax attributes are rendered.
+	 *
+	 * @param attrs the ajax attributes (url, component id, ...)
+	 * @param params (optional) the function returning the extra parameters, called with the event's context and arguments
+	 * @param options (optional) the client options of the callback:
+	 * <ul>
+	 * <li>b: the key identifying the callback within a batch request, if the callback can be batched (see WicketJQuery.batch)</li>
+	 * <li>r: the rate strategy applied by the client, 'leading' (the calls fired within 'd' milliseconds after a sent call are dropped)
+	 * or 'latest' (the call in flight is aborted)</li>
+	 * </ul>
+	 */
+	WicketJQuery.callback = function(attrs, params, options) {
+		options = options || {};
+
+		var last = 0; // the time of the last sent call (leading)
+		var jqXHR = null; // the call in flight (latest)
+
+		return function() {
+			var call = $.extend({}, attrs);
+			var ep = params ? params.apply(this, arguments) : {};
+
+			call.ep = call.ep ? Wicket.merge(call.ep, ep) : ep;
+
+			if (options.r === 'leading') {
+				var now = new Date().getTime();
+
+				if (now - last < options.d) {
+					return;
+				}
+
+				last = now;
+			}
+
+			if (options.r === 'latest') {
+				if (jqXHR !== null && jqXHR.readyState !== 4) {
+					jqXHR.abort();
+				}
+
+				call.bsh = (call.bsh || []).concat(function(attrs, xhr) {
+					jqXHR = xhr;
+				});
+			}
+
+			if (batch !== null && options.b && !call.mp) { // multipart forms cannot be batched
+				queue.push({ key: options.b, call: call });
+
+				if (queue.length === 1) {
+					window.setTimeout(flush, batch.delay);
+				}
+			} else {
+				Wicket.Ajax.ajax(call);
+			}
+		};
+	};
+
+	/**
+	 * Enables the batching of callbacks: the calls fired within the delay are queued, and sent in a single request to the batch callback
+	 *
+	 * @param attrs the ajax attributes of the batch callback
+	 * @param delay the delay, in milliseconds, the calls are queued for
+	 */
+	WicketJQuery.batch = function(attrs, delay) {
+		batch = { attrs: attrs, delay: delay };
+	};
+
+	/**
+	 * Runs the function initializing a widget, and keeps it so it can be re-run on ajax repaint (see WicketJQuery.reattach)
+	 *
+	 * @param id the widget's statement id
+	 * @param selector the widget's html selector (ie: '#myId'), the function is forgotten once no element matches it anymore
+	 * @param init the function initializing the widget
+	 */
+	WicketJQuery.attach = function(id, selector, init) {
+		observe();
+
+		attached[id] = { selector: selector, init: init };
+		delete detached[id];
+
+		init();
+	};
+
+	/**
+	 * Re-runs the function initializing a widget, which has been supplied to WicketJQuery.attach().<br/>
+	 * The server only re-attaches the ids that the request has reported as attached.
+	 *
+	 * @param id the widget's statement id
+	 */
+	WicketJQuery.reattach = function(id) {
+		var entry = attached[id];
+
+		if (entry) {
+			delete detached[id];
+			entry.init();
+		}
+	};
+
+	/**
+	 * Registers the widget(s) matching the selector to be destroyed before being removed from the DOM by an ajax response.<br/>
+	 * The elements are marked with the method's name (see DESTROYABLE), so that no registry of selectors is kept.
+	 *
+	 * @param selector the widget's html selector (ie: '#myId')
+	 * @param method the jQuery method which has created the widget (ie: 'dialog', 'kendoGrid')
+	 */
+	WicketJQuery.destroyable = function(selector, method) {
+		$(selector).each(function() {
+			var $element = $(this);
+			var methods = $element.attr(DESTROYABLE);
+
+			if (!methods) {
+				$element.attr(DESTROYABLE, method);
+			} else if ($.inArray(method, methods.split(' ')) < 0) {
+				$element.attr(DESTROYABLE, methods + ' ' + method);
+			}
+		});
+
+		if (!subscribed && window.Wicket && Wicket.Event && Wicket.Event.subscribe) {
+			subscribed = true;
+
+			Wicket.Event.subscribe('/dom/node/removing', function(jqEvent, element) {
+				destroy(element);
+			});
+		}
+	};
+
+})(jQuery, window);
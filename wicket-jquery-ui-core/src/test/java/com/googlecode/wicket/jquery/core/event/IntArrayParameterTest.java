@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.jquery.core.event;
+
+import static org.junit.Assert.assertArrayEquals;
+
+import org.apache.wicket.util.string.StringValueConversionException;
+import org.junit.Test;
+
+import com.googlecode.wicket.jquery.core.event.JQueryEventParameter.IntArrayParameter;
+
+/**
+ * Tests the parsing of {@link IntArrayParameter}
+ *
+ * @author agent
+ *
+ */
+public class IntArrayParameterTest
+{
+	@Test
+	public void parsesSequencesOfDigits()
+	{
+		assertArrayEquals(new int[] {}, IntArrayParameter.parse(null));
+		assertArrayEquals(new int[] {}, IntArrayParameter.parse("[]"));
+		assertArrayEquals(new int[] { 1, 2, 3 }, IntArrayParameter.parse("1,2,3"));
+		assertArrayEquals(new int[] { 1, 22, 333 }, IntArrayParameter.parse("[1, 22, 333]"));
+	}
+
+	@Test
+	public void parsesNegativeNumbers()
+	{
+		assertArrayEquals(new int[] { -1, 2, -30 }, IntArrayParameter.parse("[-1,2,-30]"));
+		assertArrayEquals(new int[] { 1, -2 }, IntArrayParameter.parse("1-2"));
+		assertArrayEquals(new int[] { 5 }, IntArrayParameter.parse("- 5"));
+	}
+
+	@Test
+	public void parsesIntBounds()
+	{
+		assertArrayEquals(new int[] { Integer.MAX_VALUE, Integer.MIN_VALUE }, IntArrayParameter.parse("2147483647,-2147483648"));
+		assertArrayEquals(new int[] { 7 }, IntArrayParameter.parse("0000000000007"));
+	}
+
+	@Test(expected = StringValueConversionException.class)
+	public void rejectsPositiveOverflow()
+	{
+		IntArrayParameter.parse("1,2147483648");
+	}
+
+	@Test(expected = StringValueConversionException.class)
+	public void rejectsNegativeOverflow()
+	{
+		IntArrayParameter.parse("-2147483649");
+	}
+
+	@Test(expected = StringValueConversionException.class)
+	public void rejectsLongDigitRuns()
+	{
+		IntArrayParameter.parse("99999999999999999999999");
+	}
+}
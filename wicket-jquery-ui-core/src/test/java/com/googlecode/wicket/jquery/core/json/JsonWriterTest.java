@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.jquery.core.json;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Calendar;
+import java.util.Date;
+
+import org.junit.Test;
+
+/**
+ * Tests the escaping and the date format of {@link JsonWriter}
+ *
+ * @author agent
+ *
+ */
+public class JsonWriterTest
+{
+	@Test
+	public void quoteEscapesJsonCharacters()
+	{
+		assertEquals("\"a\\\"b\\\\c\"", JsonWriter.quote("a\"b\\c"));
+		assertEquals("\"\\t\\n\\r\\b\\f\"", JsonWriter.quote("\t\n\r\b\f"));
+		assertEquals("\"\\u0000\\u001f\"", JsonWriter.quote("\u0000\u001f"));
+	}
+
+	@Test
+	public void quoteEscapesHtmlCharacters()
+	{
+		assertEquals("\"\\u0027\"", JsonWriter.quote("'"));
+		assertEquals("\"\\u003c/script\\u003e\"", JsonWriter.quote("</script>"));
+		assertEquals("\"a \\u0026 b\"", JsonWriter.quote("a & b"));
+	}
+
+	@Test
+	public void quoteEscapesLineSeparators()
+	{
+		assertEquals("\"a\\u2028b\\u2029c\"", JsonWriter.quote("a\u2028b\u2029c"));
+	}
+
+	@Test
+	public void quoteKeepsOtherCharacters()
+	{
+		assertEquals("\"\u00e9t\u00e9 \u20ac\"", JsonWriter.quote("\u00e9t\u00e9 \u20ac"));
+		assertEquals("\"\"", JsonWriter.quote(""));
+	}
+
+	@Test
+	public void writerSeparatesMembersAndElements()
+	{
+		StringBuilder builder = new StringBuilder();
+
+		new JsonWriter(builder).beginObject()
+			.name("s").value("<b>")
+			.name("n").value(1)
+			.name("a").beginArray().value(true).value((CharSequence) null).endArray()
+			.name("f").raw("function() { }")
+			.endObject();
+
+		assertEquals("{\"s\": \"\\u003cb\\u003e\", \"n\": 1, \"a\": [true, null], \"f\": function() { }}", builder.toString());
+	}
+
+	@Test
+	public void formatUsesIsoPattern()
+	{
+		Calendar calendar = Calendar.getInstance();
+		calendar.clear();
+		calendar.set(2013, Calendar.APRIL, 5, 9, 7);
+
+		final Date date = calendar.getTime();
+		final String formatted = JsonWriter.format(date);
+
+		assertTrue(formatted, formatted.matches("2013-04-05T09:07[+-]\\d{4}"));
+
+		StringBuilder builder = new StringBuilder();
+		new JsonWriter(builder).value(date);
+
+		assertEquals("\"" + formatted + "\"", builder.toString());
+	}
+}
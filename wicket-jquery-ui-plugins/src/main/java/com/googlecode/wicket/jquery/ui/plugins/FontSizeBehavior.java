@@ -20,16 +20,21 @@ import org.apache.wicket.request.resource.JavaScriptResourceReference;
 
 import com.googlecode.wicket.jquery.core.JQueryBehavior;
 import com.googlecode.wicket.jquery.core.Options;
+import com.googlecode.wicket.jquery.core.resource.JQueryResourceRegistry;
 
 public class FontSizeBehavior extends JQueryBehavior
 {
 	private static final long serialVersionUID = 1L;
+	public static final JavaScriptResourceReference JFONTSIZE_JS = new JavaScriptResourceReference(FontSizeBehavior.class, "jquery.jfontsize-1.0.min.js");
+
+	static
+	{
+		JQueryResourceRegistry.register(FontSizeBehavior.class, JFONTSIZE_JS);
+	}
 
 	public FontSizeBehavior(String selector, Options options)
 	{
 		super(selector, "jfontsize", options);
-
-		this.add(new JavaScriptResourceReference(FontSizeBehavior.class, "jquery.jfontsize-1.0.min.js"));
 	}
 
 }
@@ -21,10 +21,19 @@ import org.apache.wicket.request.resource.JavaScriptResourceReference;
 
 import com.googlecode.wicket.jquery.core.JQueryBehavior;
 import com.googlecode.wicket.jquery.core.Options;
+import com.googlecode.wicket.jquery.core.resource.JQueryResourceRegistry;
 
 public class SnippetBehavior extends JQueryBehavior
 {
 	private static final long serialVersionUID = 1L;
+	public static final JavaScriptResourceReference SNIPPET_JS = new JavaScriptResourceReference(SnippetBehavior.class, "jquery.snippet.min.js");
+	public static final CssResourceReference SNIPPET_CSS = new CssResourceReference(SnippetBehavior.class, "jquery.snippet.min.css");
+
+	static
+	{
+		JQueryResourceRegistry.register(SnippetBehavior.class, SNIPPET_JS, SNIPPET_CSS);
+	}
+
 	private final String language;
 
 	public SnippetBehavior(String selector, String language, Options options)
@@ -32,9 +41,6 @@ public class SnippetBehavior extends JQueryBehavior
 		super(selector, "snippet", options);
 
 		this.language = language;
-
-		this.add(new JavaScriptResourceReference(SnippetBehavior.class, "jquery.snippet.min.js"));
-		this.add(new CssResourceReference(SnippetBehavior.class, "jquery.snippet.min.css"));
 	}
 
 	@Override
@@ -29,7 +29,9 @@ import com.googlecode.wicket.jquery.core.JQueryEvent;
 import com.googlecode.wicket.jquery.core.Options;
 import com.googlecode.wicket.jquery.core.ajax.IJQueryAjaxAware;
 import com.googlecode.wicket.jquery.core.ajax.JQueryAjaxBehavior;
-import com.googlecode.wicket.jquery.core.utils.RequestCycleUtils;
+import com.googlecode.wicket.jquery.core.event.JQueryEventParameter;
+import com.googlecode.wicket.jquery.core.event.JQueryEventParameter.DateParameter;
+import com.googlecode.wicket.jquery.core.resource.JQueryResourceRegistry;
 
 /**
  * Provides the jQuery fullCalendar behavior
@@ -42,6 +44,15 @@ public abstract class RangeDatePickerBehavior extends JQueryBehavior implements
 	private static final long serialVersionUID = 1L;
 	private static final String METHOD = "DatePicker";
 
+	public static final CssResourceReference BASE_CSS = new CssResourceReference(RangeDatePickerBehavior.class, "css/base.css");
+	public static final CssResourceReference CLEAN_CSS = new CssResourceReference(RangeDatePickerBehavior.class, "css/clean.css");
+	public static final JavaScriptResourceReference DATEPICKER_JS = new JavaScriptResourceReference(RangeDatePickerBehavior.class, "js/datepicker.js");
+
+	static
+	{
+		JQueryResourceRegistry.register(RangeDatePickerBehavior.class, BASE_CSS, CLEAN_CSS, DATEPICKER_JS);
+	}
+
 	private JQueryAjaxBehavior onChangeBehavior;
 
 	public RangeDatePickerBehavior(final String selector)
@@ -52,10 +63,6 @@ public abstract class RangeDatePickerBehavior extends JQueryBehavior implements
 	public RangeDatePickerBehavior(final String selector, final Options options)
 	{
 		super(selector, METHOD, options);
-
-		this.add(new CssResourceReference(RangeDatePickerBehavior.class, "css/base.css"));
-		this.add(new CssResourceReference(RangeDatePickerBehavior.class, "css/clean.css"));
-		this.add(new JavaScriptResourceReference(RangeDatePickerBehavior.class, "js/datepicker.js"));
 	}
 
 	@Override
@@ -124,16 +131,16 @@ public abstract class RangeDatePickerBehavior extends JQueryBehavior implements
 	 */
 	protected static class DateChangeEvent extends JQueryEvent
 	{
+		private static final DateParameter START = JQueryEventParameter.ofDate("start");
+		private static final DateParameter END = JQueryEventParameter.ofDate("end");
+
 		private final Date start;
 		private final Date end;
 
 		public DateChangeEvent()
 		{
-			long start = RequestCycleUtils.getQueryParameterValue("start").toLong();
-			this.start = new Date(start);
-
-			long end = RequestCycleUtils.getQueryParameterValue("end").toLong();
-			this.end = new Date(end);
+			this.start = START.get();
+			this.end = END.get();
 		}
 
 		/**
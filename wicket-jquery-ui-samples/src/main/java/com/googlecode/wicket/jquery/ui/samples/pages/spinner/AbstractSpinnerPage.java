@@ -20,7 +20,8 @@ abstract class AbstractSpinnerPage extends SamplePage
 	protected List<DemoLink> getDemoLinks()
 	{
 		return Arrays.asList(
-				new DemoLink(DefaultSpinnerPage.class, "Spinner")
+				new DemoLink(DefaultSpinnerPage.class, "Spinner"),
+				new DemoLink(BulkSpinnerPage.class, "Bulk Spinners")
 			);
 	}
 }
@@ -0,0 +1,87 @@
+package com.googlecode.wicket.jquery.ui.samples.pages.spinner;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.wicket.ajax.AjaxRequestTarget;
+import org.apache.wicket.markup.html.form.Form;
+import org.apache.wicket.markup.html.list.ListItem;
+import org.apache.wicket.markup.html.list.ListView;
+import org.apache.wicket.markup.html.panel.FeedbackPanel;
+import org.apache.wicket.model.util.ListModel;
+
+import com.googlecode.wicket.jquery.core.IJQueryWidget.JQueryWidget;
+import com.googlecode.wicket.jquery.ui.form.button.AjaxButton;
+import com.googlecode.wicket.jquery.ui.form.button.Button;
+import com.googlecode.wicket.jquery.ui.form.spinner.Spinner;
+import com.googlecode.wicket.jquery.ui.panel.JQueryFeedbackPanel;
+
+public class BulkSpinnerPage extends AbstractSpinnerPage
+{
+	private static final long serialVersionUID = 1L;
+	private FeedbackPanel feedback;
+
+	public BulkSpinnerPage()
+	{
+		this.init();
+	}
+
+	private void init()
+	{
+		final Form<List<Integer>> form = new Form<List<Integer>>("form", new ListModel<Integer>(new ArrayList<Integer>(Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8, 9, 10))));
+		this.add(form);
+
+		// FeedbackPanel //
+		this.feedback = new JQueryFeedbackPanel("feedback");
+		form.add(this.feedback.setOutputMarkupId(true));
+
+		// Spinners //
+		form.add(new ListView<Integer>("rows", form.getModel()) {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected void populateItem(ListItem<Integer> item)
+			{
+				// all the spinners share the same options, they are initialized by a single statement
+				item.add(JQueryWidget.bulk(new Spinner<Integer>("spinner", item.getModel(), Integer.class), "bulk-spinner"));
+			}
+		}.setReuseItems(true));
+
+		// Buttons //
+		form.add(new Button("submit") {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			public void onSubmit()
+			{
+				BulkSpinnerPage.this.info(form);
+			}
+		});
+
+		form.add(new AjaxButton("button") {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected void onError(AjaxRequestTarget target, Form<?> form)
+			{
+				target.add(BulkSpinnerPage.this.feedback);
+			}
+
+			@Override
+			protected void onSubmit(AjaxRequestTarget target, Form<?> unused)
+			{
+				BulkSpinnerPage.this.info(form);
+				target.add(form);
+			}
+		});
+	}
+
+	private void info(Form<List<Integer>> form)
+	{
+		this.info("The model object is: " + form.getModelObject());
+	}
+}
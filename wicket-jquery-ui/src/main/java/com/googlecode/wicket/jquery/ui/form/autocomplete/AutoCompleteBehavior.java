@@ -25,7 +25,9 @@ import com.googlecode.wicket.jquery.core.JQueryEvent;
 import com.googlecode.wicket.jquery.core.Options;
 import com.googlecode.wicket.jquery.core.ajax.IJQueryAjaxAware;
 import com.googlecode.wicket.jquery.core.ajax.JQueryAjaxBehavior;
-import com.googlecode.wicket.jquery.core.utils.RequestCycleUtils;
+import com.googlecode.wicket.jquery.core.ajax.RateStrategy;
+import com.googlecode.wicket.jquery.core.event.JQueryEventParameter;
+import com.googlecode.wicket.jquery.core.event.JQueryEventParameter.IntParameter;
 
 /**
  * Provides a jQuery resizable behavior
@@ -64,7 +66,23 @@ public abstract class AutoCompleteBehavior extends JQueryBehavior implements IJQ
 	{
 		super.bind(component);
 
-		component.add(this.onSelectBehavior = this.newOnSelectBehavior());
+		if (this.isSelectEventEnabled())
+		{
+			component.add(this.onSelectBehavior = this.newOnSelectBehavior());
+		}
+	}
+
+	// Properties //
+	/**
+	 * Indicates whether the 'select' event is enabled.<br />
+	 * If true, the {@link #onSelect(AjaxRequestTarget, int)} event will be triggered.<br/>
+	 * <b>Note:</b> this method is evaluated when the behavior is bound to the component
+	 *
+	 * @return true by default
+	 */
+	protected boolean isSelectEventEnabled()
+	{
+		return true;
 	}
 
 	// Events //
@@ -73,7 +91,18 @@ public abstract class AutoCompleteBehavior extends JQueryBehavior implements IJQ
 	{
 		super.onConfigure(component);
 
-		this.setOption("select", this.onSelectBehavior.getCallbackFunction());
+		if (this.onSelectBehavior != null)
+		{
+			this.setOption("select", this.onSelectBehavior.getCallbackFunction(this.getRateStrategy("select")));
+		}
+
+		// source requests are sent by the widget itself, which already aborts the request in flight: only debouncing applies (jQuery UI 'delay' option)
+		RateStrategy source = this.getRateStrategy("source");
+
+		if (source != null && source.isDebounce())
+		{
+			this.setOption("delay", source.getDuration().getMilliseconds());
+		}
 	}
 
 	// IJQueryAjaxAware //
@@ -100,7 +129,7 @@ public abstract class AutoCompleteBehavior extends JQueryBehavior implements IJQ
 			@Override
 			protected CallbackParameter[] getCallbackParameters()
 			{
-				return new CallbackParameter[] { CallbackParameter.context("event"), CallbackParameter.context("ui"), CallbackParameter.resolved("index", "ui.item.id") };
+				return new CallbackParameter[] { CallbackParameter.context("event"), CallbackParameter.context("ui"), CallbackParameter.resolved("index", "ui.item.id"), CallbackParameter.resolved("term", "jQuery(event.target).data('ui-autocomplete').term") };
 			}
 
 			@Override
@@ -118,11 +147,13 @@ public abstract class AutoCompleteBehavior extends JQueryBehavior implements IJQ
 	 */
 	protected static class SelectEvent extends JQueryEvent
 	{
+		private static final IntParameter INDEX = JQueryEventParameter.ofInt("index");
+
 		private final int index;
 
 		public SelectEvent()
 		{
-			this.index = RequestCycleUtils.getQueryParameterValue("index").toInt(1) - 1;
+			this.index = INDEX.get(1) - 1;
 		}
 
 		public int getIndex()
@@ -0,0 +1,355 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.jquery.ui.form.autocomplete;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.wicket.MetaDataKey;
+import org.apache.wicket.Session;
+import org.apache.wicket.WicketRuntimeException;
+import org.apache.wicket.util.io.IClusterable;
+import org.apache.wicket.util.time.Duration;
+
+/**
+ * Provides a cache of auto-complete choices, keyed by the normalized term, the locale, the match mode, the limit and the offset of the {@link AutoCompleteQuery}.<br/>
+ * Entries expire after a time-to-live and the least recently used entries are evicted when the cache is full.
+ * Concurrent lookups of the same query are deduplicated (single-flight): the choices are loaded once, the other callers wait for the result.<br/>
+ * <br/>
+ * The cache can be application-scoped (ie: a static field, or a field of the {@link org.apache.wicket.Application}) or session-scoped (see {@link #get(Session, String, Duration, int)}),
+ * see {@link AutoCompleteTextField#getCache()}.<br/>
+ * <b>Warning:</b> an application-scoped cache shares the choices between users, the choices should therefore not depend on the user (other than by its locale).<br/>
+ * <b>Note:</b> the entries are not serialized, a deserialized cache is empty.
+ *
+ * @author agent
+ *
+ * @param <T> the type of the choices
+ */
+public class AutoCompleteCache<T> implements IClusterable
+{
+	private static final long serialVersionUID = 1L;
+
+	private static final MetaDataKey<HashMap<String, AutoCompleteCache<?>>> CACHES = new MetaDataKey<HashMap<String, AutoCompleteCache<?>>>() {
+
+		private static final long serialVersionUID = 1L;
+	};
+
+	/**
+	 * Gets a session-scoped cache, which is created if needed
+	 * @param <T> the type of the choices
+	 * @param session the {@link Session}
+	 * @param name the name of the cache in the session
+	 * @param ttl the time-to-live of the entries
+	 * @param maxSize the max number of entries
+	 * @return the {@link AutoCompleteCache}
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> AutoCompleteCache<T> get(Session session, String name, Duration ttl, int maxSize)
+	{
+		if (session.isTemporary())
+		{
+			session.bind();
+		}
+
+		synchronized (session)
+		{
+			HashMap<String, AutoCompleteCache<?>> caches = session.getMetaData(CACHES);
+
+			if (caches == null)
+			{
+				caches = new HashMap<String, AutoCompleteCache<?>>();
+				session.setMetaData(CACHES, caches);
+			}
+
+			AutoCompleteCache<?> cache = caches.get(name);
+
+			if (cache == null)
+			{
+				caches.put(name, cache = new AutoCompleteCache<T>(ttl, maxSize));
+			}
+
+			return (AutoCompleteCache<T>) cache;
+		}
+	}
+
+	private final long ttl; /* nanoseconds */
+	private final int maxSize;
+	private transient Map<Key, Flight<T>> map = null;
+
+	// metrics //
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+
+	/**
+	 * Constructor
+	 * @param ttl the time-to-live of the entries
+	 * @param maxSize the max number of entries
+	 */
+	public AutoCompleteCache(Duration ttl, int maxSize)
+	{
+		if (maxSize < 1)
+		{
+			throw new IllegalArgumentException("argument maxSize must be greater than 0");
+		}
+
+		this.ttl = ttl.getMilliseconds() * 1000000L;
+		this.maxSize = maxSize;
+	}
+
+	// Properties //
+	/**
+	 * Gets the number of entries, including the expired ones which are not evicted yet and the ones being loaded
+	 * @return the number of entries
+	 */
+	public synchronized int size()
+	{
+		return this.map != null ? this.map.size() : 0;
+	}
+
+	/**
+	 * Gets the number of lookups that have been served from the cache, including the ones that have waited for a concurrent load
+	 * @return the number of hits
+	 */
+	public long getHitCount()
+	{
+		return this.hits.get();
+	}
+
+	/**
+	 * Gets the number of lookups that have loaded the choices
+	 * @return the number of misses
+	 */
+	public long getMissCount()
+	{
+		return this.misses.get();
+	}
+
+	// Methods //
+	/**
+	 * Gets the choices of the query from the cache, or loads them from the provider
+	 * @param query the {@link AutoCompleteQuery}
+	 * @param provider the {@link IAutoCompleteDataProvider} the choices are loaded from, on a miss
+	 * @return the (read-only) list of choices
+	 */
+	public List<T> get(AutoCompleteQuery query, IAutoCompleteDataProvider<T> provider)
+	{
+		final Key key = new Key(query);
+
+		while (true)
+		{
+			Flight<T> flight;
+			boolean leader = false;
+
+			synchronized (this)
+			{
+				flight = this.getMap().get(key);
+
+				if (flight == null || flight.isExpired())
+				{
+					flight = new Flight<T>();
+					this.getMap().put(key, flight);
+					leader = true;
+				}
+			}
+
+			if (leader)
+			{
+				this.misses.incrementAndGet();
+
+				return this.load(key, flight, query, provider);
+			}
+
+			List<T> choices = flight.await();
+
+			if (choices != null)
+			{
+				this.hits.incrementAndGet();
+
+				return choices;
+			}
+
+			// the load has failed or has been cancelled: tries again, unless the query itself has been cancelled //
+			if (query.isCancelled())
+			{
+				return null;
+			}
+		}
+	}
+
+	/**
+	 * Removes all entries
+	 */
+	public synchronized void clear()
+	{
+		this.map = null;
+	}
+
+	/**
+	 * Loads the choices of the flight, which is removed from the cache if the load fails (throws) or is cancelled.<br/>
+	 * A null list returned by the provider is a valid (empty) result, which is cached.
+	 */
+	private List<T> load(Key key, Flight<T> flight, AutoCompleteQuery query, IAutoCompleteDataProvider<T> provider)
+	{
+		List<T> choices = null;
+
+		try
+		{
+			List<T> list = provider.getChoices(query);
+
+			if (!query.isCancelled()) // the list of a cancelled query may be partial
+			{
+				choices = (list != null) ? Collections.unmodifiableList(list) : Collections.<T> emptyList();
+			}
+
+			return choices;
+		}
+		finally
+		{
+			if (choices == null)
+			{
+				synchronized (this)
+				{
+					if (this.map != null && this.map.get(key) == flight)
+					{
+						this.map.remove(key);
+					}
+				}
+			}
+
+			flight.complete(choices, this.ttl);
+		}
+	}
+
+	private Map<Key, Flight<T>> getMap()
+	{
+		if (this.map == null)
+		{
+			this.map = new LinkedHashMap<Key, Flight<T>>(16, 0.75f, true) {
+
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<Key, Flight<T>> eldest)
+				{
+					return this.size() > AutoCompleteCache.this.maxSize;
+				}
+			};
+		}
+
+		return this.map;
+	}
+
+
+	/**
+	 * Provides the cache key of a query
+	 */
+	private static class Key
+	{
+		private final String term;
+		private final Locale locale;
+		private final AutoCompleteQuery.MatchMode mode;
+		private final int limit;
+		private final int offset;
+		private final int hash;
+
+		public Key(AutoCompleteQuery query)
+		{
+			this.locale = query.getLocale() != null ? query.getLocale() : Locale.getDefault();
+			this.term = AutoCompleteIndex.normalize(query.getTerm(), this.locale);
+			this.mode = query.getMatchMode();
+			this.limit = query.getLimit();
+			this.offset = query.getOffset();
+
+			int h = this.term.hashCode();
+			h = 31 * h + this.locale.hashCode();
+			h = 31 * h + (this.mode != null ? this.mode.hashCode() : 0);
+			h = 31 * h + this.limit;
+			this.hash = 31 * h + this.offset;
+		}
+
+		@Override
+		public int hashCode()
+		{
+			return this.hash;
+		}
+
+		@Override
+		public boolean equals(Object object)
+		{
+			if (!(object instanceof Key))
+			{
+				return false;
+			}
+
+			Key key = (Key) object;
+
+			return this.hash == key.hash && this.limit == key.limit && this.offset == key.offset && this.mode == key.mode && this.term.equals(key.term) && this.locale.equals(key.locale);
+		}
+	}
+
+	/**
+	 * Provides an entry of the cache, which is being loaded or is loaded
+	 */
+	private static class Flight<T>
+	{
+		private final CountDownLatch latch = new CountDownLatch(1);
+		private volatile long expiry; /* System#nanoTime(), set when the load completes */
+		private volatile List<T> choices = null;
+
+		public boolean isExpired()
+		{
+			return this.latch.getCount() == 0 && System.nanoTime() - this.expiry > 0;
+		}
+
+		/**
+		 * Completes the load, the time-to-live starting from now
+		 * @param choices the choices, or null if the load has failed or has been cancelled
+		 * @param ttl the time-to-live, in nanoseconds
+		 */
+		public void complete(List<T> choices, long ttl)
+		{
+			this.choices = choices;
+			this.expiry = System.nanoTime() + ttl;
+			this.latch.countDown();
+		}
+
+		/**
+		 * Waits for the choices to be loaded
+		 * @return the choices, or null if the load has failed or has been cancelled
+		 */
+		public List<T> await()
+		{
+			try
+			{
+				this.latch.await();
+			}
+			catch (InterruptedException e)
+			{
+				Thread.currentThread().interrupt();
+				throw new WicketRuntimeException(e);
+			}
+
+			return this.choices;
+		}
+	}
+}
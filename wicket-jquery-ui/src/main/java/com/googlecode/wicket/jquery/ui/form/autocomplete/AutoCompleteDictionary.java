@@ -0,0 +1,431 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.jquery.ui.form.autocomplete;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+import com.googlecode.wicket.jquery.core.json.JsonWriter;
+
+/**
+ * Provides a read-only, memory-mapped dictionary of choices, for sources of several millions of entries that should not live on the heap.<br/>
+ * The dictionary file is built by the {@link AutoCompleteDictionaryBuilder}. Each entry has a text, which is displayed and matched, and a payload (ie: the primary key of the object)
+ * which is only read when a choice is selected, see {@link AutoCompleteTextField#getDictionary()}.<br/>
+ * <br/>
+ * The file contains the normalized keys (see {@link AutoCompleteIndex#normalize(String, Locale)}) sorted and front-coded by blocks, each key pointing to the offset of its text and payload.
+ * A lookup binary-searches the first key of the blocks, then decodes the keys sequentially: only the texts of the matching entries are read.<br/>
+ * The dictionary matches prefixes only, is thread-safe, and is limited to files of 2GB.<br/>
+ * <b>Note:</b> the dictionary is not serializable: it is intended to be opened once and shared by the application (ie: in a static field or in the {@link org.apache.wicket.Application}).
+ *
+ * @author agent
+ *
+ */
+public class AutoCompleteDictionary implements Closeable
+{
+	/** The default maximum number of choices returned by a lookup */
+	public static final int MAX = 20;
+
+	static final int MAGIC = 0x57414344; /* WACD */
+	static final int VERSION = 1;
+	static final Charset UTF8 = Charset.forName("UTF-8");
+
+	/**
+	 * Opens a dictionary file
+	 * @param file the file built by the {@link AutoCompleteDictionaryBuilder}
+	 * @return the {@link AutoCompleteDictionary}
+	 * @throws IOException if an I/O error occurs
+	 */
+	public static AutoCompleteDictionary open(File file) throws IOException
+	{
+		return new AutoCompleteDictionary(file);
+	}
+
+	private final RandomAccessFile file;
+	private final MappedByteBuffer buffer;
+	private final Locale locale;
+	private final int count;
+	private final int blockSize;
+	private final int blockCount;
+	private final int tableOffset; /* block offsets */
+
+	/**
+	 * Constructor
+	 * @param file the dictionary file
+	 * @throws IOException if an I/O error occurs
+	 */
+	private AutoCompleteDictionary(File file) throws IOException
+	{
+		DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+
+		try
+		{
+			if (input.readInt() != MAGIC || input.readInt() != VERSION)
+			{
+				throw new IOException(file + " is not a dictionary file, or has not been built by this version");
+			}
+
+			this.tableOffset = input.readInt();
+			this.locale = new Locale(input.readUTF(), input.readUTF(), input.readUTF());
+			this.count = input.readInt();
+			this.blockSize = input.readInt();
+			this.blockCount = input.readInt();
+		}
+		finally
+		{
+			input.close();
+		}
+
+		this.file = new RandomAccessFile(file, "r");
+		this.buffer = this.file.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, this.file.length());
+	}
+
+	// Properties //
+	/**
+	 * Gets the number of entries
+	 * @return the number of entries
+	 */
+	public int size()
+	{
+		return this.count;
+	}
+
+	/**
+	 * Gets the {@link Locale} the keys have been normalized with
+	 * @return the {@link Locale}
+	 */
+	public Locale getLocale()
+	{
+		return this.locale;
+	}
+
+	// Methods //
+	/**
+	 * Gets the texts of the entries which key starts with the normalized input<br/>
+	 * The max number of texts is {@link #MAX}
+	 * @param input the user input
+	 * @return the list of texts, sorted by key
+	 */
+	public List<String> startsWith(String input)
+	{
+		return this.startsWith(input, MAX);
+	}
+
+	/**
+	 * Gets the texts of the entries which key starts with the normalized input
+	 * @param input the user input
+	 * @param max the max number of texts to be returned
+	 * @return the list of texts, sorted by key
+	 */
+	public List<String> startsWith(String input, int max)
+	{
+		if (input == null || max <= 0)
+		{
+			return Collections.emptyList();
+		}
+
+		final List<String> texts = new ArrayList<String>(Math.min(max, MAX));
+
+		this.scan(input, max, new IMatchHandler() {
+
+			@Override
+			public void onMatch(int index, int offset)
+			{
+				texts.add(AutoCompleteDictionary.this.readString(new Cursor(offset)));
+			}
+		});
+
+		return texts;
+	}
+
+	/**
+	 * Gets the payload of the n-th entry matching the input
+	 * @param input the user input
+	 * @param index the 0-based index of the match, as returned by {@link #startsWith(String, int)}
+	 * @return the payload, or null if there is no such match
+	 */
+	public String getPayload(String input, final int index)
+	{
+		if (input == null || index < 0)
+		{
+			return null;
+		}
+
+		final String[] payload = new String[1];
+
+		this.scan(input, index + 1, new IMatchHandler() {
+
+			@Override
+			public void onMatch(int match, int offset)
+			{
+				if (match < index)
+				{
+					return;
+				}
+
+				Cursor cursor = new Cursor(offset);
+				int length = AutoCompleteDictionary.this.readVarInt(cursor);
+				cursor.position += length; // skips the text
+				payload[0] = AutoCompleteDictionary.this.readString(cursor);
+			}
+		});
+
+		return payload[0];
+	}
+
+	/**
+	 * Writes the JSON array of the entries which key starts with the normalized input, as expected by the jQuery UI auto-complete widget
+	 * @param input the user input
+	 * @param max the max number of entries to be written
+	 * @param writer the {@link JsonWriter}
+	 */
+	public void write(String input, int max, final JsonWriter writer)
+	{
+		writer.beginArray();
+
+		if (input != null && max > 0)
+		{
+			this.scan(input, max, new IMatchHandler() {
+
+				@Override
+				public void onMatch(int index, int offset)
+				{
+					writer.beginObject();
+					writer.name("id").value(Integer.toString(index + 1)); /* id is a reserved word */
+					writer.name("value").value(AutoCompleteDictionary.this.readString(new Cursor(offset))); /* value is a reserved word */
+					writer.endObject();
+				}
+			});
+		}
+
+		writer.endArray();
+	}
+
+	@Override
+	public void close() throws IOException
+	{
+		this.file.close(); // the mapping remains valid until the buffer is garbage collected
+	}
+
+	// Helpers //
+	/**
+	 * Calls the handler for the entries which key starts with the normalized input, in the key order
+	 * @param input the user input
+	 * @param max the max number of matches
+	 * @param handler the {@link IMatchHandler}
+	 */
+	private void scan(String input, int max, IMatchHandler handler)
+	{
+		if (this.count == 0)
+		{
+			return;
+		}
+
+		final byte[] prefix = AutoCompleteIndex.normalize(input, this.locale).getBytes(UTF8);
+		byte[] key = new byte[Math.max(64, prefix.length)];
+		int length = 0;
+		int matches = 0;
+
+		int block = this.findBlock(prefix);
+		Cursor cursor = new Cursor(this.buffer.getInt(this.tableOffset + block * 4));
+
+		for (int entry = block * this.blockSize; entry < this.count && matches < max; entry++)
+		{
+			// decodes the front-coded key //
+			int shared = this.readVarInt(cursor);
+			int suffix = this.readVarInt(cursor);
+
+			length = shared + suffix;
+
+			if (length > key.length)
+			{
+				byte[] array = new byte[Math.max(length, key.length * 2)];
+				System.arraycopy(key, 0, array, 0, shared);
+				key = array;
+			}
+
+			for (int i = shared; i < length; i++)
+			{
+				key[i] = this.buffer.get(cursor.position++);
+			}
+
+			int offset = this.buffer.getInt(cursor.position);
+			cursor.position += 4;
+
+			// compares //
+			int compare = AutoCompleteDictionary.comparePrefix(key, length, prefix);
+
+			if (compare == 0)
+			{
+				handler.onMatch(matches++, offset);
+			}
+			else if (compare > 0)
+			{
+				break; // keys are sorted, no more match
+			}
+		}
+	}
+
+	/**
+	 * Gets the last block which first key is lower than the prefix
+	 * @param prefix the normalized input, as UTF-8 bytes
+	 * @return the block index
+	 */
+	private int findBlock(byte[] prefix)
+	{
+		int low = 0;
+		int high = this.blockCount - 1;
+
+		while (low < high)
+		{
+			int mid = (low + high + 1) >>> 1;
+
+			if (this.compareFirstKey(mid, prefix) < 0)
+			{
+				low = mid;
+			}
+			else
+			{
+				high = mid - 1;
+			}
+		}
+
+		return low;
+	}
+
+	/**
+	 * Compares the first key of a block to the prefix, without decoding it
+	 * @param block the block index
+	 * @param prefix the normalized input, as UTF-8 bytes
+	 * @return a negative integer, zero, or a positive integer as the key is lower than, equal to, or greater than the prefix
+	 */
+	private int compareFirstKey(int block, byte[] prefix)
+	{
+		Cursor cursor = new Cursor(this.buffer.getInt(this.tableOffset + block * 4));
+		this.readVarInt(cursor); // shared, always 0
+		int length = this.readVarInt(cursor);
+
+		for (int i = 0; i < length && i < prefix.length; i++)
+		{
+			int b1 = this.buffer.get(cursor.position + i) & 0xff;
+			int b2 = prefix[i] & 0xff;
+
+			if (b1 != b2)
+			{
+				return b1 - b2;
+			}
+		}
+
+		return length - prefix.length;
+	}
+
+	/**
+	 * Compares the key to the prefix
+	 * @param key the key
+	 * @param length the key length
+	 * @param prefix the prefix
+	 * @return 0 if the key starts with the prefix, otherwise a negative or positive integer as the key is lower or greater than the prefix
+	 */
+	private static int comparePrefix(byte[] key, int length, byte[] prefix)
+	{
+		for (int i = 0; i < prefix.length; i++)
+		{
+			if (i == length)
+			{
+				return -1; // the key is a strict prefix of the prefix
+			}
+
+			int b1 = key[i] & 0xff;
+			int b2 = prefix[i] & 0xff;
+
+			if (b1 != b2)
+			{
+				return b1 - b2;
+			}
+		}
+
+		return 0;
+	}
+
+	private int readVarInt(Cursor cursor)
+	{
+		int value = 0;
+		int shift = 0;
+		byte b;
+
+		do
+		{
+			b = this.buffer.get(cursor.position++);
+			value |= (b & 0x7f) << shift;
+			shift += 7;
+		}
+		while (b < 0);
+
+		return value;
+	}
+
+	private String readString(Cursor cursor)
+	{
+		int length = this.readVarInt(cursor);
+		byte[] bytes = new byte[length];
+
+		for (int i = 0; i < length; i++)
+		{
+			bytes[i] = this.buffer.get(cursor.position++);
+		}
+
+		return new String(bytes, UTF8);
+	}
+
+
+	/**
+	 * Provides the read position of a lookup, absolute reads on the shared buffer being thread-safe
+	 */
+	private static class Cursor
+	{
+		int position;
+
+		public Cursor(int position)
+		{
+			this.position = position;
+		}
+	}
+
+	/**
+	 * Provides the callback of the matching entries
+	 */
+	private interface IMatchHandler
+	{
+		/**
+		 * Called for each matching entry
+		 * @param index the 0-based index of the match
+		 * @param offset the offset of the text and payload of the entry
+		 */
+		void onMatch(int index, int offset);
+	}
+}
@@ -0,0 +1,285 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.jquery.ui.form.autocomplete;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Provides the builder of {@link AutoCompleteDictionary} files, ie:
+ *
+ * <pre>
+ * AutoCompleteDictionaryBuilder builder = new AutoCompleteDictionaryBuilder(Locale.ENGLISH);
+ *
+ * for (Product product : products)
+ * {
+ *     builder.add(product.getName(), String.valueOf(product.getId()));
+ * }
+ *
+ * builder.build(new File("products.dic"));
+ * </pre>
+ *
+ * The file layout is: the header, the texts and payloads, the front-coded keys and the offsets of the key blocks.<br/>
+ * The entries are held in memory until the file is built, so the builder is intended to run offline or on a background thread.
+ *
+ * @author agent
+ *
+ */
+public class AutoCompleteDictionaryBuilder
+{
+	/** The default number of keys per block */
+	public static final int BLOCK_SIZE = 16;
+
+	private final Locale locale;
+	private final int blockSize;
+	private final List<Entry> entries = new ArrayList<Entry>();
+
+	/**
+	 * Constructor
+	 * @param locale the {@link Locale} used to normalize the keys and the inputs
+	 */
+	public AutoCompleteDictionaryBuilder(Locale locale)
+	{
+		this(locale, BLOCK_SIZE);
+	}
+
+	/**
+	 * Constructor
+	 * @param locale the {@link Locale} used to normalize the keys and the inputs
+	 * @param blockSize the number of keys per block. A larger block gives a better compression but a longer sequential decoding
+	 */
+	public AutoCompleteDictionaryBuilder(Locale locale, int blockSize)
+	{
+		if (blockSize < 1)
+		{
+			throw new IllegalArgumentException("argument blockSize must be greater than 0");
+		}
+
+		this.locale = locale;
+		this.blockSize = blockSize;
+	}
+
+	/**
+	 * Adds an entry
+	 * @param text the text that is displayed and matched
+	 * @param payload the payload, from which the choice is retrieved when it is selected (ie: the primary key)
+	 * @return this, for chaining
+	 */
+	public AutoCompleteDictionaryBuilder add(String text, String payload)
+	{
+		byte[] key = AutoCompleteIndex.normalize(text, this.locale).getBytes(AutoCompleteDictionary.UTF8);
+		this.entries.add(new Entry(key, text, payload != null ? payload : ""));
+
+		return this;
+	}
+
+	/**
+	 * Writes the dictionary file
+	 * @param file the file to be (over)written
+	 * @throws IOException if an I/O error occurs
+	 */
+	public void build(File file) throws IOException
+	{
+		Collections.sort(this.entries, new Comparator<Entry>() {
+
+			@Override
+			public int compare(Entry e1, Entry e2)
+			{
+				return AutoCompleteDictionaryBuilder.compare(e1.key, e2.key);
+			}
+		});
+
+		final int count = this.entries.size();
+		final int blockCount = Math.max(1, (count + this.blockSize - 1) / this.blockSize);
+		final int[] blocks = new int[blockCount];
+		final int[] offsets = new int[count];
+
+		DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+
+		try
+		{
+			// header //
+			output.writeInt(AutoCompleteDictionary.MAGIC);
+			output.writeInt(AutoCompleteDictionary.VERSION);
+			output.writeInt(0); // table offset, written at the end
+			output.writeUTF(this.locale.getLanguage());
+			output.writeUTF(this.locale.getCountry());
+			output.writeUTF(this.locale.getVariant());
+			output.writeInt(count);
+			output.writeInt(this.blockSize);
+			output.writeInt(blockCount);
+
+			// texts & payloads //
+			for (int i = 0; i < count; i++)
+			{
+				Entry entry = this.entries.get(i);
+
+				offsets[i] = AutoCompleteDictionaryBuilder.position(output);
+				AutoCompleteDictionaryBuilder.writeString(output, entry.text);
+				AutoCompleteDictionaryBuilder.writeString(output, entry.payload);
+			}
+
+			// keys //
+			byte[] previous = null;
+
+			for (int i = 0; i < count; i++)
+			{
+				byte[] key = this.entries.get(i).key;
+				int shared = 0;
+
+				if (i % this.blockSize == 0)
+				{
+					blocks[i / this.blockSize] = AutoCompleteDictionaryBuilder.position(output);
+				}
+				else
+				{
+					while (shared < key.length && shared < previous.length && key[shared] == previous[shared])
+					{
+						shared++;
+					}
+				}
+
+				AutoCompleteDictionaryBuilder.writeVarInt(output, shared);
+				AutoCompleteDictionaryBuilder.writeVarInt(output, key.length - shared);
+				output.write(key, shared, key.length - shared);
+				output.writeInt(offsets[i]);
+
+				previous = key;
+			}
+
+			// block table //
+			if (count == 0)
+			{
+				blocks[0] = AutoCompleteDictionaryBuilder.position(output);
+			}
+
+			int table = AutoCompleteDictionaryBuilder.position(output);
+
+			for (int block : blocks)
+			{
+				output.writeInt(block);
+			}
+
+			output.close();
+			output = null;
+
+			AutoCompleteDictionaryBuilder.writeTableOffset(file, table);
+		}
+		finally
+		{
+			if (output != null)
+			{
+				output.close();
+			}
+		}
+	}
+
+	// Helpers //
+	/**
+	 * Compares two keys, as unsigned bytes
+	 */
+	private static int compare(byte[] key1, byte[] key2)
+	{
+		int length = Math.min(key1.length, key2.length);
+
+		for (int i = 0; i < length; i++)
+		{
+			int b1 = key1[i] & 0xff;
+			int b2 = key2[i] & 0xff;
+
+			if (b1 != b2)
+			{
+				return b1 - b2;
+			}
+		}
+
+		return key1.length - key2.length;
+	}
+
+	private static int position(DataOutputStream output) throws IOException
+	{
+		int position = output.size();
+
+		if (position < 0) // DataOutputStream#size() wraps at 2GB
+		{
+			throw new IOException("the dictionary exceeds 2GB");
+		}
+
+		return position;
+	}
+
+	private static void writeVarInt(DataOutputStream output, int value) throws IOException
+	{
+		while ((value & ~0x7f) != 0)
+		{
+			output.writeByte((value & 0x7f) | 0x80);
+			value >>>= 7;
+		}
+
+		output.writeByte(value);
+	}
+
+	private static void writeString(DataOutputStream output, String value) throws IOException
+	{
+		byte[] bytes = value.getBytes(AutoCompleteDictionary.UTF8);
+
+		AutoCompleteDictionaryBuilder.writeVarInt(output, bytes.length);
+		output.write(bytes);
+	}
+
+	private static void writeTableOffset(File file, int table) throws IOException
+	{
+		RandomAccessFile output = new RandomAccessFile(file, "rw");
+
+		try
+		{
+			output.seek(8); // after magic & version
+			output.writeInt(table);
+		}
+		finally
+		{
+			output.close();
+		}
+	}
+
+
+	/**
+	 * Provides a dictionary entry, held until the file is built
+	 */
+	private static class Entry
+	{
+		final byte[] key;
+		final String text;
+		final String payload;
+
+		public Entry(byte[] key, String text, String payload)
+		{
+			this.key = key;
+			this.text = text;
+			this.payload = payload;
+		}
+	}
+}
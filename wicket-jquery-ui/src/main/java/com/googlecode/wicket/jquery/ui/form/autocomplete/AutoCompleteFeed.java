@@ -0,0 +1,214 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.jquery.ui.form.autocomplete;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+import org.apache.wicket.Session;
+import org.apache.wicket.request.IRequestParameters;
+
+import com.googlecode.wicket.jquery.core.json.JsonWriter;
+import com.googlecode.wicket.jquery.core.renderer.ITextRenderer;
+import com.googlecode.wicket.jquery.core.resource.IJQueryFeed;
+import com.googlecode.wicket.jquery.core.resource.JQueryFeedResourceReference;
+import com.googlecode.wicket.jquery.ui.form.autocomplete.AutoCompleteQuery.MatchMode;
+
+/**
+ * Provides the detached source of choices of an {@link AutoCompleteTextField}, served by the {@link JQueryFeedResourceReference} without locking the page.<br/>
+ * See {@link AutoCompleteTextField#newAutoCompleteFeed()}.<br/>
+ * <b>Warning:</b> the feed is called concurrently and outside of the page: implementations should be thread-safe and should not reference the component
+ * (ie: a static nested class querying a service or reading an immutable snapshot of the data)<br/>
+ * As feed requests are not serialized by the page lock, a query is cancelled as soon as a newer query of the same feed starts (see {@link AutoCompleteQuery#isCancelled()})
+ *
+ * @author agent
+ *
+ * @param <T> the type of the model object
+ */
+public abstract class AutoCompleteFeed<T> implements IJQueryFeed
+{
+	private static final long serialVersionUID = 1L;
+	private static final String QUERY = "term";
+
+	private final ITextRenderer<? super T> renderer;
+	private final List<String> properties;
+	private transient AutoCompleteQuery current = null; /* the query in progress */
+
+	/**
+	 * Constructor
+	 * @param renderer the {@link ITextRenderer}
+	 */
+	public AutoCompleteFeed(ITextRenderer<? super T> renderer)
+	{
+		this(renderer, Collections.<String>emptyList());
+	}
+
+	/**
+	 * Constructor
+	 * @param renderer the {@link ITextRenderer}
+	 * @param properties the property list that should be appended to the JSON response (ie: the text properties of the template)
+	 */
+	public AutoCompleteFeed(ITextRenderer<? super T> renderer, List<String> properties)
+	{
+		this.renderer = renderer;
+		this.properties = properties;
+	}
+
+	/**
+	 * Gets choices matching the provided input<br/>
+	 * This method is also called when a choice is selected, so it should return the same choices for the same input
+	 * @param input String that represent the query
+	 * @return the list of choices
+	 */
+	protected abstract List<T> getChoices(String input);
+
+	/**
+	 * Gets choices matching the provided query<br/>
+	 * Calls {@link #getChoices(String)} by default, the query should be overridden to be passed to the data layer (ie: to an {@link IAutoCompleteDataProvider})
+	 * @param query the {@link AutoCompleteQuery}
+	 * @return the list of choices
+	 */
+	protected List<T> getChoices(AutoCompleteQuery query)
+	{
+		return this.getChoices(query.getTerm());
+	}
+
+	/**
+	 * Gets the cache the choices are looked up in, before being loaded by {@link #getChoices(AutoCompleteQuery)}<br/>
+	 * The cache should be shared: either application-scoped (ie: a static field) or session-scoped (see {@link AutoCompleteCache#get(Session, String, org.apache.wicket.util.time.Duration, int)})
+	 * @return null by default
+	 */
+	protected AutoCompleteCache<T> getCache()
+	{
+		return null;
+	}
+
+	/**
+	 * Gets the max number of choices to be returned, passed through the {@link AutoCompleteQuery}
+	 * @return {@link AutoCompleteQuery#MAX} by default
+	 */
+	protected int getMaxResults()
+	{
+		return AutoCompleteQuery.MAX;
+	}
+
+	/**
+	 * Gets the {@link MatchMode}, passed through the {@link AutoCompleteQuery}
+	 * @return {@link MatchMode#CONTAINS} by default
+	 */
+	protected MatchMode getMatchMode()
+	{
+		return MatchMode.CONTAINS;
+	}
+
+	/**
+	 * Gets choices matching the provided input, cancelling the query in progress if any
+	 * @param input the user input
+	 * @param locale the {@link Locale} of the user
+	 * @return the list of choices, or null if the query has been cancelled
+	 */
+	final List<T> getChoices(String input, Locale locale)
+	{
+		AutoCompleteQuery query = new AutoCompleteQuery(input, this.getMatchMode(), this.getMaxResults(), 0, locale);
+
+		synchronized (this)
+		{
+			if (this.current != null)
+			{
+				this.current.cancel(); // superseded
+			}
+
+			this.current = query;
+		}
+
+		try
+		{
+			List<T> choices = this.load(query);
+
+			return query.isCancelled() ? null : choices;
+		}
+		finally
+		{
+			synchronized (this)
+			{
+				if (this.current == query)
+				{
+					this.current = null;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Gets choices matching the provided input, in order to resolve a selected choice<br/>
+	 * Unlike {@link #getChoices(String, Locale)}, the query neither cancels nor can be cancelled by the query in progress
+	 * @param input the user input
+	 * @param locale the {@link Locale} of the user
+	 * @return the list of choices
+	 */
+	final List<T> resolveChoices(String input, Locale locale)
+	{
+		return this.load(new AutoCompleteQuery(input, this.getMatchMode(), this.getMaxResults(), 0, locale));
+	}
+
+	/**
+	 * Loads the choices of the query, through the cache if any
+	 * @param query the {@link AutoCompleteQuery}
+	 * @return the list of choices
+	 */
+	private List<T> load(AutoCompleteQuery query)
+	{
+		AutoCompleteCache<T> cache = this.getCache();
+
+		return cache != null ? cache.get(query, this.newDataProvider()) : this.getChoices(query);
+	}
+
+	/**
+	 * Gets a new {@link IAutoCompleteDataProvider} that calls {@link #getChoices(AutoCompleteQuery)}
+	 * @return the {@link IAutoCompleteDataProvider}
+	 */
+	private IAutoCompleteDataProvider<T> newDataProvider()
+	{
+		return new IAutoCompleteDataProvider<T>() {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			public List<T> getChoices(AutoCompleteQuery query)
+			{
+				return AutoCompleteFeed.this.getChoices(query);
+			}
+		};
+	}
+
+	// IJQueryFeed //
+	@Override
+	public void write(IRequestParameters parameters, JsonWriter writer)
+	{
+		List<T> choices = this.getChoices(parameters.getParameterValue(QUERY).toString(), Session.get().getLocale());
+
+		if (choices != null)
+		{
+			AutoCompleteSourceBehavior.write(writer, choices, this.renderer, this.properties);
+		}
+		else
+		{
+			writer.beginArray().endArray(); // the query has been cancelled, the response is still valid JSON
+		}
+	}
+}
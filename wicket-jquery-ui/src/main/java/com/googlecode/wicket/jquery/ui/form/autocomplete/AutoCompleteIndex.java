@@ -0,0 +1,471 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.jquery.ui.form.autocomplete;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import com.googlecode.wicket.jquery.core.renderer.ITextRenderer;
+import com.googlecode.wicket.jquery.core.renderer.TextRenderer;
+
+/**
+ * Provides an immutable, thread-safe, in-memory index of choices, that can be used in {@link AutoCompleteTextField#getChoices(String)} instead of the linear scans of {@link AutoCompleteUtils}, ie:
+ *
+ * <pre>
+ * private static final AutoCompleteIndex&lt;Product&gt; INDEX = new AutoCompleteIndex&lt;Product&gt;(products, new TextRenderer&lt;Product&gt;("name"), Locale.ENGLISH);
+ *
+ * protected List&lt;Product&gt; getChoices(String input)
+ * {
+ *     return INDEX.contains(input);
+ * }
+ * </pre>
+ *
+ * The texts of the choices are normalized once, when the index is built (see {@link #normalize(String, Locale)}), so the lookups are case and accent insensitive:
+ * <ul>
+ * <li>{@link #startsWith(String, int)} performs a binary search in the sorted array of normalized texts, choices are returned in the text order</li>
+ * <li>{@link #contains(String, int)} walks the smallest posting list of the trigram index (or the texts themselves if the input is shorter than a trigram), choices are returned in the original order</li>
+ * </ul>
+ * Both lookups stop as soon as the maximum number of choices is reached and do not allocate anything but the normalized input and the returned list.<br/>
+ * <b>Note:</b> the index is not serializable: it is intended to be shared by the application (ie: in a static field or in the {@link org.apache.wicket.Application}), not to be held by a component.
+ *
+ * @author agent
+ *
+ * @param <T> the type of the choices
+ */
+public class AutoCompleteIndex<T>
+{
+	/** The default maximum number of choices returned by a lookup */
+	public static final int MAX = 20;
+
+	private static final int GRAM = 3;
+	private static final int[] EMPTY = new int[0];
+
+	private final Locale locale;
+	private final Object[] items;
+	private final String[] texts; /* normalized texts, by item */
+	private final int[] sorted; /* item indexes, sorted by normalized text */
+	private final long[] grams; /* sorted trigrams */
+	private final int[][] postings; /* item indexes, by trigram */
+
+	/**
+	 * Normalizes a text so that it can be matched regardless of the case and of the accents (ie: "&Eacute;mile" becomes "emile")
+	 * @param text the text
+	 * @param locale the {@link Locale} used to lower the case
+	 * @return the normalized text
+	 */
+	public static String normalize(String text, Locale locale)
+	{
+		String lower = text.toLowerCase(locale);
+
+		for (int i = 0; i < lower.length(); i++)
+		{
+			if (lower.charAt(i) >= 128)
+			{
+				return AutoCompleteIndex.stripMarks(Normalizer.normalize(lower, Normalizer.Form.NFD));
+			}
+		}
+
+		return lower; // fast path, nothing to decompose
+	}
+
+	/**
+	 * Removes the combining marks of a decomposed text
+	 * @param text the decomposed text
+	 * @return the text without combining marks
+	 */
+	private static String stripMarks(String text)
+	{
+		StringBuilder builder = new StringBuilder(text.length());
+
+		for (int i = 0; i < text.length(); i++)
+		{
+			char c = text.charAt(i);
+
+			if (Character.getType(c) != Character.NON_SPACING_MARK)
+			{
+				builder.append(c);
+			}
+		}
+
+		return builder.toString();
+	}
+
+	/**
+	 * Gets the trigram starting at the specified position, packed in a long
+	 * @param text the text
+	 * @param index the position
+	 * @return the trigram
+	 */
+	private static long gram(String text, int index)
+	{
+		return ((long) text.charAt(index) << 32) | ((long) text.charAt(index + 1) << 16) | text.charAt(index + 2);
+	}
+
+	/**
+	 * Constructor, using the textual representation (toString()) of the choices and the default {@link Locale}
+	 * @param choices the choices
+	 */
+	public AutoCompleteIndex(Collection<? extends T> choices)
+	{
+		this(choices, new TextRenderer<T>(), Locale.getDefault());
+	}
+
+	/**
+	 * Constructor
+	 * @param choices the choices
+	 * @param renderer the {@link ITextRenderer} that gives the text to be indexed
+	 * @param locale the {@link Locale} used to normalize the texts and the inputs
+	 */
+	public AutoCompleteIndex(Collection<? extends T> choices, ITextRenderer<? super T> renderer, Locale locale)
+	{
+		this.locale = locale;
+		this.items = choices.toArray();
+
+		final int size = this.items.length;
+
+		// texts //
+		this.texts = new String[size];
+
+		for (int i = 0; i < size; i++)
+		{
+			@SuppressWarnings("unchecked")
+			String text = renderer.getText((T) this.items[i]);
+			this.texts[i] = text != null ? AutoCompleteIndex.normalize(text, locale) : "";
+		}
+
+		// sorted //
+		Integer[] order = new Integer[size];
+
+		for (int i = 0; i < size; i++)
+		{
+			order[i] = i;
+		}
+
+		Arrays.sort(order, new Comparator<Integer>() {
+
+			@Override
+			public int compare(Integer i1, Integer i2)
+			{
+				return AutoCompleteIndex.this.texts[i1].compareTo(AutoCompleteIndex.this.texts[i2]);
+			}
+		});
+
+		this.sorted = new int[size];
+
+		for (int i = 0; i < size; i++)
+		{
+			this.sorted[i] = order[i];
+		}
+
+		// trigrams //
+		Map<Long, IntList> map = new HashMap<Long, IntList>();
+
+		for (int i = 0; i < size; i++)
+		{
+			String text = this.texts[i];
+
+			for (int j = 0; j + GRAM <= text.length(); j++)
+			{
+				Long gram = AutoCompleteIndex.gram(text, j);
+				IntList posting = map.get(gram);
+
+				if (posting == null)
+				{
+					map.put(gram, posting = new IntList());
+				}
+
+				posting.add(i); // ignored if the trigram occurs several times in the text
+			}
+		}
+
+		this.grams = new long[map.size()];
+		this.postings = new int[map.size()][];
+
+		int index = 0;
+		for (Long gram : map.keySet())
+		{
+			this.grams[index++] = gram;
+		}
+
+		Arrays.sort(this.grams);
+
+		for (int i = 0; i < this.grams.length; i++)
+		{
+			this.postings[i] = map.get(this.grams[i]).toArray();
+		}
+	}
+
+	// Properties //
+	/**
+	 * Gets the number of indexed choices
+	 * @return the number of choices
+	 */
+	public int size()
+	{
+		return this.items.length;
+	}
+
+	/**
+	 * Gets the {@link Locale} used to normalize the texts and the inputs
+	 * @return the {@link Locale}
+	 */
+	public Locale getLocale()
+	{
+		return this.locale;
+	}
+
+	// Methods //
+	/**
+	 * Gets the choices which normalized text starts with the normalized input<br/>
+	 * The max number of choices is {@link #MAX}
+	 * @param input the user input
+	 * @return the list of choices, sorted by text
+	 */
+	public List<T> startsWith(String input)
+	{
+		return this.startsWith(input, MAX);
+	}
+
+	/**
+	 * Gets the choices which normalized text starts with the normalized input
+	 * @param input the user input
+	 * @param max the max number of choices to be returned
+	 * @return the list of choices, sorted by text
+	 */
+	public List<T> startsWith(String input, int max)
+	{
+		return this.startsWith(input, 0, max);
+	}
+
+	/**
+	 * Gets the choices which normalized text starts with the normalized input
+	 * @param input the user input
+	 * @param offset the number of matching choices to be skipped
+	 * @param max the max number of choices to be returned
+	 * @return the list of choices, sorted by text
+	 */
+	public List<T> startsWith(String input, int offset, int max)
+	{
+		if (input == null || max <= 0)
+		{
+			return Collections.emptyList();
+		}
+
+		final String search = AutoCompleteIndex.normalize(input, this.locale);
+		final List<T> choices = new ArrayList<T>(Math.min(max, MAX));
+
+		// matches are contiguous in the sorted texts, the offset is skipped at once //
+		for (int i = this.lowerBound(search) + Math.max(0, offset); i < this.sorted.length && choices.size() < max; i++)
+		{
+			int item = this.sorted[i];
+
+			if (!this.texts[item].startsWith(search))
+			{
+				break;
+			}
+
+			choices.add(this.item(item));
+		}
+
+		return choices;
+	}
+
+	/**
+	 * Gets the choices which normalized text contains the normalized input<br/>
+	 * The max number of choices is {@link #MAX}
+	 * @param input the user input
+	 * @return the list of choices, in the original order
+	 */
+	public List<T> contains(String input)
+	{
+		return this.contains(input, MAX);
+	}
+
+	/**
+	 * Gets the choices which normalized text contains the normalized input
+	 * @param input the user input
+	 * @param max the max number of choices to be returned
+	 * @return the list of choices, in the original order
+	 */
+	public List<T> contains(String input, int max)
+	{
+		return this.contains(input, 0, max);
+	}
+
+	/**
+	 * Gets the choices which normalized text contains the normalized input
+	 * @param input the user input
+	 * @param offset the number of matching choices to be skipped
+	 * @param max the max number of choices to be returned
+	 * @return the list of choices, in the original order
+	 */
+	public List<T> contains(String input, int offset, int max)
+	{
+		if (input == null || max <= 0)
+		{
+			return Collections.emptyList();
+		}
+
+		final String search = AutoCompleteIndex.normalize(input, this.locale);
+		final List<T> choices = new ArrayList<T>(Math.min(max, MAX));
+		int skip = Math.max(0, offset);
+
+		if (search.length() < GRAM)
+		{
+			// short inputs match most texts, so the scan ends early //
+			for (int i = 0; i < this.texts.length && choices.size() < max; i++)
+			{
+				if (this.texts[i].contains(search) && skip-- <= 0)
+				{
+					choices.add(this.item(i));
+				}
+			}
+		}
+		else
+		{
+			int[] candidates = this.candidates(search);
+
+			for (int i = 0; i < candidates.length && choices.size() < max; i++)
+			{
+				int item = candidates[i];
+
+				if (this.texts[item].contains(search) && skip-- <= 0) // the trigrams may not be contiguous in the text
+				{
+					choices.add(this.item(item));
+				}
+			}
+		}
+
+		return choices;
+	}
+
+	/**
+	 * Gets the choices matching the query, so the index can be used as an {@link IAutoCompleteDataProvider}<br/>
+	 * <b>Note:</b> the input is normalized with the locale of the index, not with the locale of the query
+	 * @param query the {@link AutoCompleteQuery}
+	 * @return the list of choices
+	 */
+	public List<T> find(AutoCompleteQuery query)
+	{
+		switch (query.getMatchMode())
+		{
+			case STARTS_WITH:
+				return this.startsWith(query.getTerm(), query.getOffset(), query.getLimit());
+			default:
+				return this.contains(query.getTerm(), query.getOffset(), query.getLimit());
+		}
+	}
+
+	// Helpers //
+	@SuppressWarnings("unchecked")
+	private T item(int index)
+	{
+		return (T) this.items[index];
+	}
+
+	/**
+	 * Gets the position of the first sorted text which is greater or equal to the search
+	 * @param search the normalized input
+	 * @return the position in {@link #sorted}
+	 */
+	private int lowerBound(String search)
+	{
+		int low = 0;
+		int high = this.sorted.length;
+
+		while (low < high)
+		{
+			int mid = (low + high) >>> 1;
+
+			if (this.texts[this.sorted[mid]].compareTo(search) < 0)
+			{
+				low = mid + 1;
+			}
+			else
+			{
+				high = mid;
+			}
+		}
+
+		return low;
+	}
+
+	/**
+	 * Gets the smallest posting list of the trigrams of the search
+	 * @param search the normalized input, of at least 3 characters
+	 * @return the item indexes, possibly empty
+	 */
+	private int[] candidates(String search)
+	{
+		int[] candidates = null;
+
+		for (int i = 0; i + GRAM <= search.length(); i++)
+		{
+			int index = Arrays.binarySearch(this.grams, AutoCompleteIndex.gram(search, i));
+
+			if (index < 0)
+			{
+				return EMPTY; // no text contains this trigram
+			}
+
+			if (candidates == null || this.postings[index].length < candidates.length)
+			{
+				candidates = this.postings[index];
+			}
+		}
+
+		return candidates;
+	}
+
+
+	/**
+	 * Provides a growable list of increasing int, used to build the posting lists
+	 */
+	private static class IntList
+	{
+		private int[] array = new int[4];
+		private int size = 0;
+
+		public void add(int value)
+		{
+			if (this.size > 0 && this.array[this.size - 1] == value)
+			{
+				return;
+			}
+
+			if (this.size == this.array.length)
+			{
+				this.array = Arrays.copyOf(this.array, this.size * 2);
+			}
+
+			this.array[this.size++] = value;
+		}
+
+		public int[] toArray()
+		{
+			return Arrays.copyOf(this.array, this.size);
+		}
+	}
+}
@@ -0,0 +1,305 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.jquery.ui.form.autocomplete;
+
+import java.util.Collection;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.wicket.Application;
+import org.apache.wicket.IApplicationListener;
+import org.apache.wicket.WicketRuntimeException;
+import org.apache.wicket.util.time.Duration;
+import org.apache.wicket.util.time.Time;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.googlecode.wicket.jquery.core.renderer.ITextRenderer;
+
+/**
+ * Provides an application-scoped holder of {@link AutoCompleteIndex} snapshots, rebuilt on a background thread.<br/>
+ * The choices are {@link #load()}ed and indexed outside of the request threads, either periodically (see {@link #schedule(Duration)}) or on {@link #invalidate()}.
+ * The new snapshot is then published by an atomic swap, so {@link #get()} always returns a consistent index without locking. If a rebuild fails, the previous snapshot is kept.
+ *
+ * <pre>
+ * public class MyApplication extends WebApplication
+ * {
+ *     private final AutoCompleteIndexHolder&lt;Product&gt; products = new AutoCompleteIndexHolder&lt;Product&gt;(new TextRenderer&lt;Product&gt;("name"), Locale.ENGLISH) {
+ *
+ *         protected Collection&lt;Product&gt; load()
+ *         {
+ *             return productService.findAll();
+ *         }
+ *     };
+ *
+ *     protected void init()
+ *     {
+ *         super.init();
+ *
+ *         this.getApplicationListeners().add(this.products); // stops the background thread when the application is destroyed
+ *         this.products.schedule(Duration.minutes(15));
+ *     }
+ * }
+ * </pre>
+ *
+ * @author agent
+ *
+ * @param <T> the type of the choices
+ */
+public abstract class AutoCompleteIndexHolder<T> implements IApplicationListener
+{
+	private static final Logger LOG = LoggerFactory.getLogger(AutoCompleteIndexHolder.class);
+
+	private final ITextRenderer<? super T> renderer;
+	private final Locale locale;
+
+	private final AtomicReference<AutoCompleteIndex<T>> snapshot = new AtomicReference<AutoCompleteIndex<T>>();
+	private final AtomicBoolean pending = new AtomicBoolean(false); /* coalesces invalidations */
+	private final ScheduledExecutorService executor;
+	private ScheduledFuture<?> scheduled = null;
+
+	// metrics //
+	private final AtomicLong builds = new AtomicLong();
+	private final AtomicLong failures = new AtomicLong();
+	private volatile Duration lastBuildDuration = Duration.NONE;
+	private volatile Time lastBuildTime = null;
+
+	/**
+	 * Constructor
+	 * @param renderer the {@link ITextRenderer} that gives the text to be indexed
+	 * @param locale the {@link Locale} used to normalize the texts and the inputs
+	 */
+	public AutoCompleteIndexHolder(ITextRenderer<? super T> renderer, Locale locale)
+	{
+		this.renderer = renderer;
+		this.locale = locale;
+		this.executor = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+
+			@Override
+			public Thread newThread(Runnable runnable)
+			{
+				Thread thread = new Thread(runnable, "autocomplete-index-" + AutoCompleteIndexHolder.this.getClass().getSimpleName());
+				thread.setDaemon(true);
+
+				return thread;
+			}
+		});
+	}
+
+	/**
+	 * Loads the choices to be indexed<br/>
+	 * This method is always called on the background thread, there is no request cycle.
+	 * @return the choices
+	 */
+	protected abstract Collection<? extends T> load();
+
+	// Properties //
+	/**
+	 * Gets the current snapshot of the index<br/>
+	 * If no snapshot has been built yet, the caller waits for the first build, which runs on the background thread like the other builds
+	 * @return the {@link AutoCompleteIndex}
+	 * @throws WicketRuntimeException if the first build has failed or if the holder has been stopped before any build
+	 */
+	public AutoCompleteIndex<T> get()
+	{
+		AutoCompleteIndex<T> index = this.snapshot.get();
+
+		if (index == null)
+		{
+			try
+			{
+				this.executor.submit(new Runnable() {
+
+					@Override
+					public void run()
+					{
+						if (AutoCompleteIndexHolder.this.snapshot.get() == null) // a build may have completed meanwhile
+						{
+							AutoCompleteIndexHolder.this.rebuild();
+						}
+					}
+				}).get();
+			}
+			catch (RejectedExecutionException e)
+			{
+				throw new WicketRuntimeException("the index holder has been stopped", e);
+			}
+			catch (ExecutionException e)
+			{
+				throw new WicketRuntimeException(e);
+			}
+			catch (InterruptedException e)
+			{
+				Thread.currentThread().interrupt();
+				throw new WicketRuntimeException(e);
+			}
+
+			index = this.snapshot.get();
+
+			if (index == null)
+			{
+				throw new WicketRuntimeException("the autocomplete index could not be built, see the previous errors");
+			}
+		}
+
+		return index;
+	}
+
+	/**
+	 * Gets the number of choices of the current snapshot
+	 * @return the number of choices, or 0 if no snapshot has been built yet
+	 */
+	public int size()
+	{
+		AutoCompleteIndex<T> index = this.snapshot.get();
+
+		return index != null ? index.size() : 0;
+	}
+
+	/**
+	 * Gets the number of successful builds
+	 * @return the number of builds
+	 */
+	public long getBuildCount()
+	{
+		return this.builds.get();
+	}
+
+	/**
+	 * Gets the number of failed builds
+	 * @return the number of failures
+	 */
+	public long getFailureCount()
+	{
+		return this.failures.get();
+	}
+
+	/**
+	 * Gets the duration of the last successful build, including the {@link #load()}
+	 * @return the {@link Duration}
+	 */
+	public Duration getLastBuildDuration()
+	{
+		return this.lastBuildDuration;
+	}
+
+	/**
+	 * Gets the time of the last successful build
+	 * @return the {@link Time}, or null if no snapshot has been built yet
+	 */
+	public Time getLastBuildTime()
+	{
+		return this.lastBuildTime;
+	}
+
+	// Methods //
+	/**
+	 * Requests a rebuild of the index on the background thread.<br/>
+	 * Invalidations occurring before the rebuild starts are coalesced into a single rebuild
+	 */
+	public void invalidate()
+	{
+		if (this.pending.compareAndSet(false, true))
+		{
+			this.executor.execute(new Runnable() {
+
+				@Override
+				public void run()
+				{
+					AutoCompleteIndexHolder.this.pending.set(false);
+					AutoCompleteIndexHolder.this.rebuild();
+				}
+			});
+		}
+	}
+
+	/**
+	 * Schedules a periodic rebuild of the index on the background thread, starting immediately. A previous schedule is cancelled
+	 * @param period the period between two rebuilds
+	 */
+	public synchronized void schedule(Duration period)
+	{
+		if (this.scheduled != null)
+		{
+			this.scheduled.cancel(false);
+		}
+
+		this.scheduled = this.executor.scheduleWithFixedDelay(new Runnable() {
+
+			@Override
+			public void run()
+			{
+				AutoCompleteIndexHolder.this.rebuild();
+			}
+		}, 0, period.getMilliseconds(), TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Stops the background thread. The current snapshot remains available
+	 */
+	public void stop()
+	{
+		this.executor.shutdownNow();
+	}
+
+	/**
+	 * Loads the choices and builds a new index, which replaces the current snapshot
+	 */
+	private void rebuild()
+	{
+		final Time start = Time.now();
+
+		try
+		{
+			AutoCompleteIndex<T> index = new AutoCompleteIndex<T>(this.load(), this.renderer, this.locale);
+
+			this.snapshot.set(index);
+			this.builds.incrementAndGet();
+			this.lastBuildTime = Time.now();
+			this.lastBuildDuration = Duration.elapsed(start);
+
+			LOG.debug("autocomplete index of {} choice(s) built in {}", index.size(), this.lastBuildDuration);
+		}
+		catch (RuntimeException e)
+		{
+			this.failures.incrementAndGet();
+
+			LOG.error("autocomplete index build failed, the previous snapshot is kept", e);
+		}
+	}
+
+	// IApplicationListener //
+	@Override
+	public void onAfterInitialized(Application application)
+	{
+	}
+
+	@Override
+	public void onBeforeDestroyed(Application application)
+	{
+		this.stop();
+	}
+}
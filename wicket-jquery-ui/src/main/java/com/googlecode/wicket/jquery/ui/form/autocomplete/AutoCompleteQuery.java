@@ -0,0 +1,143 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.jquery.ui.form.autocomplete;
+
+import java.util.Locale;
+
+import org.apache.wicket.util.io.IClusterable;
+
+/**
+ * Provides the query of an auto-complete lookup, so the data layer can issue a bounded query (ie: an indexed SQL query with LIMIT and OFFSET) instead of filtering a whole list in memory.<br/>
+ * See {@link IAutoCompleteDataProvider}.<br/>
+ * The query also acts as a cancellation token: a query can be cancelled while it is processed, ie: when the user has typed a new input that supersedes it (see {@link AutoCompleteFeed}).
+ * Long-running implementations should check {@link #isCancelled()} and return early.
+ *
+ * @author agent
+ *
+ */
+public final class AutoCompleteQuery implements IClusterable
+{
+	private static final long serialVersionUID = 1L;
+
+	/** The default maximum number of choices */
+	public static final int MAX = 20;
+
+	/**
+	 * Indicates how the input should match the choices
+	 */
+	public enum MatchMode
+	{
+		/** The text of the choice starts with the input */
+		STARTS_WITH,
+		/** The text of the choice contains the input */
+		CONTAINS
+	}
+
+	private final String term;
+	private final MatchMode mode;
+	private final int limit;
+	private final int offset;
+	private final Locale locale;
+	private volatile boolean cancelled = false;
+
+	/**
+	 * Constructor
+	 * @param term the user input
+	 * @param mode the {@link MatchMode}
+	 * @param limit the max number of choices to be returned
+	 * @param offset the number of matching choices to be skipped
+	 * @param locale the {@link Locale} of the user
+	 */
+	public AutoCompleteQuery(String term, MatchMode mode, int limit, int offset, Locale locale)
+	{
+		this.term = term != null ? term : "";
+		this.mode = mode;
+		this.limit = Math.max(0, limit);
+		this.offset = Math.max(0, offset);
+		this.locale = locale;
+	}
+
+	// Properties //
+	/**
+	 * Gets the user input
+	 * @return the input, never null
+	 */
+	public String getTerm()
+	{
+		return this.term;
+	}
+
+	/**
+	 * Gets the {@link MatchMode}
+	 * @return the {@link MatchMode}
+	 */
+	public MatchMode getMatchMode()
+	{
+		return this.mode;
+	}
+
+	/**
+	 * Gets the max number of choices to be returned
+	 * @return the limit
+	 */
+	public int getLimit()
+	{
+		return this.limit;
+	}
+
+	/**
+	 * Gets the number of matching choices to be skipped
+	 * @return the offset
+	 */
+	public int getOffset()
+	{
+		return this.offset;
+	}
+
+	/**
+	 * Gets the {@link Locale} of the user
+	 * @return the {@link Locale}
+	 */
+	public Locale getLocale()
+	{
+		return this.locale;
+	}
+
+	/**
+	 * Indicates whether the query has been cancelled, in which case its result will be discarded
+	 * @return true if the query has been cancelled
+	 */
+	public boolean isCancelled()
+	{
+		return this.cancelled;
+	}
+
+	// Methods //
+	/**
+	 * Cancels the query
+	 */
+	public void cancel()
+	{
+		this.cancelled = true;
+	}
+
+	@Override
+	public String toString()
+	{
+		return String.format("%s '%s' [%d, %d] %s", this.mode, this.term, this.offset, this.limit, this.locale);
+	}
+}
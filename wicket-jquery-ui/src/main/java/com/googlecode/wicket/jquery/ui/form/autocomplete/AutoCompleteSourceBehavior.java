@@ -20,6 +20,7 @@ import java.util.Collections;
 import java.util.List;
 
 import org.apache.wicket.Application;
+import org.apache.wicket.Component;
 import org.apache.wicket.ajax.AbstractDefaultAjaxBehavior;
 import org.apache.wicket.ajax.AjaxRequestTarget;
 import org.apache.wicket.request.IRequestCycle;
@@ -27,7 +28,9 @@ import org.apache.wicket.request.IRequestHandler;
 import org.apache.wicket.request.cycle.RequestCycle;
 import org.apache.wicket.request.http.WebResponse;
 
+import com.googlecode.wicket.jquery.core.json.JsonWriter;
 import com.googlecode.wicket.jquery.core.renderer.ITextRenderer;
+import com.googlecode.wicket.jquery.ui.form.autocomplete.AutoCompleteQuery.MatchMode;
 
 /**
  * Provides the {@link AbstractDefaultAjaxBehavior} for the {@link AutoCompleteTextField}
@@ -40,13 +43,28 @@ abstract class AutoCompleteSourceBehavior<T> extends AbstractDefaultAjaxBehavior
 {
 	private static final long serialVersionUID = 1L;
 	private static final String QUERY = "term";
-	private static final String QUOTE = "\"";
 
 	private final ITextRenderer<? super T> renderer;
+	private final boolean stateless;
 
+	/**
+	 * Constructor
+	 * @param renderer the {@link ITextRenderer}
+	 */
 	public AutoCompleteSourceBehavior(ITextRenderer<? super T> renderer)
+	{
+		this(renderer, false);
+	}
+
+	/**
+	 * Constructor
+	 * @param renderer the {@link ITextRenderer}
+	 * @param stateless whether the behavior is stateless. If true, the callback url is a bookmarkable listener url and the page is not versioned
+	 */
+	public AutoCompleteSourceBehavior(ITextRenderer<? super T> renderer, boolean stateless)
 	{
 		this.renderer = renderer;
+		this.stateless = stateless;
 	}
 
 	/**
@@ -56,6 +74,44 @@ abstract class AutoCompleteSourceBehavior<T> extends AbstractDefaultAjaxBehavior
 	 */
 	protected abstract List<T> getChoices(String input);
 
+	/**
+	 * Gets choices matching the provided query<br/>
+	 * Calls {@link #getChoices(String)} by default, the query should be overridden to be passed to the data layer
+	 * @param query the {@link AutoCompleteQuery}
+	 * @return the list of choices
+	 */
+	protected List<T> getChoices(AutoCompleteQuery query)
+	{
+		return this.getChoices(query.getTerm());
+	}
+
+	/**
+	 * Gets the max number of choices to be returned, passed through the {@link AutoCompleteQuery}
+	 * @return {@link AutoCompleteQuery#MAX} by default
+	 */
+	protected int getMaxResults()
+	{
+		return AutoCompleteQuery.MAX;
+	}
+
+	/**
+	 * Gets the {@link MatchMode}, passed through the {@link AutoCompleteQuery}
+	 * @return {@link MatchMode#CONTAINS} by default
+	 */
+	protected MatchMode getMatchMode()
+	{
+		return MatchMode.CONTAINS;
+	}
+
+	/**
+	 * Gets the dictionary the matches are streamed from, instead of calling {@link #getChoices(String)}
+	 * @return null by default
+	 */
+	protected AutoCompleteDictionary getDictionary()
+	{
+		return null;
+	}
+
 	/**
 	 * Gets the property list that should be appended to the JSON response. The value corresponding to the property is retrieved from the {@link ITextRenderer#getText(Object, String)}
 	 * @return the property list
@@ -65,6 +121,11 @@ abstract class AutoCompleteSourceBehavior<T> extends AbstractDefaultAjaxBehavior
 		return Collections.emptyList();
 	}
 
+	@Override
+	public boolean getStatelessHint(Component component)
+	{
+		return this.stateless;
+	}
 
 	@Override
 	protected void respond(AjaxRequestTarget target)
@@ -72,16 +133,17 @@ abstract class AutoCompleteSourceBehavior<T> extends AbstractDefaultAjaxBehavior
 		final RequestCycle requestCycle = RequestCycle.get();
 		final String value = requestCycle.getRequest().getQueryParameters().getParameterValue(QUERY).toString();
 
-		final IRequestHandler handler = this.newRequestHandler(value);
+		final AutoCompleteQuery query = new AutoCompleteQuery(value, this.getMatchMode(), this.getMaxResults(), 0, this.getComponent().getLocale());
+		final IRequestHandler handler = this.newRequestHandler(query);
 		requestCycle.scheduleRequestHandlerAfterCurrent(handler);
 	}
 
 	/**
-	 * Gets a new {@link IRequestHandler} that will call {@link #getChoices(String)} and will build be JSON response corresponding to the specified 'input' argument.
-	 * @param input user input
+	 * Gets a new {@link IRequestHandler} that will call {@link #getChoices(AutoCompleteQuery)} and will build be JSON response corresponding to the specified 'query' argument.
+	 * @param query the {@link AutoCompleteQuery}
 	 * @return a new {@link IRequestHandler}
 	 */
-	private IRequestHandler newRequestHandler(final String input)
+	IRequestHandler newRequestHandler(final AutoCompleteQuery query)
 	{
 		return new IRequestHandler()
 		{
@@ -94,38 +156,20 @@ abstract class AutoCompleteSourceBehavior<T> extends AbstractDefaultAjaxBehavior
 				response.setContentType("text/json; charset=" + encoding);
 				response.disableCaching();
 
-				List<T> choices = AutoCompleteSourceBehavior.this.getChoices(input);
-				List<String> properties = AutoCompleteSourceBehavior.this.getProperties();
+				AutoCompleteDictionary dictionary = AutoCompleteSourceBehavior.this.getDictionary();
 
-				if (choices != null)
+				if (dictionary != null)
 				{
-					StringBuilder builder = new StringBuilder("[ ");
-
-					int index = 0;
-					for (T choice : choices)
-					{
-						if (index++ > 0) { builder.append(", "); }
-
-						builder.append("{ ");
-						builder.append(QUOTE).append("id").append(QUOTE).append(": ").append(QUOTE).append(Integer.toString(index)).append(QUOTE); /* id is a reserved word */
-						builder.append(", ");
-						builder.append(QUOTE).append("value").append(QUOTE).append(": ").append(QUOTE).append(renderer.getText(choice)).append(QUOTE); /* value is a reserved word */
-
-						if (properties != null)
-						{
-							for (String property : properties)
-							{
-								builder.append(", ");
-								builder.append(QUOTE).append(property).append(QUOTE).append(": ").append(QUOTE).append(renderer.getText(choice, property)).append(QUOTE);
-							}
-						}
-
-						builder.append(" }");
-					}
+					dictionary.write(query.getTerm(), query.getLimit(), new JsonWriter(response)); // no choice object is materialized, only prefixes are matched
+					return;
+				}
 
-					builder.append(" ]");
+				List<T> choices = AutoCompleteSourceBehavior.this.getChoices(query);
+				List<String> properties = AutoCompleteSourceBehavior.this.getProperties();
 
-					response.write(builder);
+				if (choices != null)
+				{
+					AutoCompleteSourceBehavior.write(new JsonWriter(response), choices, renderer, properties);
 				}
 			}
 
@@ -135,4 +179,36 @@ abstract class AutoCompleteSourceBehavior<T> extends AbstractDefaultAjaxBehavior
 			}
 		};
 	}
+
+	/**
+	 * Writes the JSON array of choices, as expected by the jQuery UI auto-complete widget
+	 * @param writer the {@link JsonWriter}
+	 * @param choices the list of choices
+	 * @param renderer the {@link ITextRenderer}
+	 * @param properties the property list that should be appended to each choice, or null
+	 */
+	static <T> void write(JsonWriter writer, List<T> choices, ITextRenderer<? super T> renderer, List<String> properties)
+	{
+		writer.beginArray();
+
+		int index = 0;
+		for (T choice : choices)
+		{
+			writer.beginObject();
+			writer.name("id").value(Integer.toString(++index)); /* id is a reserved word */
+			writer.name("value").value(renderer.getText(choice)); /* value is a reserved word */
+
+			if (properties != null)
+			{
+				for (String property : properties)
+				{
+					writer.name(property).value(renderer.getText(choice, property));
+				}
+			}
+
+			writer.endObject();
+		}
+
+		writer.endArray();
+	}
 }
\ No newline at end of file
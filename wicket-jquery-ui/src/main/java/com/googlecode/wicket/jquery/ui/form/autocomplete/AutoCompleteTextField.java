@@ -21,6 +21,7 @@ import java.util.List;
 import java.util.Locale;
 
 import org.apache.wicket.Component;
+import org.apache.wicket.WicketRuntimeException;
 import org.apache.wicket.ajax.AjaxRequestTarget;
 import org.apache.wicket.markup.ComponentTag;
 import org.apache.wicket.markup.html.form.TextField;
@@ -30,10 +31,14 @@ import org.apache.wicket.util.convert.IConverter;
 import com.googlecode.wicket.jquery.core.IJQueryWidget;
 import com.googlecode.wicket.jquery.core.JQueryBehavior;
 import com.googlecode.wicket.jquery.core.Options;
+import com.googlecode.wicket.jquery.core.event.JQueryEventParameter;
+import com.googlecode.wicket.jquery.core.event.JQueryEventParameter.StringParameter;
 import com.googlecode.wicket.jquery.core.renderer.ITextRenderer;
 import com.googlecode.wicket.jquery.core.renderer.TextRenderer;
+import com.googlecode.wicket.jquery.core.resource.JQueryFeedResourceReference;
 import com.googlecode.wicket.jquery.core.template.IJQueryTemplate;
 import com.googlecode.wicket.jquery.core.template.JQueryTemplateBehavior;
+import com.googlecode.wicket.jquery.ui.form.autocomplete.AutoCompleteQuery.MatchMode;
 
 /**
  * Provides a jQuery auto-complete widget
@@ -45,11 +50,18 @@ import com.googlecode.wicket.jquery.core.template.JQueryTemplateBehavior;
 public abstract class AutoCompleteTextField<T extends Serializable> extends TextField<T> implements IJQueryWidget, IAutoCompleteListener
 {
 	private static final long serialVersionUID = 1L;
+	private static final StringParameter TERM = JQueryEventParameter.ofString("term");
 
 	/**
 	 * Behavior that will be called when the user enters an input
 	 */
-	private AutoCompleteSourceBehavior<T> sourceBehavior;
+	private AutoCompleteSourceBehavior<T> sourceBehavior = null;
+
+	/**
+	 * Feed that will be requested when the user enters an input, instead of the {@link #sourceBehavior}
+	 */
+	private AutoCompleteFeed<T> feed = null;
+	private String feedKey = null;
 
 	private final ITextRenderer<? super T> renderer;
 	private final IConverter<T> converter;
@@ -163,25 +175,183 @@ public abstract class AutoCompleteTextField<T extends Serializable> extends Text
 	}
 
 	/**
-	 * Gets choices matching the provided input
+	 * Gets choices matching the provided input<br/>
+	 * This method is not called if a feed is provided by {@link #newAutoCompleteFeed()}, if a dictionary is provided by {@link #getDictionary()} or if a data provider is provided by {@link #getDataProvider()}
 	 * @param input String that represent the query
 	 * @return the list of choices
 	 */
 	protected abstract List<T> getChoices(String input);
 
 	/**
-	 * Call {@link #getChoices(String)} and cache the result<br/>
+	 * Call {@link IAutoCompleteDataProvider#getChoices(AutoCompleteQuery)} (or {@link #getChoices(String)} if there is no data provider), through the {@link AutoCompleteCache} if any, and cache the result<br/>
 	 * Internal use only
-	 * @param input String that represent the query
+	 * @param query the {@link AutoCompleteQuery}
 	 * @return the list of choices
 	 */
-	private List<T> internalGetChoices(String input)
+	private List<T> internalGetChoices(AutoCompleteQuery query)
 	{
-		this.choices = this.getChoices(input);
+		IAutoCompleteDataProvider<T> provider = this.getDataProvider();
+
+		if (provider == null)
+		{
+			provider = new IAutoCompleteDataProvider<T>() {
+
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				public List<T> getChoices(AutoCompleteQuery q)
+				{
+					return AutoCompleteTextField.this.getChoices(q.getTerm());
+				}
+			};
+		}
+
+		AutoCompleteCache<T> cache = this.getCache();
+		this.choices = cache != null ? cache.get(query, provider) : provider.getChoices(query);
 
 		return this.choices;
 	}
 
+	/**
+	 * Gets the choice which text equals the submitted value, retrieved from the dictionary, the feed or the choices (see {@link #internalGetChoices(AutoCompleteQuery)})<br/>
+	 * This is used to convert the input in stateless mode, as the selected object has not been supplied by the 'select' callback
+	 *
+	 * @param value the submitted value
+	 * @param locale the {@link Locale}
+	 * @return the choice, or null if no choice has the same text
+	 */
+	private T resolveChoice(String value, Locale locale)
+	{
+		AutoCompleteDictionary dictionary = this.getDictionary();
+
+		if (dictionary != null)
+		{
+			int index = dictionary.startsWith(value).indexOf(value);
+
+			if (index > -1)
+			{
+				String payload = dictionary.getPayload(value, index);
+
+				if (payload != null)
+				{
+					return this.newChoice(payload);
+				}
+			}
+
+			return null;
+		}
+
+		List<T> list;
+
+		if (this.feed != null)
+		{
+			list = this.feed.resolveChoices(value, locale);
+		}
+		else
+		{
+			list = this.internalGetChoices(new AutoCompleteQuery(value, this.getMatchMode(), this.getMaxResults(), 0, locale));
+		}
+
+		if (list != null)
+		{
+			for (T choice : list)
+			{
+				if (value.equals(this.renderer.getText(choice)))
+				{
+					return choice;
+				}
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * Gets the url the choices are requested from
+	 * @return the feed url if a feed is used, the source behavior callback url otherwise
+	 */
+	private CharSequence getSourceUrl()
+	{
+		if (this.feed != null)
+		{
+			JQueryFeedResourceReference.register(this.feedKey, this.feed); // in case the session has dropped it
+
+			return JQueryFeedResourceReference.getCallbackUrl(this.feedKey);
+		}
+
+		return this.sourceBehavior.getCallbackUrl();
+	}
+
+	// Properties //
+	/**
+	 * Gets the data provider the {@link AutoCompleteQuery} is passed to, instead of calling {@link #getChoices(String)}
+	 *
+	 * @return null by default
+	 */
+	protected IAutoCompleteDataProvider<T> getDataProvider()
+	{
+		return null;
+	}
+
+	/**
+	 * Gets the cache the choices are looked up in, before being loaded from the data provider (or from {@link #getChoices(String)})<br/>
+	 * The cache should be shared: either application-scoped (ie: a static field) or session-scoped (see {@link AutoCompleteCache#get(org.apache.wicket.Session, String, org.apache.wicket.util.time.Duration, int)})
+	 *
+	 * @return null by default
+	 */
+	protected AutoCompleteCache<T> getCache()
+	{
+		return null;
+	}
+
+	/**
+	 * Gets the max number of choices to be returned, passed to the data layer through the {@link AutoCompleteQuery}
+	 *
+	 * @return {@link AutoCompleteQuery#MAX} by default
+	 */
+	protected int getMaxResults()
+	{
+		return AutoCompleteQuery.MAX;
+	}
+
+	/**
+	 * Gets the {@link MatchMode}, passed to the data layer through the {@link AutoCompleteQuery}
+	 *
+	 * @return {@link MatchMode#CONTAINS} by default
+	 */
+	protected MatchMode getMatchMode()
+	{
+		return MatchMode.CONTAINS;
+	}
+
+	/**
+	 * Gets the memory-mapped dictionary the choices are streamed from, instead of {@link #getChoices(String)}<br/>
+	 * Only the texts of the matching entries are read; when a choice is selected, it is retrieved from the payload of the entry by {@link #newChoice(String)}.<br/>
+	 * The dictionary should be shared by the application, not held by the component (see {@link AutoCompleteDictionary}).<br/>
+	 * <b>Note:</b> the template text properties are not supported when a dictionary is used
+	 *
+	 * @return null by default
+	 */
+	protected AutoCompleteDictionary getDictionary()
+	{
+		return null;
+	}
+
+	/**
+	 * Indicates whether the auto-complete callbacks are stateless, so the page can remain stateless (ie: when used in a {@link org.apache.wicket.markup.html.form.StatelessForm})<br/>
+	 * If true, the choices are requested through a bookmarkable listener url and the 'select' callback is not registered:
+	 * {@link #onSelected(AjaxRequestTarget)} is not triggered and the input is only processed when the form is submitted.
+	 * The submitted text is then converted to the choice having the same text, which is retrieved again from the dictionary, the feed or the choices.<br/>
+	 * The component should be created in the page constructor, so it can be found again when the page is re-created.<br/>
+	 * <b>Note:</b> this method is evaluated when the component is initialized
+	 *
+	 * @return false by default
+	 */
+	protected boolean isStatelessEnabled()
+	{
+		return false;
+	}
+
 	@Override
 	@SuppressWarnings("unchecked")
 	public <C> IConverter<C> getConverter(Class<C> type)
@@ -204,7 +374,16 @@ public abstract class AutoCompleteTextField<T extends Serializable> extends Text
 	{
 		super.onInitialize();
 
-		this.add(this.sourceBehavior = this.newAutoCompleteSourceBehavior());
+		this.feed = this.newAutoCompleteFeed();
+
+		if (this.feed != null)
+		{
+			this.feedKey = JQueryFeedResourceReference.register(this.feed);
+		}
+		else
+		{
+			this.add(this.sourceBehavior = this.newAutoCompleteSourceBehavior());
+		}
 
 		this.add(JQueryWidget.newWidgetBehavior(this)); //cannot be in ctor as the markupId may be set manually afterward
 
@@ -236,7 +415,27 @@ public abstract class AutoCompleteTextField<T extends Serializable> extends Text
 	@Override
 	public final void onSelect(AjaxRequestTarget target, int index)
 	{
-		if (index < this.choices.size())
+		AutoCompleteDictionary dictionary = this.getDictionary();
+
+		if (dictionary != null)
+		{
+			String payload = dictionary.getPayload(TERM.get(), index); // only the selected choice is materialized
+
+			if (payload != null)
+			{
+				this.setModelObject(this.newChoice(payload));
+				this.onSelected(target);
+			}
+
+			return;
+		}
+
+		if (this.feed != null)
+		{
+			this.choices = this.feed.resolveChoices(TERM.get(), this.getLocale()); // the feed has been requested outside of the page, choices are retrieved again
+		}
+
+		if (this.choices != null && index < this.choices.size())
 		{
 			T choice = AutoCompleteTextField.this.choices.get(index);
 
@@ -262,12 +461,18 @@ public abstract class AutoCompleteTextField<T extends Serializable> extends Text
 
 			private static final long serialVersionUID = 1L;
 
+			@Override
+			protected boolean isSelectEventEnabled()
+			{
+				return !AutoCompleteTextField.this.isStatelessEnabled();
+			}
+
 			@Override
 			public void onConfigure(Component component)
 			{
 				super.onConfigure(component);
 
-				this.setOption("source", Options.asString(AutoCompleteTextField.this.sourceBehavior.getCallbackUrl()));
+				this.setOption("source", Options.asString(AutoCompleteTextField.this.getSourceUrl()));
 
 				AutoCompleteTextField.this.onConfigure(this);
 			}
@@ -306,6 +511,32 @@ public abstract class AutoCompleteTextField<T extends Serializable> extends Text
 		return null;
 	}
 
+	/**
+	 * Gets a new {@link AutoCompleteFeed} that will provide the choices instead of {@link #getChoices(String)}.<br/>
+	 * The feed is requested through a resource url, which does not lock the page, so concurrent keystrokes are served in parallel.
+	 * The feed should be thread-safe and should not reference this component (see {@link AutoCompleteFeed}).<br/>
+	 * When a choice is selected, {@link AutoCompleteFeed#getChoices(String)} is called again with the same input, in order to retrieve the selected object.<br/>
+	 * <b>Note:</b> this method is called when the component is initialized
+	 *
+	 * @return null by default
+	 */
+	protected AutoCompleteFeed<T> newAutoCompleteFeed()
+	{
+		return null;
+	}
+
+	/**
+	 * Gets the choice corresponding to the payload of the selected dictionary entry (see {@link #getDictionary()})<br/>
+	 * This method should be overridden if a dictionary is used
+	 *
+	 * @param payload the payload of the entry (ie: the primary key)
+	 * @return the choice
+	 */
+	protected T newChoice(String payload)
+	{
+		throw new WicketRuntimeException("newChoice(String) should be overridden when a dictionary is used");
+	}
+
 	/**
 	 * Gets a new {@link IConverter}.
 	 * Used when/if the bean type has been supplied to the constructor.
@@ -325,6 +556,11 @@ public abstract class AutoCompleteTextField<T extends Serializable> extends Text
 					return AutoCompleteTextField.this.getModelObject();
 				}
 
+				if (value != null && AutoCompleteTextField.this.isStatelessEnabled())
+				{
+					return AutoCompleteTextField.this.resolveChoice(value, locale); // there is no 'select' callback, the choice is retrieved from its text
+				}
+
 				return null; //if the TextField value (string) does not corresponds to the current object model (ie: user specific value), returns null.
 			}
 
@@ -342,14 +578,38 @@ public abstract class AutoCompleteTextField<T extends Serializable> extends Text
 	 */
 	private AutoCompleteSourceBehavior<T> newAutoCompleteSourceBehavior()
 	{
-		return new AutoCompleteSourceBehavior<T>(this.renderer) {
+		return new AutoCompleteSourceBehavior<T>(this.renderer, this.isStatelessEnabled()) {
 
 			private static final long serialVersionUID = 1L;
 
 			@Override
 			protected List<T> getChoices(String input)
 			{
-				return AutoCompleteTextField.this.internalGetChoices(input);
+				return AutoCompleteTextField.this.getChoices(input);
+			}
+
+			@Override
+			protected List<T> getChoices(AutoCompleteQuery query)
+			{
+				return AutoCompleteTextField.this.internalGetChoices(query);
+			}
+
+			@Override
+			protected int getMaxResults()
+			{
+				return AutoCompleteTextField.this.getMaxResults();
+			}
+
+			@Override
+			protected MatchMode getMatchMode()
+			{
+				return AutoCompleteTextField.this.getMatchMode();
+			}
+
+			@Override
+			protected AutoCompleteDictionary getDictionary()
+			{
+				return AutoCompleteTextField.this.getDictionary();
 			}
 
 			@Override
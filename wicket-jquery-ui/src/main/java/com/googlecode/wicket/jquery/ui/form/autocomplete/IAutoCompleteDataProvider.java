@@ -0,0 +1,48 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.jquery.ui.form.autocomplete;
+
+import java.util.List;
+
+import org.apache.wicket.util.io.IClusterable;
+
+/**
+ * Provides the choices of an {@link AutoCompleteTextField} for an {@link AutoCompleteQuery}, so the data layer receives the term, the match mode, the limit, the offset and the locale
+ * and can issue a bounded query, ie:
+ *
+ * <pre>
+ * public List&lt;Product&gt; getChoices(AutoCompleteQuery query)
+ * {
+ *     return productDao.findByName(query.getTerm(), query.getMatchMode(), query.getOffset(), query.getLimit());
+ * }
+ * </pre>
+ *
+ * See {@link AutoCompleteTextField#getDataProvider()}
+ *
+ * @author agent
+ *
+ * @param <T> the type of the choices
+ */
+public interface IAutoCompleteDataProvider<T> extends IClusterable
+{
+	/**
+	 * Gets the choices matching the query
+	 * @param query the {@link AutoCompleteQuery}
+	 * @return the list of choices, of at most {@link AutoCompleteQuery#getLimit()} elements
+	 */
+	List<T> getChoices(AutoCompleteQuery query);
+}
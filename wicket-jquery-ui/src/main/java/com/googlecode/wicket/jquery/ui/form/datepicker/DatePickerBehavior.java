@@ -25,7 +25,8 @@ import com.googlecode.wicket.jquery.core.Options;
 import com.googlecode.wicket.jquery.core.ajax.IJQueryAjaxAware;
 import com.googlecode.wicket.jquery.core.ajax.JQueryAjaxBehavior;
 import com.googlecode.wicket.jquery.core.ajax.JQueryAjaxPostBehavior;
-import com.googlecode.wicket.jquery.core.utils.RequestCycleUtils;
+import com.googlecode.wicket.jquery.core.event.JQueryEventParameter;
+import com.googlecode.wicket.jquery.core.event.JQueryEventParameter.StringParameter;
 
 /**
  * Provides a jQuery datepicker behavior
@@ -106,11 +107,13 @@ public abstract class DatePickerBehavior extends JQueryBehavior implements IJQue
 	 */
 	protected static class SelectEvent extends JQueryEvent
 	{
+		private static final StringParameter DATE_TEXT = JQueryEventParameter.ofString("dateText");
+
 		private final String date;
 
 		public SelectEvent()
 		{
-			this.date = RequestCycleUtils.getPostParameterValue("dateText").toString();
+			this.date = DATE_TEXT.get();
 		}
 
 		public String getDateText()
@@ -66,7 +66,7 @@ public abstract class AjaxSliderBehavior extends SliderBehavior implements IJQue
 	{
 		super.onConfigure(component);
 
-		this.setOption("change", this.onChangeBehavior.getCallbackFunction());
+		this.setOption("change", this.onChangeBehavior.getCallbackFunction(this.getRateStrategy("change")));
 	}
 
 	// Factories //
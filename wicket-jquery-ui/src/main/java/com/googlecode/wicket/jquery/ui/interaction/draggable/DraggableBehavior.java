@@ -27,6 +27,7 @@ import com.googlecode.wicket.jquery.core.JQueryEvent;
 import com.googlecode.wicket.jquery.core.Options;
 import com.googlecode.wicket.jquery.core.ajax.IJQueryAjaxAware;
 import com.googlecode.wicket.jquery.core.ajax.JQueryAjaxBehavior;
+import com.googlecode.wicket.jquery.core.ajax.JQueryAjaxDispatchBehavior;
 import com.googlecode.wicket.jquery.ui.interaction.droppable.DroppableBehavior;
 
 /**
@@ -39,8 +40,15 @@ public abstract class DraggableBehavior extends JQueryBehavior implements IJQuer
 	private static final long serialVersionUID = 1L;
 	private static final String METHOD = "draggable";
 
-	private JQueryAjaxBehavior onDragStartBehavior;
-	private JQueryAjaxBehavior onDragStopBehavior = null;
+	// event types //
+	private static final String START = "start";
+	private static final String STOP = "stop";
+
+	private static final CallbackParameter[] PARAMETERS = new CallbackParameter[] { CallbackParameter.context("event"), CallbackParameter.context("ui") };
+
+	private JQueryAjaxDispatchBehavior onDragBehavior; // dispatches start & stop events
+	private JQueryAjaxBehavior onDragStartBehavior = null; // provided by the deprecated factory, if any
+	private JQueryAjaxBehavior onDragStopBehavior = null; // provided by the deprecated factory, if any
 	private Component component;
 
 	/**
@@ -68,12 +76,23 @@ public abstract class DraggableBehavior extends JQueryBehavior implements IJQuer
 	{
 		super.bind(component);
 
-		component.add(this.onDragStartBehavior = this.newOnDragStartBehavior());
+		component.add(this.onDragBehavior = this.newOnDragBehavior());
+
+		this.onDragStartBehavior = this.newOnDragStartBehavior();
+
+		if (this.onDragStartBehavior != null)
+		{
+			component.add(this.onDragStartBehavior);
+		}
 
-		// these events are not enabled by default to prevent unnecessary server round-trips.
 		if (this.isStopEventEnabled())
 		{
-			component.add(this.onDragStopBehavior = this.newOnDragStopBehavior());
+			this.onDragStopBehavior = this.newOnDragStopBehavior();
+
+			if (this.onDragStopBehavior != null)
+			{
+				component.add(this.onDragStopBehavior);
+			}
 		}
 
 		this.component = component; //warning, not thread-safe: the instance of this behavior should only be used once
@@ -85,12 +104,29 @@ public abstract class DraggableBehavior extends JQueryBehavior implements IJQuer
 	{
 		super.onConfigure(component);
 
-		this.setOption("start", this.onDragStartBehavior.getCallbackFunction());
+		this.setOption(START, this.getCallbackFunction(this.onDragStartBehavior, START));
+
+		// these events are not enabled by default to prevent unnecessary server round-trips.
+		if (this.isStopEventEnabled())
+		{
+			this.setOption(STOP, this.getCallbackFunction(this.onDragStopBehavior, STOP));
+		}
+	}
 
-		if (this.onDragStopBehavior != null)
+	/**
+	 * Gets the callback function of an event type
+	 * @param behavior the behavior provided by the deprecated factory, or null
+	 * @param type the event type
+	 * @return the callback function of the deprecated behavior if any, the callback function of the event type of the dispatch behavior otherwise
+	 */
+	private String getCallbackFunction(JQueryAjaxBehavior behavior, String type)
+	{
+		if (behavior != null)
 		{
-			this.setOption("stop", this.onDragStopBehavior.getCallbackFunction());
+			return behavior.getCallbackFunction().toString();
 		}
+
+		return this.onDragBehavior.getCallbackFunction(type, this.getRateStrategy(type), PARAMETERS);
 	}
 
 	@Override
@@ -133,51 +169,57 @@ public abstract class DraggableBehavior extends JQueryBehavior implements IJQuer
 	}
 
 	/**
-	 * Gets a new {@link JQueryAjaxBehavior} that will be called on 'start' javascript event
-	 * @return the {@link JQueryAjaxBehavior}
+	 * Gets a new {@link JQueryAjaxDispatchBehavior} that will be called on 'start' and 'stop' javascript events
+	 * @return the {@link JQueryAjaxDispatchBehavior}
 	 */
-	protected JQueryAjaxBehavior newOnDragStartBehavior()
+	protected JQueryAjaxDispatchBehavior newOnDragBehavior()
 	{
-		return new JQueryAjaxBehavior(this) {
+		return new JQueryAjaxDispatchBehavior(this) {
 
 			private static final long serialVersionUID = 1L;
 
 			@Override
-			protected CallbackParameter[] getCallbackParameters()
+			protected JQueryEvent newEvent(String type)
 			{
-				return new CallbackParameter[] { CallbackParameter.context("event"), CallbackParameter.context("ui") };
-			}
+				if (START.equals(type))
+				{
+					return new DragStartEvent();
+				}
 
-			@Override
-			protected JQueryEvent newEvent()
-			{
-				return new DragStartEvent();
+				if (STOP.equals(type))
+				{
+					return new DragStopEvent();
+				}
+
+				return null;
 			}
 		};
 	}
 
 	/**
-	 * Gets a new {@link JQueryAjaxBehavior} that will be called on 'stop' javascript event
-	 * @return the {@link JQueryAjaxBehavior}
+	 * Gets a new {@link JQueryAjaxBehavior} that will be called on 'start' javascript event<br/>
+	 * The event is dispatched by the behavior returned by {@link #newOnDragBehavior()}, unless this method is overridden
+	 *
+	 * @return null by default
+	 * @deprecated override {@link #newOnDragBehavior()} instead
 	 */
-	protected JQueryAjaxBehavior newOnDragStopBehavior()
+	@Deprecated
+	protected JQueryAjaxBehavior newOnDragStartBehavior()
 	{
-		return new JQueryAjaxBehavior(this) {
-
-			private static final long serialVersionUID = 1L;
-
-			@Override
-			protected CallbackParameter[] getCallbackParameters()
-			{
-				return new CallbackParameter[] { CallbackParameter.context("event"), CallbackParameter.context("ui") };
-			}
+		return null;
+	}
 
-			@Override
-			protected JQueryEvent newEvent()
-			{
-				return new DragStopEvent();
-			}
-		};
+	/**
+	 * Gets a new {@link JQueryAjaxBehavior} that will be called on 'stop' javascript event<br/>
+	 * The event is dispatched by the behavior returned by {@link #newOnDragBehavior()}, unless this method is overridden
+	 *
+	 * @return null by default
+	 * @deprecated override {@link #newOnDragBehavior()} instead
+	 */
+	@Deprecated
+	protected JQueryAjaxBehavior newOnDragStopBehavior()
+	{
+		return null;
 	}
 
 
@@ -25,6 +25,7 @@ import com.googlecode.wicket.jquery.core.JQueryEvent;
 import com.googlecode.wicket.jquery.core.Options;
 import com.googlecode.wicket.jquery.core.ajax.IJQueryAjaxAware;
 import com.googlecode.wicket.jquery.core.ajax.JQueryAjaxBehavior;
+import com.googlecode.wicket.jquery.core.ajax.JQueryAjaxDispatchBehavior;
 
 /**
  * Provides a jQuery droppable behavior
@@ -36,7 +37,17 @@ public abstract class DroppableBehavior extends JQueryBehavior implements IJQuer
 	private static final long serialVersionUID = 1L;
 	private static final String METHOD = "droppable";
 
-	private JQueryAjaxBehavior onDropBehavior;
+	// event types //
+	private static final String DROP = "drop";
+	private static final String OVER = "over";
+	private static final String OUT = "out";
+
+	private static final CallbackParameter[] PARAMETERS = new CallbackParameter[] { CallbackParameter.context("event"), CallbackParameter.context("ui") };
+
+	private JQueryAjaxDispatchBehavior onEventBehavior; // dispatches drop, over & out events
+
+	// behaviors provided by the deprecated factories, if any //
+	private JQueryAjaxBehavior onDropBehavior = null;
 	private JQueryAjaxBehavior onOverBehavior = null;
 	private JQueryAjaxBehavior onExitBehavior = null;
 
@@ -73,17 +84,33 @@ public abstract class DroppableBehavior extends JQueryBehavior implements IJQuer
 	{
 		super.bind(component);
 
-		component.add(this.onDropBehavior = this.newOnDropBehavior());
+		component.add(this.onEventBehavior = this.newOnEventBehavior());
+
+		this.onDropBehavior = this.newOnDropBehavior();
+
+		if (this.onDropBehavior != null)
+		{
+			component.add(this.onDropBehavior);
+		}
 
-		// these events are not enabled by default to prevent unnecessary server round-trips.
 		if (this.isOverEventEnabled())
 		{
-			component.add(this.onOverBehavior = this.newOnOverBehavior());
+			this.onOverBehavior = this.newOnOverBehavior();
+
+			if (this.onOverBehavior != null)
+			{
+				component.add(this.onOverBehavior);
+			}
 		}
 
 		if (this.isExitEventEnabled())
 		{
-			component.add(this.onExitBehavior = this.newOnExitBehavior());
+			this.onExitBehavior = this.newOnExitBehavior();
+
+			if (this.onExitBehavior != null)
+			{
+				component.add(this.onExitBehavior);
+			}
 		}
 	}
 
@@ -93,17 +120,34 @@ public abstract class DroppableBehavior extends JQueryBehavior implements IJQuer
 	{
 		super.onConfigure(component);
 
-		this.setOption("drop", this.onDropBehavior.getCallbackFunction());
+		this.setOption(DROP, this.getCallbackFunction(this.onDropBehavior, DROP));
 
-		if (this.onOverBehavior != null)
+		// these events are not enabled by default to prevent unnecessary server round-trips.
+		if (this.isOverEventEnabled())
 		{
-			this.setOption("over", this.onOverBehavior.getCallbackFunction());
+			this.setOption(OVER, this.getCallbackFunction(this.onOverBehavior, OVER));
 		}
 
-		if (this.onExitBehavior != null)
+		if (this.isExitEventEnabled())
+		{
+			this.setOption(OUT, this.getCallbackFunction(this.onExitBehavior, OUT));
+		}
+	}
+
+	/**
+	 * Gets the callback function of an event type
+	 * @param behavior the behavior provided by the deprecated factory, or null
+	 * @param type the event type
+	 * @return the callback function of the deprecated behavior if any, the callback function of the event type of the dispatch behavior otherwise
+	 */
+	private String getCallbackFunction(JQueryAjaxBehavior behavior, String type)
+	{
+		if (behavior != null)
 		{
-			this.setOption("out", this.onExitBehavior.getCallbackFunction());
+			return behavior.getCallbackFunction().toString();
 		}
+
+		return this.onEventBehavior.getCallbackFunction(type, this.getRateStrategy(type), PARAMETERS);
 	}
 
 	@Override
@@ -127,75 +171,75 @@ public abstract class DroppableBehavior extends JQueryBehavior implements IJQuer
 
 	// Factories //
 	/**
-	 * Gets a new {@link JQueryAjaxBehavior} that will be called on 'drop' javascript event
-	 * @return the {@link JQueryAjaxBehavior}
+	 * Gets a new {@link JQueryAjaxDispatchBehavior} that will be called on 'drop', 'over' and 'out' javascript events
+	 * @return the {@link JQueryAjaxDispatchBehavior}
 	 */
-	protected JQueryAjaxBehavior newOnDropBehavior()
+	protected JQueryAjaxDispatchBehavior newOnEventBehavior()
 	{
-		return new JQueryAjaxBehavior(this) {
+		return new JQueryAjaxDispatchBehavior(this) {
 
 			private static final long serialVersionUID = 1L;
 
 			@Override
-			protected CallbackParameter[] getCallbackParameters()
-			{
-				return new CallbackParameter[] { CallbackParameter.context("event"), CallbackParameter.context("ui") };
-			}
-
-			@Override
-			protected JQueryEvent newEvent()
+			protected JQueryEvent newEvent(String type)
 			{
-				return new DropEvent();
+				if (DROP.equals(type))
+				{
+					return new DropEvent();
+				}
+
+				if (OVER.equals(type))
+				{
+					return new OverEvent();
+				}
+
+				if (OUT.equals(type))
+				{
+					return new ExitEvent();
+				}
+
+				return null;
 			}
 		};
 	}
 
 	/**
-	 * Gets a new {@link JQueryAjaxBehavior} that will be called on 'over' javascript event
-	 * @return the {@link JQueryAjaxBehavior}
+	 * Gets a new {@link JQueryAjaxBehavior} that will be called on 'drop' javascript event<br/>
+	 * The event is dispatched by the behavior returned by {@link #newOnEventBehavior()}, unless this method is overridden
+	 *
+	 * @return null by default
+	 * @deprecated override {@link #newOnEventBehavior()} instead
 	 */
-	protected JQueryAjaxBehavior newOnOverBehavior()
+	@Deprecated
+	protected JQueryAjaxBehavior newOnDropBehavior()
 	{
-		return new JQueryAjaxBehavior(this) {
-
-			private static final long serialVersionUID = 1L;
-
-			@Override
-			protected CallbackParameter[] getCallbackParameters()
-			{
-				return new CallbackParameter[] { CallbackParameter.context("event"), CallbackParameter.context("ui") };
-			}
+		return null;
+	}
 
-			@Override
-			protected JQueryEvent newEvent()
-			{
-				return new OverEvent();
-			}
-		};
+	/**
+	 * Gets a new {@link JQueryAjaxBehavior} that will be called on 'over' javascript event<br/>
+	 * The event is dispatched by the behavior returned by {@link #newOnEventBehavior()}, unless this method is overridden
+	 *
+	 * @return null by default
+	 * @deprecated override {@link #newOnEventBehavior()} instead
+	 */
+	@Deprecated
+	protected JQueryAjaxBehavior newOnOverBehavior()
+	{
+		return null;
 	}
 
 	/**
-	 * Gets a new {@link JQueryAjaxBehavior} that will be called on 'exit' javascript event
-	 * @return the {@link JQueryAjaxBehavior}
+	 * Gets a new {@link JQueryAjaxBehavior} that will be called on 'out' javascript event<br/>
+	 * The event is dispatched by the behavior returned by {@link #newOnEventBehavior()}, unless this method is overridden
+	 *
+	 * @return null by default
+	 * @deprecated override {@link #newOnEventBehavior()} instead
 	 */
+	@Deprecated
 	protected JQueryAjaxBehavior newOnExitBehavior()
 	{
-		return new JQueryAjaxBehavior(this) {
-
-			private static final long serialVersionUID = 1L;
-
-			@Override
-			protected CallbackParameter[] getCallbackParameters()
-			{
-				return new CallbackParameter[] { CallbackParameter.context("event"), CallbackParameter.context("ui") };
-			}
-
-			@Override
-			protected JQueryEvent newEvent()
-			{
-				return new ExitEvent();
-			}
-		};
+		return null;
 	}
 
 	// Event classes //
@@ -25,7 +25,8 @@ import com.googlecode.wicket.jquery.core.JQueryEvent;
 import com.googlecode.wicket.jquery.core.Options;
 import com.googlecode.wicket.jquery.core.ajax.IJQueryAjaxAware;
 import com.googlecode.wicket.jquery.core.ajax.JQueryAjaxBehavior;
-import com.googlecode.wicket.jquery.core.utils.RequestCycleUtils;
+import com.googlecode.wicket.jquery.core.event.JQueryEventParameter;
+import com.googlecode.wicket.jquery.core.event.JQueryEventParameter.IntParameter;
 
 /**
  * Provides a jQuery resizable behavior
@@ -85,12 +86,12 @@ public abstract class ResizableBehavior extends JQueryBehavior implements IJQuer
 
 		if (this.onResizeStartBehavior != null)
 		{
-			this.setOption("start", this.onResizeStartBehavior.getCallbackFunction());
+			this.setOption("start", this.onResizeStartBehavior.getCallbackFunction(this.getRateStrategy("start")));
 		}
 
 		if (this.onResizeStopBehavior != null)
 		{
-			this.setOption("stop", this.onResizeStopBehavior.getCallbackFunction());
+			this.setOption("stop", this.onResizeStopBehavior.getCallbackFunction(this.getRateStrategy("stop")));
 		}
 	}
 
@@ -183,6 +184,11 @@ public abstract class ResizableBehavior extends JQueryBehavior implements IJQuer
 	 */
 	protected static class ResizeEvent extends JQueryEvent
 	{
+		private static final IntParameter TOP = JQueryEventParameter.ofInt("top");
+		private static final IntParameter LEFT = JQueryEventParameter.ofInt("left");
+		private static final IntParameter WIDTH = JQueryEventParameter.ofInt("width");
+		private static final IntParameter HEIGHT = JQueryEventParameter.ofInt("height");
+
 		private final int top;
 		private final int left;
 		private final int width;
@@ -193,10 +199,10 @@ public abstract class ResizableBehavior extends JQueryBehavior implements IJQuer
 		 */
 		public ResizeEvent()
 		{
-			this.top = RequestCycleUtils.getQueryParameterValue("top").toInt(-1);
-			this.left = RequestCycleUtils.getQueryParameterValue("left").toInt(-1);
-			this.width = RequestCycleUtils.getQueryParameterValue("width").toInt(-1);
-			this.height = RequestCycleUtils.getQueryParameterValue("height").toInt(-1);
+			this.top = TOP.get(-1);
+			this.left = LEFT.get(-1);
+			this.width = WIDTH.get(-1);
+			this.height = HEIGHT.get(-1);
 		}
 
 		/**
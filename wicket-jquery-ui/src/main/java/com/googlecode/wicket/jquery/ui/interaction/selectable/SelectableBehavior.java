@@ -19,20 +19,18 @@ package com.googlecode.wicket.jquery.ui.interaction.selectable;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import org.apache.wicket.Component;
 import org.apache.wicket.ajax.AjaxRequestTarget;
 import org.apache.wicket.ajax.attributes.CallbackParameter;
-import org.apache.wicket.util.string.StringValue;
 
 import com.googlecode.wicket.jquery.core.JQueryBehavior;
 import com.googlecode.wicket.jquery.core.JQueryEvent;
 import com.googlecode.wicket.jquery.core.Options;
 import com.googlecode.wicket.jquery.core.ajax.IJQueryAjaxAware;
 import com.googlecode.wicket.jquery.core.ajax.JQueryAjaxBehavior;
-import com.googlecode.wicket.jquery.core.utils.RequestCycleUtils;
+import com.googlecode.wicket.jquery.core.event.JQueryEventParameter;
+import com.googlecode.wicket.jquery.core.event.JQueryEventParameter.IntArrayParameter;
 
 /**
  * Provides a jQuery selectable behavior
@@ -111,7 +109,7 @@ public abstract class SelectableBehavior<T extends Serializable> extends JQueryB
 			List<T> items = new ArrayList<T>();
 			List<T> list = this.getItemList();
 
-			for (int index : ((StopEvent)event).getIndexes())
+			for (int index : ((StopEvent)event).getIndexArray())
 			{
 				// defensive, if the item-selector is miss-configured, this can result in an OutOfBoundException
 				if (index < list.size())
@@ -138,18 +136,12 @@ public abstract class SelectableBehavior<T extends Serializable> extends JQueryB
 
 			@Override
 			protected CallbackParameter[] getCallbackParameters()
-			{
-				return new CallbackParameter[] { CallbackParameter.resolved("indexes", "indexes") };
-			}
-
-			@Override
-			public CharSequence getCallbackFunctionBody(CallbackParameter... parameters)
 			{
 				//build indexes array, ie: 'indexes=[1,2,3]'
 				String selector = String.format("%s %s", SelectableBehavior.this.selector, SelectableBehavior.this.getItemSelector());
-				String indexes = "var indexes=[]; jQuery('.ui-selected', this).each( function() { indexes.push(jQuery('" + selector + "').index(this)); } ); ";
+				String indexes = "jQuery('.ui-selected', this).map( function() { return jQuery('" + selector + "').index(this); } ).get()";
 
-				return indexes + super.getCallbackFunctionBody(parameters);
+				return new CallbackParameter[] { CallbackParameter.resolved("indexes", indexes) };
 			}
 
 			@Override
@@ -166,26 +158,36 @@ public abstract class SelectableBehavior<T extends Serializable> extends JQueryB
 	 */
 	protected static class StopEvent extends JQueryEvent
 	{
-		private final List<Integer> indexes;
+		private static final IntArrayParameter INDEXES = JQueryEventParameter.ofIntArray("indexes");
+
+		private final int[] indexes;
 
 		public StopEvent()
 		{
-			this.indexes = new ArrayList<Integer>();
-			StringValue values = RequestCycleUtils.getQueryParameterValue("indexes");
+			this.indexes = INDEXES.get();
+		}
 
-			if (values != null)
-			{
-				Pattern pattern = Pattern.compile("(\\d+)");
-				Matcher matcher = pattern.matcher(values.toString());
+		/**
+		 * Gets the indexes of the selected items
+		 * @return the {@link List} of indexes
+		 */
+		public List<Integer> getIndexes()
+		{
+			List<Integer> list = new ArrayList<Integer>(this.indexes.length);
 
-				while (matcher.find())
-				{
-					this.indexes.add(Integer.valueOf(matcher.group()));
-				}
+			for (int index : this.indexes)
+			{
+				list.add(index);
 			}
+
+			return list;
 		}
 
-		public List<Integer> getIndexes()
+		/**
+		 * Gets the indexes of the selected items
+		 * @return the array of indexes
+		 */
+		public int[] getIndexArray()
 		{
 			return this.indexes;
 		}
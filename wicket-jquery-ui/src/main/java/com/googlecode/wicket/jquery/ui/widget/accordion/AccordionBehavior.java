@@ -28,7 +28,8 @@ import com.googlecode.wicket.jquery.core.JQueryEvent;
 import com.googlecode.wicket.jquery.core.Options;
 import com.googlecode.wicket.jquery.core.ajax.IJQueryAjaxAware;
 import com.googlecode.wicket.jquery.core.ajax.JQueryAjaxBehavior;
-import com.googlecode.wicket.jquery.core.utils.RequestCycleUtils;
+import com.googlecode.wicket.jquery.core.event.JQueryEventParameter;
+import com.googlecode.wicket.jquery.core.event.JQueryEventParameter.IntParameter;
 import com.googlecode.wicket.jquery.ui.widget.tabs.AjaxTab;
 
 /**
@@ -165,6 +166,8 @@ public abstract class AccordionBehavior extends JQueryBehavior implements IJQuer
 	 */
 	protected static class ActivateEvent extends JQueryEvent
 	{
+		private static final IntParameter INDEX = JQueryEventParameter.ofInt("index");
+
 		private final int index;
 
 		/**
@@ -174,7 +177,7 @@ public abstract class AccordionBehavior extends JQueryBehavior implements IJQuer
 		{
 			super();
 
-			this.index = RequestCycleUtils.getQueryParameterValue("index").toInt(-1);
+			this.index = INDEX.get(-1);
 		}
 
 		/**
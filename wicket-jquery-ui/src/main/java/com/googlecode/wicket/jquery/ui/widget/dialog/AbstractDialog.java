@@ -252,6 +252,21 @@ public abstract class AbstractDialog<T extends Serializable> extends JQueryPanel
 		this.title = title;
 	}
 
+	/**
+	 * Sets the dialog's title, and updates the title of the dialog widget
+	 * @param target the {@link AjaxRequestTarget}
+	 * @param title the dialog's title
+	 */
+	public void setTitle(AjaxRequestTarget target, IModel<String> title)
+	{
+		this.setTitle(title);
+
+		if (this.widgetBehavior != null)
+		{
+			this.widgetBehavior.setOption(target, "title", Options.asString(title.getObject()));
+		}
+	}
+
 	/**
 	 * Gets the modal flag
 	 * @return the modal flag supplied to the constructor by default
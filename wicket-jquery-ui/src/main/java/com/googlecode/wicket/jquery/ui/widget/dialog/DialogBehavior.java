@@ -26,6 +26,7 @@ import com.googlecode.wicket.jquery.core.JQueryEvent;
 import com.googlecode.wicket.jquery.core.Options;
 import com.googlecode.wicket.jquery.core.ajax.IJQueryAjaxAware;
 import com.googlecode.wicket.jquery.core.ajax.JQueryAjaxBehavior;
+import com.googlecode.wicket.jquery.core.json.JsonWriter;
 import com.googlecode.wicket.jquery.ui.form.button.Button;
 
 /**
@@ -118,26 +119,25 @@ public abstract class DialogBehavior extends JQueryBehavior implements IJQueryAj
 		}
 
 		// buttons events //
-		StringBuffer buttons = new StringBuffer("[ ");
+		StringBuilder buttons = new StringBuilder();
+		JsonWriter writer = new JsonWriter(buttons).beginArray();
 
-		int index = 0;
 		for(ButtonAjaxBehavior behavior : component.getBehaviors(ButtonAjaxBehavior.class))
 		{
 			DialogButton button = behavior.getButton();
 
-			if (index++ > 0) { buttons.append(", "); }
-			buttons.append("{");
-			buttons.append("'id': '").append(button.getMarkupId()).append("', ");
-			buttons.append("'text': '").append(button.toString()).append("', ");
-			if (!button.isEnabled()) { buttons.append("'disabled': true, "); }
-			if (button.getIcon() != null) { buttons.append("icons: { primary: '").append(button.getIcon()).append("' }, "); }
-			buttons.append("'click': function() { ").append(behavior.getCallbackScript()).append(" }");
-			buttons.append("}");
+			writer.beginObject();
+			writer.name("id").value(button.getMarkupId());
+			writer.name("text").value(button.toString());
+			if (!button.isEnabled()) { writer.name("disabled").value(true); }
+			if (button.getIcon() != null) { writer.name("icons").beginObject().name("primary").value(button.getIcon()).endObject(); }
+			writer.name("click").raw("function() { " + behavior.getCallbackScript() + " }");
+			writer.endObject();
 		}
 
-		buttons.append(" ]");
+		writer.endArray();
 
-		this.setOption("buttons", buttons);
+		this.setOption("buttons", buttons.toString());
 	}
 
 	@Override
@@ -16,6 +16,10 @@
  */
 package com.googlecode.wicket.jquery.ui.widget.dialog;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
 import org.apache.wicket.ajax.AjaxRequestTarget;
 import org.apache.wicket.model.IModel;
 import org.apache.wicket.util.io.IClusterable;
@@ -41,11 +45,12 @@ public class DialogButton implements IClusterable
 	}
 
 
-	private final int id;
-	private final String text;
-	private String icon;
-	private boolean enabled;
-	private boolean visible = true;
+	// fields are transient: they are written by #writeObject(ObjectOutputStream) //
+	private transient int id;
+	private transient String text;
+	private transient String icon;
+	private transient boolean enabled;
+	private transient boolean visible = true;
 
 	/**
 	 * Constructor
@@ -258,6 +263,44 @@ public class DialogButton implements IClusterable
 	}
 
 
+	// Serialization //
+	/**
+	 * Writes a compact representation of the button: the id (which is a short, see {@link #nextSequence()}), the states as a single byte, the text and the icon
+	 * @param out the {@link ObjectOutputStream}
+	 * @throws IOException if an I/O error occurs
+	 */
+	private void writeObject(ObjectOutputStream out) throws IOException
+	{
+		out.defaultWriteObject();
+
+		out.writeShort(this.id);
+		out.writeByte((this.enabled ? 1 : 0) | (this.visible ? 2 : 0));
+		out.writeObject(this.text);
+		out.writeObject(this.icon);
+	}
+
+	/**
+	 * Reads the representation written by {@link #writeObject(ObjectOutputStream)}. The icon (css class) is interned.
+	 * @param in the {@link ObjectInputStream}
+	 * @throws IOException if an I/O error occurs
+	 * @throws ClassNotFoundException if a class cannot be found
+	 */
+	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException
+	{
+		in.defaultReadObject();
+
+		this.id = in.readShort();
+
+		final int states = in.readByte();
+		this.enabled = (states & 1) != 0;
+		this.visible = (states & 2) != 0;
+
+		this.text = (String) in.readObject();
+
+		final String icon = (String) in.readObject();
+		this.icon = icon != null ? icon.intern() : null;
+	}
+
 	@Override
 	public int hashCode()
 	{
@@ -27,7 +27,8 @@ import com.googlecode.wicket.jquery.core.JQueryEvent;
 import com.googlecode.wicket.jquery.core.Options;
 import com.googlecode.wicket.jquery.core.ajax.IJQueryAjaxAware;
 import com.googlecode.wicket.jquery.core.ajax.JQueryAjaxBehavior;
-import com.googlecode.wicket.jquery.core.utils.RequestCycleUtils;
+import com.googlecode.wicket.jquery.core.event.JQueryEventParameter;
+import com.googlecode.wicket.jquery.core.event.JQueryEventParameter.StringParameter;
 
 /**
  * Provides a jQuery menu behavior.
@@ -144,6 +145,8 @@ public abstract class MenuBehavior extends JQueryBehavior implements IJQueryAjax
 	 */
 	protected static class SelectEvent extends JQueryEvent
 	{
+		private static final StringParameter ID = JQueryEventParameter.ofString("id");
+
 		private final String hash;
 
 		/**
@@ -153,7 +156,7 @@ public abstract class MenuBehavior extends JQueryBehavior implements IJQueryAjax
 		{
 			super();
 
-			this.hash = RequestCycleUtils.getQueryParameterValue("id").toString();
+			this.hash = ID.get();
 		}
 
 		/**
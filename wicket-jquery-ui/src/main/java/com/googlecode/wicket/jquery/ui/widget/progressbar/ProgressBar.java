@@ -146,14 +146,14 @@ public class ProgressBar extends JQueryContainer implements IJQueryAjaxAware, IV
 	}
 
 	/**
-	 * Re-attaches the widget behavior to the specified target, causing the progress-bar to refresh.<br/>
+	 * Pushes the value to the widget, causing the progress-bar to refresh.<br/>
 	 * This method is needed to be called after the model object changed.<br/>
 	 * But It is not required to be called when calling forward or backward methods.
 	 * @param target the {@link AjaxRequestTarget}
 	 */
 	public final void respond(AjaxRequestTarget target)
 	{
-		target.appendJavaScript(this.widgetBehavior.toString()); //change the value ui-side so the change-event will be fired
+		this.widgetBehavior.setOption(target, "value", this.getModelObject()); //change the value ui-side so the change-event will be fired
 	}
 
 	/* Events */
@@ -28,7 +28,8 @@ import com.googlecode.wicket.jquery.core.JQueryEvent;
 import com.googlecode.wicket.jquery.core.Options;
 import com.googlecode.wicket.jquery.core.ajax.IJQueryAjaxAware;
 import com.googlecode.wicket.jquery.core.ajax.JQueryAjaxBehavior;
-import com.googlecode.wicket.jquery.core.utils.RequestCycleUtils;
+import com.googlecode.wicket.jquery.core.event.JQueryEventParameter;
+import com.googlecode.wicket.jquery.core.event.JQueryEventParameter.IntParameter;
 
 /**
  * Provides a jQuery tabs behavior.<br/>
@@ -211,6 +212,8 @@ public abstract class TabsBehavior extends JQueryBehavior implements IJQueryAjax
 	 */
 	protected static class ActivateEvent extends JQueryEvent
 	{
+		private static final IntParameter INDEX = JQueryEventParameter.ofInt("index");
+
 		private final int index;
 
 		/**
@@ -220,7 +223,7 @@ public abstract class TabsBehavior extends JQueryBehavior implements IJQueryAjax
 		{
 			super();
 
-			this.index = RequestCycleUtils.getQueryParameterValue("index").toInt(-1);
+			this.index = INDEX.get(-1);
 		}
 
 		/**
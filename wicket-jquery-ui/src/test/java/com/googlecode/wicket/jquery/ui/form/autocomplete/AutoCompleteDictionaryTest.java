@@ -0,0 +1,232 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.wicket.jquery.ui.form.autocomplete;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.googlecode.wicket.jquery.core.json.JsonWriter;
+
+/**
+ * Tests the round trip of {@link AutoCompleteDictionaryBuilder} and {@link AutoCompleteDictionary}
+ *
+ * @author agent
+ *
+ */
+public class AutoCompleteDictionaryTest
+{
+	private static final Pattern ENTRY = Pattern.compile("\\{\"id\": \"(\\d+)\", \"value\": \"([^\"]*)\"\\}");
+
+	private final List<File> files = new ArrayList<File>();
+
+	@After
+	public void deleteFiles()
+	{
+		for (File file : this.files)
+		{
+			file.delete();
+		}
+	}
+
+	@Test
+	public void matchesAcrossBlockBoundaries() throws IOException
+	{
+		final List<String> keys = new ArrayList<String>();
+
+		for (int i = 0; i < 40; i++)
+		{
+			keys.add(String.format("k%02d", (i * 7) % 40)); // not added in order
+		}
+
+		for (int blockSize : new int[] { 1, 2, 3, 16, 64 })
+		{
+			AutoCompleteDictionary dictionary = this.build(blockSize, keys.toArray(new String[keys.size()]));
+
+			try
+			{
+				assertEquals(keys.size(), dictionary.size());
+
+				List<String> sorted = new ArrayList<String>(keys);
+				Collections.sort(sorted);
+
+				// every prefix of every key, including the keys starting a block //
+				for (String key : sorted)
+				{
+					for (int length = 0; length <= key.length(); length++)
+					{
+						String prefix = key.substring(0, length);
+						assertEquals("block size " + blockSize + ", prefix '" + prefix + "'", startsWith(sorted, prefix, 100), dictionary.startsWith(prefix, 100));
+					}
+				}
+
+				assertEquals(Arrays.asList("k00", "k01", "k02"), dictionary.startsWith("k", 3));
+				assertEquals(Collections.emptyList(), dictionary.startsWith("k5"));
+				assertEquals(Collections.emptyList(), dictionary.startsWith("j"));
+				assertEquals(Collections.emptyList(), dictionary.startsWith("z"));
+			}
+			finally
+			{
+				dictionary.close();
+			}
+		}
+	}
+
+	@Test
+	public void emptyDictionary() throws IOException
+	{
+		AutoCompleteDictionary dictionary = this.build(AutoCompleteDictionaryBuilder.BLOCK_SIZE);
+
+		try
+		{
+			assertEquals(0, dictionary.size());
+			assertEquals(Collections.emptyList(), dictionary.startsWith(""));
+			assertEquals(Collections.emptyList(), dictionary.startsWith("a"));
+			assertNull(dictionary.getPayload("a", 0));
+			assertEquals("[]", write(dictionary, "a", 10));
+		}
+		finally
+		{
+			dictionary.close();
+		}
+	}
+
+	@Test
+	public void prefixLongerThanKey() throws IOException
+	{
+		AutoCompleteDictionary dictionary = this.build(2, "ab", "abc", "abd", "b");
+
+		try
+		{
+			assertEquals(Arrays.asList("abc"), dictionary.startsWith("abc"));
+			assertEquals(Collections.emptyList(), dictionary.startsWith("abcd"));
+			assertEquals(Collections.emptyList(), dictionary.startsWith("bb"));
+			assertNull(dictionary.getPayload("abcd", 0));
+		}
+		finally
+		{
+			dictionary.close();
+		}
+	}
+
+	@Test
+	public void normalizesNonAsciiKeysAndInputs() throws IOException
+	{
+		AutoCompleteDictionary dictionary = this.build(2, "\u00c9t\u00e9", "Etage", "Stra\u00dfe", "\u00e9cole");
+
+		try
+		{
+			assertEquals(Arrays.asList("\u00e9cole"), dictionary.startsWith("ec"));
+			assertEquals(Arrays.asList("\u00e9cole"), dictionary.startsWith("\u00c9C"));
+			assertEquals(Arrays.asList("Etage", "\u00c9t\u00e9"), dictionary.startsWith("et"));
+			assertEquals(Arrays.asList("Stra\u00dfe"), dictionary.startsWith("STRA\u00df"));
+			assertEquals("payload-\u00c9t\u00e9", dictionary.getPayload("\u00e9t\u00e9", 0));
+		}
+		finally
+		{
+			dictionary.close();
+		}
+	}
+
+	@Test
+	public void payloadIndexMatchesWrittenId() throws IOException
+	{
+		AutoCompleteDictionary dictionary = this.build(3, "apple", "apricot", "avocado", "banana", "apex", "ape", "april", "b");
+
+		try
+		{
+			for (String input : new String[] { "a", "ap", "apr", "b" })
+			{
+				Matcher matcher = ENTRY.matcher(write(dictionary, input, 10));
+				List<String> texts = dictionary.startsWith(input, 10);
+				int count = 0;
+
+				while (matcher.find())
+				{
+					int index = Integer.parseInt(matcher.group(1)) - 1; // ids are 1-based
+					String text = matcher.group(2);
+
+					assertEquals(texts.get(index), text);
+					assertEquals("payload-" + text, dictionary.getPayload(input, index));
+					count++;
+				}
+
+				assertEquals(texts.size(), count);
+				assertTrue(count > 0);
+				assertNull(dictionary.getPayload(input, count));
+			}
+		}
+		finally
+		{
+			dictionary.close();
+		}
+	}
+
+	// Helpers //
+	private AutoCompleteDictionary build(int blockSize, String... texts) throws IOException
+	{
+		File file = File.createTempFile("autocomplete", ".dic");
+		this.files.add(file);
+
+		AutoCompleteDictionaryBuilder builder = new AutoCompleteDictionaryBuilder(Locale.FRENCH, blockSize);
+
+		for (String text : texts)
+		{
+			builder.add(text, "payload-" + text);
+		}
+
+		builder.build(file);
+
+		return AutoCompleteDictionary.open(file);
+	}
+
+	private static List<String> startsWith(List<String> sorted, String prefix, int max)
+	{
+		List<String> list = new ArrayList<String>();
+
+		for (String key : sorted)
+		{
+			if (key.startsWith(prefix) && list.size() < max)
+			{
+				list.add(key);
+			}
+		}
+
+		return list;
+	}
+
+	private static String write(AutoCompleteDictionary dictionary, String input, int max)
+	{
+		StringBuilder builder = new StringBuilder();
+		dictionary.write(input, max, new JsonWriter(builder));
+
+		return builder.toString();
+	}
+}
@@ -16,10 +16,10 @@
  */
 package com.googlecode.wicket.jquery.ui.kendo;
 
-import org.apache.wicket.request.resource.JavaScriptResourceReference;
-
 import com.googlecode.wicket.jquery.core.JQueryBehavior;
 import com.googlecode.wicket.jquery.core.Options;
+import com.googlecode.wicket.jquery.core.resource.JQueryResourceRegistry;
+import com.googlecode.wicket.jquery.ui.kendo.resource.KendoUIResourceReference;
 
 /**
  * Provides the base class for Kendo UI behavior implementations
@@ -30,6 +30,11 @@ public class KendoAbstractBehavior extends JQueryBehavior
 {
 	private static final long serialVersionUID = 1L;
 
+	static
+	{
+		JQueryResourceRegistry.register(KendoAbstractBehavior.class, KendoUIResourceReference.get());
+	}
+
 	/**
 	 * Constructor
 	 * @param selector the html selector (ie: "#myId")
@@ -49,8 +54,6 @@ public class KendoAbstractBehavior extends JQueryBehavior
 	public KendoAbstractBehavior(String selector, String method, Options options)
 	{
 		super(selector, method, options);
-//TODO: KendoUIResourceReference.get()
-		this.add(new JavaScriptResourceReference(KendoAbstractBehavior.class, "kendo.web.min.js"));
 	}
 
 }
@@ -26,6 +26,7 @@ import org.apache.wicket.model.Model;
 import com.googlecode.wicket.jquery.core.IJQueryWidget;
 import com.googlecode.wicket.jquery.core.JQueryBehavior;
 import com.googlecode.wicket.jquery.core.Options;
+import com.googlecode.wicket.jquery.core.json.JsonWriter;
 import com.googlecode.wicket.jquery.core.template.IJQueryTemplate;
 import com.googlecode.wicket.jquery.ui.kendo.KendoAbstractBehavior;
 import com.googlecode.wicket.jquery.ui.kendo.KendoTemplateBehavior;
@@ -203,40 +204,32 @@ public class ComboBox<T> extends TextField<String> implements IJQueryWidget
 		behavior.setOption("dataTextField", Options.asString(this.renderer.getTextField()));
 		behavior.setOption("dataValueField", Options.asString(this.renderer.getValueField()));
 
-		StringBuilder dataSource = new StringBuilder("[");
+		StringBuilder dataSource = new StringBuilder();
+		JsonWriter writer = new JsonWriter(dataSource).beginArray();
 
 		List<? extends T> list = this.choices.getObject();
 
 		if (list != null)
 		{
-			for (int index = 0 ; index < list.size(); index++)
+			for (T object : list)
 			{
-				T object = list.get(index);
-
-				if (index > 0)
-				{
-					dataSource.append(", ");
-				}
-
-				dataSource.append("{ ");
-				dataSource.append(this.renderer.getTextField()).append(": '").append(this.renderer.getText(object)).append("'");
-				dataSource.append(", ");
-				dataSource.append(this.renderer.getValueField()).append(": '").append(this.renderer.getValue(object)).append("'");
+				writer.beginObject();
+				writer.name(this.renderer.getTextField()).value(this.renderer.getText(object));
+				writer.name(this.renderer.getValueField()).value(this.renderer.getValue(object));
 
 				if (this.template != null)
 				{
 					for (String property : this.template.getTextProperties())
 					{
-						dataSource.append(", ");
-						dataSource.append(property).append(": '").append(this.renderer.getText(object, property)).append("'");
+						writer.name(property).value(this.renderer.getText(object, property));
 					}
 				}
 
-				dataSource.append(" }");
+				writer.endObject();
 			}
 		}
 
-		dataSource.append("]");
+		writer.endArray();
 
 		behavior.setOption("dataSource", dataSource.toString());
 	}
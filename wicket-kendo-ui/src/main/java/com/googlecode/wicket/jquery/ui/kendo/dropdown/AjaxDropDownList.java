@@ -200,7 +200,7 @@ public class AjaxDropDownList<T> extends DropDownList<T> implements ISelectionCh
 		{
 			super.onConfigure(component);
 
-			this.setOption("change", "function( event, ui ) { " + this.onChangeBehavior.getCallbackScript() + "}");
+			this.setOption("change", this.onChangeBehavior.getCallbackFunction(this.getRateStrategy("change")));
 		}
 
 		@Override
@@ -38,6 +38,9 @@ public class Editor<T> extends TextArea<T> implements IJQueryWidget
 	private static final long serialVersionUID = 1L;
 	private static final String METHOD = "kendoEditor";
 
+	/** default options, shared (copy-on-write) by the instances */
+	private static final Options DEFAULTS = new Options("encoded", false).freeze();
+
 	private final Options options;
 
 	/**
@@ -49,7 +52,7 @@ public class Editor<T> extends TextArea<T> implements IJQueryWidget
 	 */
 	public Editor(String id)
 	{
-		this(id, new Options("encoded", false));
+		this(id, new Options(DEFAULTS));
 		this.setEscapeModelStrings(false);
 	}
 
@@ -76,7 +79,7 @@ public class Editor<T> extends TextArea<T> implements IJQueryWidget
 	 */
 	public Editor(String id, IModel<T> model)
 	{
-		this(id, model, new Options("encoded", false));
+		this(id, model, new Options(DEFAULTS));
 		this.setEscapeModelStrings(false);
 	}
 